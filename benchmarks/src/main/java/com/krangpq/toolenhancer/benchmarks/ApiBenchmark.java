@@ -0,0 +1,97 @@
+package com.krangpq.toolenhancer.benchmarks;
+
+import com.krangpq.toolenhancer.api.ToolEnhancerAPI;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ToolEnhancerAPI 조회 메서드 (다른 플러그인이 매 틱 호출할 수 있는 것들)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiBenchmark {
+
+    @Benchmark
+    public int getEnhanceLevel(PluginState state) {
+        return ToolEnhancerAPI.getEnhanceLevel(state.enhancedSword, state.sharpness);
+    }
+
+    @Benchmark
+    public int getTotalEnhanceLevel(PluginState state) {
+        return ToolEnhancerAPI.getTotalEnhanceLevel(state.enhancedSword);
+    }
+
+    @Benchmark
+    public boolean isBeyondVanillaMax(PluginState state) {
+        return ToolEnhancerAPI.isBeyondVanillaMax(state.enhancedSword, state.sharpness);
+    }
+
+    @Benchmark
+    public boolean canEnhance(PluginState state) {
+        return ToolEnhancerAPI.canEnhance(state.enhancedSword);
+    }
+
+    @Benchmark
+    public boolean canEnhanceFurther(PluginState state) {
+        return ToolEnhancerAPI.canEnhanceFurther(state.enhancedSword, state.sharpness);
+    }
+
+    @Benchmark
+    public double getSuccessRate(PluginState state) {
+        return ToolEnhancerAPI.getSuccessRate(state.enhancedSword, state.sharpness, 5);
+    }
+
+    @Benchmark
+    public double getDestroyRate(PluginState state) {
+        return ToolEnhancerAPI.getDestroyRate(state.enhancedSword, state.sharpness, 5);
+    }
+
+    @Benchmark
+    public int getMinRequiredStones() {
+        return ToolEnhancerAPI.getMinRequiredStones(8);
+    }
+
+    @Benchmark
+    public int getRecommendedStones(PluginState state) {
+        return ToolEnhancerAPI.getRecommendedStones(state.sharpness, 7);
+    }
+
+    @Benchmark
+    public boolean isEnhanceStone(PluginState state) {
+        return ToolEnhancerAPI.isEnhanceStone(state.stone);
+    }
+
+    // 칸마다 단건 API 호출 vs 일괄 조회
+    @Benchmark
+    public int totalLevelsPerItem(PluginState state) {
+        int sum = 0;
+        for (ItemStack item : state.loadout) {
+            if (item != null) {
+                sum += ToolEnhancerAPI.getTotalEnhanceLevel(item);
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int[] totalLevelsBulk(PluginState state) {
+        return ToolEnhancerAPI.getTotalEnhanceLevels(state.loadout);
+    }
+
+    @Benchmark
+    public int enhanceLevelSum(PluginState state) {
+        return ToolEnhancerAPI.getEnhanceLevelSum(state.loadout, Enchantment.PROTECTION);
+    }
+}
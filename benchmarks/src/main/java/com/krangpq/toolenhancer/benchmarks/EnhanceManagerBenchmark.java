@@ -0,0 +1,47 @@
+package com.krangpq.toolenhancer.benchmarks;
+
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EnhanceManager - 강화 가능 여부, 인챈트 목록, 정보 종이 렌더링
+ *
+ * <p>정보 종이는 렌더링 캐시를 거치므로 측정값은 캐시 적중 + 복제 비용입니다.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnhanceManagerBenchmark {
+
+    @Benchmark
+    public boolean canEnhance(PluginState state) {
+        return state.enhanceManager.canEnhance(state.enhancedSword);
+    }
+
+    @Benchmark
+    public boolean canEnhanceOtherItem(PluginState state) {
+        return state.enhanceManager.canEnhance(state.dirt);
+    }
+
+    @Benchmark
+    public Set<Enchantment> getApplicableEnchantments(PluginState state) {
+        return state.enhanceManager.getApplicableEnchantments(state.plainSword);
+    }
+
+    @Benchmark
+    public ItemStack createEnhanceInfoPaper(PluginState state) {
+        return state.enhanceManager.createEnhanceInfoPaper(state.sharpness, 7, 8, 5, state.stoneManager);
+    }
+}
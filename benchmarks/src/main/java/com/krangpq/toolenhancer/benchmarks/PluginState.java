@@ -0,0 +1,75 @@
+package com.krangpq.toolenhancer.benchmarks;
+
+import com.krangpq.toolenhancer.ToolEnhancer;
+import com.krangpq.toolenhancer.managers.EnhanceManager;
+import com.krangpq.toolenhancer.managers.EnhanceStoneManager;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * 가짜 서버에 플러그인을 올린 상태 (벤치마크 실행마다 한 번)
+ *
+ * <p>대상 아이템은 미리 만들어 두고 측정 중에는 읽기만 합니다.</p>
+ */
+@State(Scope.Benchmark)
+public class PluginState {
+
+    public ServerMock server;
+    public ToolEnhancer plugin;
+    public EnhanceManager enhanceManager;
+    public EnhanceStoneManager stoneManager;
+
+    public Enchantment sharpness;
+
+    public ItemStack plainSword;     // 인챈트 없는 검
+    public ItemStack enhancedSword;  // 날카로움 VII + 내구성 III + 이름
+    public ItemStack stone;          // 강화석
+    public ItemStack plainStar;      // 메타 없는 네더의 별
+    public ItemStack dirt;           // 강화 불가 아이템
+    public ItemStack[] loadout;      // 양손 + 방어구 네 칸 (일괄 조회용)
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = MockBukkit.mock();
+        plugin = MockBukkit.load(ToolEnhancer.class);
+        enhanceManager = plugin.getEnhanceManager();
+        stoneManager = plugin.getEnhanceStoneManager();
+
+        sharpness = Enchantment.SHARPNESS;
+
+        plainSword = new ItemStack(Material.DIAMOND_SWORD);
+
+        enhancedSword = new ItemStack(Material.DIAMOND_SWORD);
+        enhancedSword.addUnsafeEnchantment(Enchantment.SHARPNESS, 7);
+        enhancedSword.addUnsafeEnchantment(Enchantment.UNBREAKING, 3);
+        ItemMeta meta = enhancedSword.getItemMeta();
+        meta.setDisplayName("벤치마크 검");
+        enhancedSword.setItemMeta(meta);
+
+        stone = stoneManager.createEnhanceStone(1);
+        plainStar = new ItemStack(Material.NETHER_STAR);
+        dirt = new ItemStack(Material.DIRT);
+
+        ItemStack helmet = new ItemStack(Material.DIAMOND_HELMET);
+        helmet.addUnsafeEnchantment(Enchantment.PROTECTION, 6);
+        ItemStack chestplate = new ItemStack(Material.DIAMOND_CHESTPLATE);
+        chestplate.addUnsafeEnchantment(Enchantment.PROTECTION, 5);
+        chestplate.addUnsafeEnchantment(Enchantment.UNBREAKING, 3);
+        loadout = new ItemStack[] {enhancedSword, null, helmet, chestplate,
+                new ItemStack(Material.DIAMOND_LEGGINGS), null};
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+}
@@ -0,0 +1,54 @@
+package com.krangpq.toolenhancer.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EnhanceStoneManager - 강화석 판별과 확률 계산
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StoneBenchmark {
+
+    @Param({"1", "5", "15"})
+    public int stoneCount;
+
+    @Benchmark
+    public boolean isEnhanceStone(PluginState state) {
+        return state.stoneManager.isEnhanceStone(state.stone);
+    }
+
+    @Benchmark
+    public boolean isEnhanceStonePlainStar(PluginState state) {
+        return state.stoneManager.isEnhanceStone(state.plainStar);
+    }
+
+    @Benchmark
+    public boolean isEnhanceStoneOtherItem(PluginState state) {
+        return state.stoneManager.isEnhanceStone(state.dirt);
+    }
+
+    @Benchmark
+    public double calculateSuccessRate(PluginState state) {
+        return state.stoneManager.calculateSuccessRate(stoneCount, 0.30);
+    }
+
+    @Benchmark
+    public double calculateDestroyRate(PluginState state) {
+        return state.stoneManager.calculateDestroyRate(stoneCount, 8);
+    }
+}
@@ -0,0 +1,65 @@
+package com.krangpq.toolenhancer.gui;
+
+import com.krangpq.toolenhancer.benchmarks.PluginState;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EnhanceGUI 대상 아이템 식별 (예전 isSimilarItem 자리)
+ *
+ * <p>진행 화면을 열 때의 지문 비교와, 클릭마다 하는 세션 토큰 확인을 측정합니다.
+ * 패키지 전용 메서드라서 같은 패키지에 둡니다.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GuiIdentityBenchmark {
+
+    private static final long TOKEN = 0x5EED5EED5EED5EEDL;
+
+    private NamespacedKey sessionKey;
+    private ItemStack stampedSword;
+
+    @Setup
+    public void setUp(PluginState state) {
+        sessionKey = new NamespacedKey(state.plugin, "gui_session");
+        stampedSword = state.enhancedSword.clone();
+        ItemMeta meta = stampedSword.getItemMeta();
+        meta.getPersistentDataContainer().set(sessionKey, PersistentDataType.LONG, TOKEN);
+        stampedSword.setItemMeta(meta);
+    }
+
+    @Benchmark
+    public long fingerprint(PluginState state) {
+        return EnhanceGUI.fingerprint(state.enhancedSword);
+    }
+
+    @Benchmark
+    public boolean hasTokenMatch() {
+        return EnhanceGUI.hasToken(stampedSword, Material.DIAMOND_SWORD, sessionKey, TOKEN);
+    }
+
+    @Benchmark
+    public boolean hasTokenOtherType(PluginState state) {
+        // 종류가 다르면 메타를 읽지 않음
+        return EnhanceGUI.hasToken(state.stone, Material.DIAMOND_SWORD, sessionKey, TOKEN);
+    }
+}
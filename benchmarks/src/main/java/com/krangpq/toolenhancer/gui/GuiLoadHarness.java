@@ -0,0 +1,414 @@
+package com.krangpq.toolenhancer.gui;
+
+import com.krangpq.toolenhancer.ToolEnhancer;
+import com.krangpq.toolenhancer.managers.EnhanceStoneManager;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryView;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 강화 GUI 부하 테스트 (가짜 서버, 헤드리스)
+ *
+ * <p>가상 플레이어 N 명이 실제 흐름을 반복합니다:
+ * /enhance → 인챈트 선택 클릭 → 강화석 배치(클릭, 드래그, 쉬프트 클릭) → 강화 버튼 → 닫기.
+ * 명령어, 클릭, 드래그, 닫기는 모두 서버 이벤트로 보내므로 EnhanceCommand, EnhanceGUI, EnhanceManager 를
+ * 그대로 거칩니다. 가짜 서버는 클릭 결과(아이템 이동)를 직접 적용하지 않으므로, 취소되지 않은 클릭은
+ * 여기서 서버 대신 적용합니다.</p>
+ *
+ * <p>틱마다 가상 플레이어 동작 + 스케줄러 한 틱을 메인 스레드 시간으로 재고,
+ * 대기 중인 작업 수와 메인 스레드 할당량을 함께 기록합니다.</p>
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.krangpq.toolenhancer.gui.GuiLoadHarness [인원목록] [측정틱]
+ * 예) ... GuiLoadHarness 10,100,500,1000 1200
+ * </pre>
+ */
+public final class GuiLoadHarness {
+
+    private static final int WARMUP_TICKS = 200;
+    private static final int DEFAULT_TICKS = 600; // 30초
+    private static final int TICK_BUDGET_NANOS = 50_000_000;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private GuiLoadHarness() {
+    }
+
+    public static void main(String[] args) {
+        int[] counts = args.length > 0
+                ? Arrays.stream(args[0].split(",")).mapToInt(s -> Integer.parseInt(s.trim())).toArray()
+                : new int[] {10, 50, 100, 250, 500, 1000};
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_TICKS;
+
+        System.out.printf("%6s %8s %8s %8s %8s %8s %7s %9s %9s %10s %9s%n",
+                "인원", "평균ms", "p50ms", "p95ms", "p99ms", "최대ms", "초과%",
+                "대기작업", "최대작업", "할당MB/s", "강화/s");
+
+        for (int count : counts) {
+            Report report = run(count, ticks);
+            System.out.printf("%6d %8.3f %8.3f %8.3f %8.3f %8.3f %6.1f%% %9.1f %9d %10.1f %9.1f%n",
+                    count, report.meanMillis(), report.percentileMillis(0.50), report.percentileMillis(0.95),
+                    report.percentileMillis(0.99), report.percentileMillis(1.0), report.overBudgetPercent(),
+                    report.meanPendingTasks(), report.maxPendingTasks, report.allocationMbPerSecond(),
+                    report.enhancesPerSecond());
+        }
+    }
+
+    /**
+     * 가상 플레이어 count 명으로 warmup + ticks 틱 실행
+     */
+    static Report run(int count, int ticks) {
+        ServerMock server = MockBukkit.mock();
+        try {
+            ToolEnhancer plugin = MockBukkit.load(ToolEnhancer.class);
+            EnhanceStoneManager stoneManager = plugin.getEnhanceStoneManager();
+            SplittableRandom random = new SplittableRandom(count);
+
+            List<VirtualPlayer> players = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                players.add(new VirtualPlayer(server.addPlayer(), stoneManager, random.split()));
+            }
+
+            Report report = new Report(ticks);
+            long thread = Thread.currentThread().getId();
+
+            for (int tick = 0; tick < WARMUP_TICKS + ticks; tick++) {
+                boolean measured = tick >= WARMUP_TICKS;
+
+                long allocatedBefore = THREADS.getThreadAllocatedBytes(thread);
+                long started = System.nanoTime();
+
+                for (VirtualPlayer player : players) {
+                    player.step();
+                }
+                server.getScheduler().performOneTick();
+
+                long elapsed = System.nanoTime() - started;
+                long allocated = THREADS.getThreadAllocatedBytes(thread) - allocatedBefore;
+
+                // 채팅 메시지는 측정 구간 밖에서 비움 (가짜 플레이어가 계속 쌓아 둠)
+                for (VirtualPlayer player : players) {
+                    player.drainMessages();
+                }
+
+                if (measured) {
+                    report.record(elapsed, allocated, Bukkit.getScheduler().getPendingTasks().size());
+                }
+            }
+
+            for (VirtualPlayer player : players) {
+                report.enhances += player.enhances;
+            }
+            return report;
+        } finally {
+            MockBukkit.unmock();
+        }
+    }
+
+    /**
+     * 강화 흐름을 반복하는 가상 플레이어 (틱마다 한 단계)
+     */
+    private static final class VirtualPlayer {
+
+        private static final int TOOL_SLOT = 0;
+        private static final int STONE_SLOT = 9; // 강화석 보관 (쉬프트 클릭 출발지)
+
+        private final PlayerMock player;
+        private final EnhanceStoneManager stoneManager;
+        private final SplittableRandom random;
+
+        private Phase phase = Phase.IDLE;
+        private int wait;
+        private long enhances;
+
+        VirtualPlayer(PlayerMock player, EnhanceStoneManager stoneManager, SplittableRandom random) {
+            this.player = player;
+            this.stoneManager = stoneManager;
+            this.random = random;
+            this.wait = random.nextInt(40); // 시작 시점 분산
+            resetInventory();
+        }
+
+        void step() {
+            if (wait > 0) {
+                wait--;
+                return;
+            }
+
+            switch (phase) {
+                case IDLE:
+                    if (player.getInventory().getItem(TOOL_SLOT) == null) {
+                        resetInventory(); // 파괴됨
+                    }
+                    player.getInventory().setHeldItemSlot(TOOL_SLOT);
+                    player.performCommand("enhance");
+                    phase = Phase.SELECT;
+                    break;
+
+                case SELECT:
+                    if (selectEnchantment()) {
+                        phase = Phase.PLACE;
+                        wait = 1; // 진행 화면은 다음 틱에 열림
+                    } else {
+                        phase = Phase.CLOSE;
+                    }
+                    break;
+
+                case PLACE:
+                    placeStones();
+                    phase = Phase.DRAG;
+                    break;
+
+                case DRAG:
+                    dragStones();
+                    phase = Phase.SHIFT;
+                    break;
+
+                case SHIFT:
+                    shiftClickStones();
+                    phase = Phase.ENHANCE;
+                    break;
+
+                case ENHANCE:
+                    if (isProcessOpen()) {
+                        click(GuiItems.SLOT_BUTTON, ClickType.LEFT, InventoryAction.PICKUP_ALL);
+                        enhances++;
+                    }
+                    phase = Phase.CLOSE;
+                    break;
+
+                default:
+                    player.closeInventory();
+                    refillStones();
+                    phase = Phase.IDLE;
+                    wait = 20 + random.nextInt(40);
+                    break;
+            }
+        }
+
+        private boolean selectEnchantment() {
+            Inventory top = player.getOpenInventory().getTopInventory();
+            List<Integer> books = new ArrayList<>();
+            for (int slot = 0; slot < top.getSize(); slot++) {
+                ItemStack item = top.getItem(slot);
+                if (item != null && item.getType() == Material.ENCHANTED_BOOK) {
+                    books.add(slot);
+                }
+            }
+            if (books.isEmpty()) {
+                return false;
+            }
+            click(books.get(random.nextInt(books.size())), ClickType.LEFT, InventoryAction.PICKUP_ALL);
+            return true;
+        }
+
+        /** 커서에 강화석을 들고 첫 슬롯에 놓기 */
+        private void placeStones() {
+            if (!isProcessOpen()) return;
+
+            ItemStack held = takeStones(1 + random.nextInt(4));
+            if (held == null) return;
+            player.setItemOnCursor(held);
+
+            int slot = GuiItems.STONE_SLOTS[0];
+            if (!click(slot, ClickType.LEFT, InventoryAction.PLACE_ALL).isCancelled()) {
+                top().setItem(slot, held);
+            } else {
+                player.getInventory().addItem(held);
+            }
+            player.setItemOnCursor(null);
+        }
+
+        /** 커서의 강화석을 두 슬롯에 나눠 드래그 */
+        private void dragStones() {
+            if (!isProcessOpen()) return;
+
+            ItemStack held = takeStones(2);
+            if (held == null) return;
+            player.setItemOnCursor(held);
+
+            Map<Integer, ItemStack> slots = new HashMap<>();
+            slots.put(GuiItems.STONE_SLOTS[1], stone(1));
+            slots.put(GuiItems.STONE_SLOTS[2], stone(1));
+
+            InventoryDragEvent event = new InventoryDragEvent(player.getOpenInventory(), null, held, false, slots);
+            Bukkit.getPluginManager().callEvent(event);
+            if (!event.isCancelled()) {
+                slots.forEach((slot, item) -> top().setItem(slot, item));
+            } else {
+                player.getInventory().addItem(held);
+            }
+            player.setItemOnCursor(null);
+        }
+
+        /** 플레이어 인벤토리의 강화석 묶음을 쉬프트 클릭으로 넣기 */
+        private void shiftClickStones() {
+            if (!isProcessOpen()) return;
+
+            ItemStack source = player.getInventory().getItem(STONE_SLOT);
+            if (source == null) return;
+
+            int rawSlot = GuiItems.PROCESS_SIZE + bottomRawOffset(STONE_SLOT);
+            InventoryClickEvent event = click(rawSlot, ClickType.SHIFT_LEFT, InventoryAction.MOVE_TO_OTHER_INVENTORY);
+            if (event.isCancelled()) return;
+
+            Inventory top = top();
+            for (int slot : GuiItems.STONE_SLOTS) {
+                ItemStack current = top.getItem(slot);
+                if (current == null || current.getType() == Material.LIGHT_GRAY_STAINED_GLASS_PANE) {
+                    ItemStack moved = source.clone();
+                    moved.setAmount(Math.min(source.getAmount(), 4));
+                    top.setItem(slot, moved);
+                    source.setAmount(source.getAmount() - moved.getAmount());
+                    player.getInventory().setItem(STONE_SLOT, source.getAmount() > 0 ? source : null);
+                    return;
+                }
+            }
+        }
+
+        private InventoryClickEvent click(int rawSlot, ClickType type, InventoryAction action) {
+            InventoryView view = player.getOpenInventory();
+            InventoryType.SlotType slotType = rawSlot < view.getTopInventory().getSize()
+                    ? InventoryType.SlotType.CONTAINER
+                    : InventoryType.SlotType.QUICKBAR;
+            InventoryClickEvent event = new InventoryClickEvent(view, slotType, rawSlot, type, action);
+            Bukkit.getPluginManager().callEvent(event);
+            return event;
+        }
+
+        // 플레이어 인벤토리 슬롯 -> 화면 아래쪽 칸 위치 (가방 27칸 다음에 핫바)
+        private static int bottomRawOffset(int inventorySlot) {
+            return inventorySlot < 9 ? 27 + inventorySlot : inventorySlot - 9;
+        }
+
+        private boolean isProcessOpen() {
+            Inventory top = player.getOpenInventory().getTopInventory();
+            return top.getSize() == GuiItems.PROCESS_SIZE && top.getItem(GuiItems.SLOT_BUTTON) != null;
+        }
+
+        private Inventory top() {
+            return player.getOpenInventory().getTopInventory();
+        }
+
+        private ItemStack takeStones(int amount) {
+            ItemStack[] contents = player.getInventory().getStorageContents();
+            int removed = stoneManager.removeEnhanceStones(contents, amount);
+            if (removed <= 0) {
+                return null;
+            }
+            player.getInventory().setStorageContents(contents);
+            return stone(removed);
+        }
+
+        private ItemStack stone(int amount) {
+            return stoneManager.createEnhanceStone(amount);
+        }
+
+        private void resetInventory() {
+            PlayerInventory inventory = player.getInventory();
+            inventory.clear();
+            ItemStack sword = new ItemStack(Material.DIAMOND_SWORD);
+            sword.addUnsafeEnchantment(Enchantment.SHARPNESS, 5);
+            inventory.setItem(TOOL_SLOT, sword);
+            refillStones();
+        }
+
+        private void refillStones() {
+            PlayerInventory inventory = player.getInventory();
+            if (stoneManager.countEnhanceStones(inventory.getStorageContents()) < 32) {
+                inventory.setItem(STONE_SLOT, stone(64));
+                inventory.setItem(STONE_SLOT + 1, stone(64));
+            }
+        }
+
+        void drainMessages() {
+            while (player.nextMessage() != null) {
+                // 버림
+            }
+        }
+    }
+
+    private enum Phase {
+        IDLE, SELECT, PLACE, DRAG, SHIFT, ENHANCE, CLOSE
+    }
+
+    /**
+     * 측정 결과
+     */
+    static final class Report {
+        private final long[] tickNanos;
+        private int size;
+        private long totalNanos;
+        private long totalAllocated;
+        private long totalPending;
+        private int maxPendingTasks;
+        private int overBudget;
+        private long enhances;
+
+        Report(int ticks) {
+            this.tickNanos = new long[ticks];
+        }
+
+        void record(long nanos, long allocated, int pendingTasks) {
+            tickNanos[size++] = nanos;
+            totalNanos += nanos;
+            totalAllocated += allocated;
+            totalPending += pendingTasks;
+            maxPendingTasks = Math.max(maxPendingTasks, pendingTasks);
+            if (nanos > TICK_BUDGET_NANOS) {
+                overBudget++;
+            }
+        }
+
+        double meanMillis() {
+            return size == 0 ? 0 : totalNanos / 1e6 / size;
+        }
+
+        double percentileMillis(double p) {
+            if (size == 0) return 0;
+            long[] sorted = Arrays.copyOf(tickNanos, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.min(size - 1, Math.ceil(p * size) - 1);
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+
+        double overBudgetPercent() {
+            return size == 0 ? 0 : overBudget * 100.0 / size;
+        }
+
+        double meanPendingTasks() {
+            return size == 0 ? 0 : (double) totalPending / size;
+        }
+
+        // 20 TPS 기준 초당 할당량
+        double allocationMbPerSecond() {
+            return size == 0 ? 0 : totalAllocated / (double) size * 20 / (1024 * 1024);
+        }
+
+        // warmup 포함 전체 강화 버튼 클릭 수를 20 TPS 기준으로 환산
+        double enhancesPerSecond() {
+            return (double) enhances / (WARMUP_TICKS + size) * 20;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.krangpq.toolenhancer.managers.roll;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * 강화 판정 난수 공급원 처리량 (4 스레드 동시 호출)
+ *
+ * <p>shared 는 예전 방식(공유 java.util.Random)입니다. 서버 없이 실행됩니다.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class RollSourceBenchmark {
+
+    @Param({"shared", "fast", "audit"})
+    public String source;
+
+    private RollSource rolls;
+
+    // 상수 접기 방지용 (final 아님)
+    private long seed = 0x1F2E3D4C5B6A7988L;
+    private long attemptId = 123_456_789L;
+
+    @Setup
+    public void setUp() {
+        switch (source) {
+            case "shared": rolls = sharedRandom(); break;
+            case "fast": rolls = new FastRollSource(RandomGeneratorFactory.of(RollSources.DEFAULT_ALGORITHM)); break;
+            default: rolls = new SeededRollSource(System.nanoTime()); break;
+        }
+    }
+
+    /**
+     * 비교용 - 예전 방식처럼 모든 스레드가 java.util.Random 하나를 공유
+     */
+    private static RollSource sharedRandom() {
+        Random random = new Random();
+        AttemptIds ids = new AttemptIds();
+        return new RollSource() {
+            @Override public long nextAttemptId() { return ids.next(); }
+            @Override public double roll(long attemptId) { return random.nextDouble(); }
+            @Override public boolean isReplayable() { return false; }
+            @Override public String getName() { return "shared java.util.Random"; }
+            @Override public long getIssuedCount() { return ids.issued(); }
+        };
+    }
+
+    @Benchmark
+    public double roll() {
+        return rolls.roll(rolls.nextAttemptId());
+    }
+
+    @Benchmark
+    public double replay() {
+        // 오프라인 재현 경로 (순수 함수)
+        return SeededRollSource.roll(seed, attemptId);
+    }
+}
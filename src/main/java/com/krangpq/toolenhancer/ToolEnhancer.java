@@ -1,13 +1,33 @@
 package com.krangpq.toolenhancer;
 
 import com.krangpq.toolenhancer.api.ToolEnhancerAPI;
+import com.krangpq.toolenhancer.audit.AuditLog;
 import com.krangpq.toolenhancer.commands.EnhanceCommand;
+import com.krangpq.toolenhancer.config.ConfigValidator;
+import com.krangpq.toolenhancer.config.EnhanceSettings;
+import com.krangpq.toolenhancer.config.RestartOnlySections;
 import com.krangpq.toolenhancer.gui.EnhanceGUI;
+import com.krangpq.toolenhancer.history.HistoryJournal;
 import com.krangpq.toolenhancer.managers.EnhanceManager;
+import com.krangpq.toolenhancer.managers.EnhanceableMaterials;
+import com.krangpq.toolenhancer.managers.EnhanceSimulator;
 import com.krangpq.toolenhancer.managers.EnhanceStoneManager;
+import com.krangpq.toolenhancer.metrics.MetricsExporter;
+import com.krangpq.toolenhancer.metrics.PluginMetrics;
 import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.File;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 public final class ToolEnhancer extends JavaPlugin {
 
     private static ToolEnhancer instance;
@@ -15,6 +35,20 @@ public final class ToolEnhancer extends JavaPlugin {
     private EnhanceManager enhanceManager;
     private EnhanceStoneManager enhanceStoneManager;
     private EnhanceGUI enhanceGUI;
+    private EnhanceSimulator enhanceSimulator;
+    private AuditLog auditLog;
+    private HistoryJournal historyJournal;
+    private final PluginMetrics metrics = new PluginMetrics();
+    private MetricsExporter metricsExporter;
+
+    // 리로드 중복 실행 방지
+    private final AtomicBoolean reloading = new AtomicBoolean(false);
+
+    // 플러그인이 켜질 때 읽은 설정 (재시작 전용 항목 비교용)
+    private FileConfiguration startupConfig;
+
+    // 마지막 리로드에서 바뀌었지만 재시작해야 적용되는 항목
+    private volatile List<String> pendingRestartSections = Collections.emptyList();
 
     @Override
     public void onEnable() {
@@ -35,18 +69,29 @@ public final class ToolEnhancer extends JavaPlugin {
             getLogger().info("[2/6] 설정 파일 로드 중...");
             saveDefaultConfig();
             validateConfig();
+            this.startupConfig = getConfig();
             getLogger().info("[2/6] 설정 파일 로드 완료");
 
             // 3. 매니저 초기화
             getLogger().info("[3/6] 매니저 초기화 중...");
             this.enhanceStoneManager = new EnhanceStoneManager(this);
-            this.enhanceManager = new EnhanceManager(this);
+            this.auditLog = new AuditLog(this);
+            auditLog.start();
+            this.historyJournal = new HistoryJournal(this);
+            historyJournal.open();
+            this.enhanceManager = new EnhanceManager(this, enhanceStoneManager);
+            enhanceManager.addAttemptListener(auditLog);
+            enhanceManager.addAttemptListener(historyJournal);
+            enhanceManager.addAttemptListener(metrics);
+            this.enhanceSimulator = new EnhanceSimulator(this, enhanceStoneManager);
             getLogger().info("[3/6] 매니저 초기화 완료");
 
             // 4. GUI 초기화
             getLogger().info("[4/6] GUI 초기화 중...");
             this.enhanceGUI = new EnhanceGUI(this, enhanceManager, enhanceStoneManager);
             getServer().getPluginManager().registerEvents(enhanceGUI, this);
+            getServer().getPluginManager().registerEvents(enhanceManager.getEnchantmentIndex(), this);
+            enhanceGUI.recoverStamps(); // /reload 등으로 남은 대상 아이템 표식 제거
             getLogger().info("[4/6] GUI 초기화 완료");
 
             // 5. 명령어 및 레시피 등록
@@ -66,9 +111,24 @@ public final class ToolEnhancer extends JavaPlugin {
                     getLogger().severe("세션 정리 중 오류 발생: " + e.getMessage());
                     e.printStackTrace();
                 }
-            }, 6000L, 6000L); // 5분마다 실행
+            }, 20L, 20L); // 1초마다 만료된 세션 처리
+
+            // 강화 진행 GUI 갱신 (변경된 화면만, 틱당 한 번)
+            Bukkit.getScheduler().runTaskTimer(this, () -> {
+                try {
+                    enhanceGUI.flushDirty();
+                } catch (Exception e) {
+                    getLogger().severe("GUI 갱신 중 오류 발생: " + e.getMessage());
+                    e.printStackTrace();
+                }
+            }, 1L, 1L);
             getLogger().info("[6/6] 세션 관리 스케줄러 시작 완료");
 
+            // 지표 내보내기 (node-exporter textfile)
+            registerMetrics();
+            this.metricsExporter = new MetricsExporter(this, metrics);
+            metricsExporter.start();
+
             getLogger().info("=================================");
             getLogger().info("ToolEnhancer 활성화 성공!");
             getLogger().info("=================================");
@@ -93,20 +153,61 @@ public final class ToolEnhancer extends JavaPlugin {
         getLogger().info("=================================");
         getLogger().info("ToolEnhancer 비활성화 중...");
 
-        // 세션 정리
+        // 열린 강화 창 닫기 (강화석 반환) 및 세션 해제
         if (enhanceGUI != null) {
             try {
-                enhanceGUI.cleanupExpiredSessions();
+                enhanceGUI.shutdown();
                 getLogger().info("모든 세션 정리 완료");
             } catch (Exception e) {
                 getLogger().warning("세션 정리 중 오류: " + e.getMessage());
             }
         }
 
+        // 진행 중인 시뮬레이션 취소
+        if (enhanceSimulator != null) {
+            enhanceSimulator.shutdown();
+        }
+
+        // 감사 로그 남은 기록 저장
+        if (auditLog != null) {
+            auditLog.shutdown();
+            getLogger().info("감사 로그 저장 완료");
+        }
+
+        // 히스토리 저널 디스크 반영
+        if (historyJournal != null) {
+            historyJournal.close();
+            getLogger().info("강화 히스토리 저장 완료");
+        }
+
         getLogger().info("ToolEnhancer 비활성화 완료!");
         getLogger().info("=================================");
     }
 
+    /**
+     * 다른 구성 요소가 이미 세고 있는 값을 지표로 등록 (스냅샷은 메인 스레드에서 읽음)
+     */
+    private void registerMetrics() {
+        metrics.register("toolenhancer_sessions", "gauge", "활성 강화 세션 수",
+                enhanceGUI::getSessionCount);
+        metrics.register("toolenhancer_processing_players", "gauge", "강화 처리 중인 플레이어 수",
+                enhanceGUI::getProcessingCount);
+        metrics.register("toolenhancer_render_cache_hits_total", "counter", "렌더링 캐시 적중",
+                () -> enhanceManager.getRenderCache().getHits());
+        metrics.register("toolenhancer_render_cache_misses_total", "counter", "렌더링 캐시 실패",
+                () -> enhanceManager.getRenderCache().getMisses());
+        metrics.register("toolenhancer_render_cache_entries", "gauge", "렌더링 캐시 항목 수",
+                () -> enhanceManager.getRenderCache().size());
+        metrics.register("toolenhancer_enchant_index_lookups_total", "counter", "인챈트 색인 조회",
+                () -> enhanceManager.getEnchantmentIndex().getLookups());
+        metrics.register("toolenhancer_enchant_index_builds_total", "counter", "인챈트 색인 생성 (캐시 실패)",
+                () -> enhanceManager.getEnchantmentIndex().getBuilds());
+        metrics.register("toolenhancer_cost_solver_lookups_total", "counter", "추천 강화석 계획 조회",
+                () -> enhanceManager.getCostSolver().getLookups());
+        metrics.register("toolenhancer_cost_solver_computes_total", "counter", "추천 강화석 계획 계산 (캐시 실패)",
+                () -> enhanceManager.getCostSolver().getComputes());
+    }
+
     /**
      * config.yml 검증 및 경고
      */
@@ -114,46 +215,7 @@ public final class ToolEnhancer extends JavaPlugin {
         getLogger().info("설정 파일 검증 중...");
 
         try {
-            // 필수 값 체크
-            if (!getConfig().contains("success_rates.beyond_vanilla.allow_beyond_max")) {
-                getLogger().warning("경고: 'allow_beyond_max' 설정이 없습니다! 기본값(true) 사용");
-            }
-
-            // severity_scale 범위 체크
-            double severityScale = getConfig().getDouble("success_rates.beyond_vanilla.severity_scale", 1.0);
-            if (severityScale < 0.0 || severityScale > 5.0) {
-                getLogger().severe("오류: severity_scale 값이 범위를 벗어났습니다! (0.0-5.0)");
-                getLogger().severe("현재 값: " + severityScale);
-                getLogger().severe("기본값 1.0을 사용합니다.");
-                getConfig().set("success_rates.beyond_vanilla.severity_scale", 1.0);
-            }
-
-            // global_minimum_rate 범위 체크
-            double globalMinRate = getConfig().getDouble("success_rates.beyond_vanilla.global_minimum_rate", 0.01);
-            if (globalMinRate < 0.0 || globalMinRate > 1.0) {
-                getLogger().severe("오류: global_minimum_rate 값이 범위를 벗어났습니다! (0.0-1.0)");
-                getLogger().severe("현재 값: " + globalMinRate);
-                getLogger().severe("기본값 0.01을 사용합니다.");
-                getConfig().set("success_rates.beyond_vanilla.global_minimum_rate", 0.01);
-            }
-
-            // max_multiplier 범위 체크
-            double maxMultiplier = getConfig().getDouble("success_rates.beyond_vanilla.max_level_limit.max_multiplier", 2.0);
-            if (maxMultiplier < 1.0 || maxMultiplier > 10.0) {
-                getLogger().severe("오류: max_multiplier 값이 범위를 벗어났습니다! (1.0-10.0)");
-                getLogger().severe("현재 값: " + maxMultiplier);
-                getLogger().severe("기본값 2.0을 사용합니다.");
-                getConfig().set("success_rates.beyond_vanilla.max_level_limit.max_multiplier", 2.0);
-            }
-
-            // absolute_max_level 범위 체크
-            int absoluteMaxLevel = getConfig().getInt("success_rates.beyond_vanilla.max_level_limit.absolute_max_level", 30);
-            if (absoluteMaxLevel < 1 || absoluteMaxLevel > 100) {
-                getLogger().severe("오류: absolute_max_level 값이 범위를 벗어났습니다! (1-100)");
-                getLogger().severe("현재 값: " + absoluteMaxLevel);
-                getLogger().severe("기본값 30을 사용합니다.");
-                getConfig().set("success_rates.beyond_vanilla.max_level_limit.absolute_max_level", 30);
-            }
+            ConfigValidator.validate(getConfig(), getLogger());
 
             // debug_mode 추가 (없으면 생성)
             if (!getConfig().contains("debug_mode")) {
@@ -170,11 +232,90 @@ public final class ToolEnhancer extends JavaPlugin {
         }
     }
 
+    /**
+     * config.yml 을 다시 읽어 설정 스냅샷 교체 (/enhance reload)
+     *
+     * <p>파일 읽기, 검증, 확률표 생성은 비동기 스레드에서 진행되고, 아이템 태그와 종류 확인처럼
+     * 서버 API 가 필요한 부분과 스냅샷 교체는 메인 스레드에서 진행됩니다.
+     * 완성된 스냅샷은 volatile 쓰기 한 번으로 교체됩니다.
+     * 파일에 문법 오류가 있으면 기존 설정을 그대로 유지합니다.</p>
+     *
+     * <p>{@link RestartOnlySections} 항목은 교체되지 않습니다. 시작 당시 값과 달라진 항목은
+     * {@link #getPendingRestartSections()} 로 확인할 수 있습니다.</p>
+     *
+     * @return 새 스냅샷 (이미 리로드 중이면 IllegalStateException 으로 완료)
+     */
+    public CompletableFuture<EnhanceSettings> reloadSettingsAsync() {
+        CompletableFuture<EnhanceSettings> future = new CompletableFuture<>();
+
+        if (!reloading.compareAndSet(false, true)) {
+            future.completeExceptionally(new IllegalStateException("이미 설정을 다시 불러오는 중입니다."));
+            return future;
+        }
+
+        File file = new File(getDataFolder(), "config.yml");
+        Bukkit.getScheduler().runTaskAsynchronously(this, () -> {
+            try {
+                YamlConfiguration config = new YamlConfiguration();
+                config.load(file);
+
+                // 누락된 항목은 jar 에 포함된 기본 설정으로 보완
+                InputStream defaults = getResource("config.yml");
+                if (defaults != null) {
+                    try (InputStreamReader reader = new InputStreamReader(defaults, StandardCharsets.UTF_8)) {
+                        config.setDefaults(YamlConfiguration.loadConfiguration(reader));
+                    }
+                }
+
+                ConfigValidator.validate(config, getLogger());
+                EnhanceSettings.Draft draft = EnhanceSettings.prepare(config, getLogger());
+                List<String> pending = RestartOnlySections.changed(startupConfig, config);
+
+                // 아이템 태그 / 종류 확인과 교체는 메인 스레드에서
+                Bukkit.getScheduler().runTask(this, () -> {
+                    try {
+                        // 데이터팩이 다시 로드되었을 수 있으므로 태그는 서버에서 새로 조회
+                        EnhanceableMaterials.clearTagCache();
+                        EnhanceSettings settings = draft.resolve(getLogger());
+
+                        enhanceStoneManager.applySettings(settings);
+                        enhanceManager.getEnchantmentIndex().invalidate();
+                        pendingRestartSections = Collections.unmodifiableList(pending);
+                        // getConfig() 도 파일 내용과 맞춤 (startupConfig 는 이전 객체를 그대로 유지)
+                        reloadConfig();
+                        enhanceGUI.reloadItems();
+
+                        settings.log(getLogger());
+                        if (!pending.isEmpty()) {
+                            getLogger().warning("서버 재시작 후 적용되는 항목이 변경됨: " + String.join(", ", pending));
+                        }
+                        future.complete(settings);
+
+                    } catch (Exception e) {
+                        getLogger().severe("설정 리로드 실패 - 기존 설정을 유지합니다: " + e.getMessage());
+                        future.completeExceptionally(e);
+                    } finally {
+                        reloading.set(false);
+                    }
+                });
+
+            } catch (Exception e) {
+                getLogger().severe("설정 리로드 실패 - 기존 설정을 유지합니다: " + e.getMessage());
+                future.completeExceptionally(e);
+                reloading.set(false);
+            }
+        });
+
+        return future;
+    }
+
     /**
      * 디버그 로그 (debug_mode가 true일 때만 출력)
+     * 설정 스냅샷에 담긴 값을 읽으므로 호출마다 설정 파일 트리를 뒤지지 않고, 리로드하면 바로 반영됩니다.
      */
     public void debug(String message) {
-        if (getConfig().getBoolean("debug_mode", false)) {
+        EnhanceStoneManager stoneManager = enhanceStoneManager;
+        if (stoneManager != null && stoneManager.getSettings().isDebugMode()) {
             getLogger().info("[DEBUG] " + message);
         }
     }
@@ -195,4 +336,29 @@ public final class ToolEnhancer extends JavaPlugin {
     public EnhanceGUI getEnhanceGUI() {
         return enhanceGUI;
     }
+
+    public EnhanceSimulator getEnhanceSimulator() {
+        return enhanceSimulator;
+    }
+
+    public PluginMetrics getMetrics() {
+        return metrics;
+    }
+
+    public MetricsExporter getMetricsExporter() {
+        return metricsExporter;
+    }
+
+    /**
+     * 마지막 리로드에서 값이 바뀌었지만 아직 적용되지 않은 항목
+     *
+     * @return 항목 경로 목록 (없으면 빈 목록)
+     */
+    public List<String> getPendingRestartSections() {
+        return pendingRestartSections;
+    }
+
+    public HistoryJournal getHistoryJournal() {
+        return historyJournal;
+    }
 }
\ No newline at end of file
@@ -1,12 +1,21 @@
 package com.krangpq.toolenhancer.api;
 
 import com.krangpq.toolenhancer.ToolEnhancer;
+import com.krangpq.toolenhancer.managers.EnhanceCostSolver;
+import com.krangpq.toolenhancer.managers.EnhanceSimulator;
+import org.bukkit.Material;
 import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.EntityEquipment;
+import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.inventory.PlayerInventory;
 
-import java.util.List;
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * ToolEnhancer Public API
@@ -44,6 +53,13 @@ public class ToolEnhancerAPI {
 
     private static ToolEnhancer plugin;
 
+    // 일괄 조회에서 읽는 장비 칸 (동물 갑옷 칸 BODY 는 플레이어에게 없으므로 제외)
+    private static final EquipmentSlot[] WORN_SLOTS = {
+            EquipmentSlot.HAND, EquipmentSlot.OFF_HAND,
+            EquipmentSlot.FEET, EquipmentSlot.LEGS, EquipmentSlot.CHEST, EquipmentSlot.HEAD
+    };
+    private static final int EQUIPMENT_SLOT_COUNT = EquipmentSlot.values().length;
+
     /**
      * 내부용 - 플러그인 인스턴스 설정
      * ToolEnhancer 메인 클래스의 onEnable()에서 호출됩니다.
@@ -149,14 +165,7 @@ public class ToolEnhancerAPI {
         }
 
         try {
-            int total = 0;
-
-            // 모든 인챈트의 레벨 합산
-            for (Enchantment ench : item.getEnchantments().keySet()) {
-                total += item.getEnchantmentLevel(ench);
-            }
-
-            return total;
+            return totalLevel(item);
 
         } catch (Exception e) {
             plugin.getLogger().warning("API getTotalEnhanceLevel() 호출 중 오류: " + e.getMessage());
@@ -193,6 +202,221 @@ public class ToolEnhancerAPI {
         }
     }
 
+    // ============================================
+    // 일괄 조회 API
+    // ============================================
+
+    /**
+     * 여러 아이템의 총 강화 레벨을 한 번에 조회
+     *
+     * <p>아이템마다 인챈트 정보를 한 번만 읽습니다. 공격할 때마다 여러 칸을 확인하는 경우
+     * {@link #getTotalEnhanceLevel(ItemStack)} 을 칸마다 부르는 것보다 가볍습니다.</p>
+     *
+     * @param items 대상 아이템 배열 (null 칸 허용)
+     * @return 칸별 총 강화 레벨 (items 와 같은 길이, items 가 null 이거나 플러그인 비활성화 시 빈 배열)
+     * @since 1.0.9
+     */
+    public static int[] getTotalEnhanceLevels(ItemStack[] items) {
+        if (!isEnabled() || items == null) {
+            return new int[0];
+        }
+
+        try {
+            return totalLevels(items);
+        } catch (Exception e) {
+            plugin.getLogger().warning("API getTotalEnhanceLevels() 호출 중 오류: " + e.getMessage());
+            return new int[0];
+        }
+    }
+
+    /**
+     * 플레이어 인벤토리 전체의 칸별 총 강화 레벨 조회
+     *
+     * <p>칸 번호는 {@link PlayerInventory#getContents()} 와 같습니다
+     * (0~35 보관함, 36~39 방어구, 40 보조 손).</p>
+     *
+     * @param inventory 대상 인벤토리
+     * @return 칸별 총 강화 레벨, inventory 가 null 이거나 플러그인 비활성화 시 빈 배열
+     * @since 1.0.9
+     */
+    public static int[] getTotalEnhanceLevels(PlayerInventory inventory) {
+        if (!isEnabled() || inventory == null) {
+            return new int[0];
+        }
+
+        try {
+            return totalLevels(inventory.getContents());
+        } catch (Exception e) {
+            plugin.getLogger().warning("API getTotalEnhanceLevels() 호출 중 오류: " + e.getMessage());
+            return new int[0];
+        }
+    }
+
+    /**
+     * 착용 장비의 장비 칸별 총 강화 레벨 조회
+     *
+     * <p>결과는 {@link EquipmentSlot#ordinal()} 로 찾습니다.
+     * 예: {@code levels[EquipmentSlot.HEAD.ordinal()]}. 동물 갑옷 칸({@code BODY})은 항상 0입니다.</p>
+     *
+     * @param equipment 대상 장비 ({@code LivingEntity#getEquipment()})
+     * @return 장비 칸별 총 강화 레벨 (길이 = EquipmentSlot 개수), 플러그인 비활성화 시에도 같은 길이의 0 배열
+     * @since 1.0.9
+     */
+    public static int[] getTotalEnhanceLevels(EntityEquipment equipment) {
+        int[] levels = new int[EQUIPMENT_SLOT_COUNT];
+        if (!isEnabled() || equipment == null) {
+            return levels;
+        }
+
+        try {
+            for (EquipmentSlot slot : WORN_SLOTS) {
+                levels[slot.ordinal()] = totalLevel(equipment.getItem(slot));
+            }
+            return levels;
+        } catch (Exception e) {
+            plugin.getLogger().warning("API getTotalEnhanceLevels() 호출 중 오류: " + e.getMessage());
+            return new int[EQUIPMENT_SLOT_COUNT];
+        }
+    }
+
+    /**
+     * 여러 아이템에 붙은 특정 인챈트 레벨의 합
+     *
+     * <p>예: 방어구 네 칸의 보호 레벨 합계</p>
+     *
+     * @param items 대상 아이템 배열 (null 칸 허용)
+     * @param enchantment 합산할 인챈트
+     * @return 레벨 합 (0 = 인챈트 없음)
+     * @since 1.0.9
+     */
+    public static int getEnhanceLevelSum(ItemStack[] items, Enchantment enchantment) {
+        if (!isEnabled() || items == null || enchantment == null) {
+            return 0;
+        }
+
+        try {
+            int sum = 0;
+            for (ItemStack item : items) {
+                sum += levelOf(item, enchantment);
+            }
+            return sum;
+        } catch (Exception e) {
+            plugin.getLogger().warning("API getEnhanceLevelSum() 호출 중 오류: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * 착용 장비 전체(양손 + 방어구)에 붙은 특정 인챈트 레벨의 합
+     *
+     * @param equipment 대상 장비
+     * @param enchantment 합산할 인챈트
+     * @return 레벨 합 (0 = 인챈트 없음)
+     * @since 1.0.9
+     */
+    public static int getEnhanceLevelSum(EntityEquipment equipment, Enchantment enchantment) {
+        if (!isEnabled() || equipment == null || enchantment == null) {
+            return 0;
+        }
+
+        try {
+            int sum = 0;
+            for (EquipmentSlot slot : WORN_SLOTS) {
+                sum += levelOf(equipment.getItem(slot), enchantment);
+            }
+            return sum;
+        } catch (Exception e) {
+            plugin.getLogger().warning("API getEnhanceLevelSum() 호출 중 오류: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * 여러 아이템의 인챈트별 레벨 합계
+     *
+     * <p>예: 검(날카로움 VII) + 방패(내구성 III) + 투구(내구성 V) = {날카로움=7, 내구성=8}</p>
+     *
+     * @param items 대상 아이템 배열 (null 칸 허용)
+     * @return 인챈트 -> 레벨 합 (호출한 쪽이 수정해도 되는 새 맵, 비활성화 시 빈 맵)
+     * @since 1.0.9
+     */
+    public static Map<Enchantment, Integer> getEnhanceLevelTotals(ItemStack[] items) {
+        if (!isEnabled() || items == null) {
+            return new HashMap<>();
+        }
+
+        try {
+            Map<Enchantment, Integer> totals = new HashMap<>();
+            for (ItemStack item : items) {
+                addLevels(totals, item);
+            }
+            return totals;
+        } catch (Exception e) {
+            plugin.getLogger().warning("API getEnhanceLevelTotals() 호출 중 오류: " + e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    /**
+     * 착용 장비 전체(양손 + 방어구)의 인챈트별 레벨 합계
+     *
+     * @param equipment 대상 장비
+     * @return 인챈트 -> 레벨 합 (호출한 쪽이 수정해도 되는 새 맵, 비활성화 시 빈 맵)
+     * @since 1.0.9
+     */
+    public static Map<Enchantment, Integer> getEnhanceLevelTotals(EntityEquipment equipment) {
+        if (!isEnabled() || equipment == null) {
+            return new HashMap<>();
+        }
+
+        try {
+            Map<Enchantment, Integer> totals = new HashMap<>();
+            for (EquipmentSlot slot : WORN_SLOTS) {
+                addLevels(totals, equipment.getItem(slot));
+            }
+            return totals;
+        } catch (Exception e) {
+            plugin.getLogger().warning("API getEnhanceLevelTotals() 호출 중 오류: " + e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    // 인챈트 정보는 아이템마다 한 번만 읽음 (getEnchantments 는 호출할 때마다 새 맵을 만듦)
+    private static int totalLevel(ItemStack item) {
+        if (item == null || item.getType().isAir()) {
+            return 0;
+        }
+        int total = 0;
+        for (int level : item.getEnchantments().values()) {
+            total += level;
+        }
+        return total;
+    }
+
+    private static int[] totalLevels(ItemStack[] items) {
+        int[] levels = new int[items.length];
+        for (int i = 0; i < items.length; i++) {
+            levels[i] = totalLevel(items[i]);
+        }
+        return levels;
+    }
+
+    private static int levelOf(ItemStack item, Enchantment enchantment) {
+        if (item == null || item.getType().isAir()) {
+            return 0;
+        }
+        return item.getEnchantmentLevel(enchantment);
+    }
+
+    private static void addLevels(Map<Enchantment, Integer> totals, ItemStack item) {
+        if (item == null || item.getType().isAir()) {
+            return;
+        }
+        for (Map.Entry<Enchantment, Integer> entry : item.getEnchantments().entrySet()) {
+            totals.merge(entry.getKey(), entry.getValue(), Integer::sum);
+        }
+    }
+
     // ============================================
     // 강화 가능 여부 확인 API
     // ============================================
@@ -224,6 +448,148 @@ public class ToolEnhancerAPI {
         }
     }
 
+    /**
+     * 아이템 종류가 강화 가능한지 확인
+     *
+     * <p>config.yml 의 enhanceable_items 설정(아이템 태그 + include - exclude)을 기준으로 합니다.</p>
+     *
+     * @param material 확인할 종류
+     * @return 강화 가능하면 true
+     * @since 1.0.9
+     */
+    public static boolean isEnhanceableMaterial(Material material) {
+        if (!isEnabled()) {
+            return false;
+        }
+        if (material == null) {
+            return false;
+        }
+
+        try {
+            return plugin.getEnhanceStoneManager().getSettings().getEnhanceableMaterials().contains(material);
+
+        } catch (Exception e) {
+            plugin.getLogger().warning("API isEnhanceableMaterial() 호출 중 오류: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 강화 가능한 아이템 종류 전체
+     *
+     * @return 수정 불가능한 Set, 플러그인 비활성화 시 빈 Set
+     * @since 1.0.9
+     */
+    public static Set<Material> getEnhanceableMaterials() {
+        if (!isEnabled()) {
+            return Collections.emptySet();
+        }
+
+        try {
+            return plugin.getEnhanceStoneManager().getSettings().getEnhanceableMaterials().asSet();
+
+        } catch (Exception e) {
+            plugin.getLogger().warning("API getEnhanceableMaterials() 호출 중 오류: " + e.getMessage());
+            return Collections.emptySet();
+        }
+    }
+
+    /**
+     * 강화 몬테카를로 시뮬레이션 (비동기)
+     *
+     * <p>시작 레벨에서 목표 레벨까지 시도마다 같은 개수의 강화석을 넣는다고 보고 여러 번 시행하여
+     * 필요한 강화석 분포(평균, 50/90/99 백분위)와 도중 파괴 확률을 계산합니다.
+     * 계산은 별도 스레드에서 진행되므로 결과를 받은 뒤 Bukkit API 를 쓰려면 메인 스레드로 넘겨야 합니다.</p>
+     *
+     * @param enchantment 강화할 인챈트
+     * @param fromLevel 시작 레벨
+     * @param toLevel 목표 레벨
+     * @param stonesPerTry 시도마다 넣을 강화석 개수
+     * @param trials 시행 횟수 (최대 {@link EnhanceSimulator#MAX_TRIALS})
+     * @return 시뮬레이션 결과, 잘못된 인자나 플러그인 비활성화 시 예외로 완료된 future
+     * @since 1.0.9
+     */
+    public static CompletableFuture<EnhanceSimulator.Result> simulateEnhancement(Enchantment enchantment,
+                                                                              int fromLevel, int toLevel,
+                                                                              int stonesPerTry, int trials) {
+        if (!isEnabled()) {
+            CompletableFuture<EnhanceSimulator.Result> future = new CompletableFuture<>();
+            future.completeExceptionally(new CancellationException("ToolEnhancer가 비활성화되어 있습니다."));
+            return future;
+        }
+
+        try {
+            return plugin.getEnhanceSimulator().simulate(enchantment, fromLevel, toLevel, stonesPerTry, trials);
+
+        } catch (Exception e) {
+            plugin.getLogger().warning("API simulateEnhancement() 호출 중 오류: " + e.getMessage());
+            CompletableFuture<EnhanceSimulator.Result> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+    }
+
+    /**
+     * 시작 레벨에서 목표 레벨까지 기대 강화석 소모량 (정확한 값)
+     *
+     * <p>레벨마다 기대 소모량이 가장 적은 개수를 넣는다고 가정하며,
+     * 파괴되면 시작 레벨의 새 아이템으로 다시 올리는 비용까지 포함합니다.</p>
+     *
+     * @param enchantment 강화할 인챈트
+     * @param fromLevel 시작 레벨
+     * @param toLevel 목표 레벨
+     * @return 기대 소모량, 도달할 수 없으면 {@link Double#POSITIVE_INFINITY},
+     *         잘못된 인자이거나 플러그인 비활성화 시 -1
+     * @since 1.0.9
+     */
+    public static double getExpectedStones(Enchantment enchantment, int fromLevel, int toLevel) {
+        if (!isEnabled()) {
+            return -1;
+        }
+        if (enchantment == null) {
+            return -1;
+        }
+
+        try {
+            EnhanceCostSolver.Plan plan = plugin.getEnhanceManager().getCostSolver().solve(
+                    plugin.getEnhanceStoneManager().getRateTable(), enchantment.getMaxLevel(), fromLevel, toLevel);
+            return plan != null ? plan.getExpectedStones() : -1;
+
+        } catch (Exception e) {
+            plugin.getLogger().warning("API getExpectedStones() 호출 중 오류: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * 현재 레벨에서 한 단계 강화할 때 추천 강화석 개수
+     *
+     * <p>강화 정보 종이의 "추천" 값과 같습니다 (파괴 시 0레벨부터 다시 올리는 비용 포함).</p>
+     *
+     * @param enchantment 강화할 인챈트
+     * @param currentLevel 현재 레벨
+     * @return 추천 개수, 더 강화할 수 없거나 플러그인 비활성화 시 -1
+     * @since 1.0.9
+     */
+    public static int getRecommendedStones(Enchantment enchantment, int currentLevel) {
+        if (!isEnabled()) {
+            return -1;
+        }
+        if (enchantment == null || currentLevel < 0) {
+            return -1;
+        }
+
+        try {
+            EnhanceCostSolver.Plan plan = plugin.getEnhanceManager().getCostSolver().solve(
+                    plugin.getEnhanceStoneManager().getRateTable(), enchantment.getMaxLevel(), 0, currentLevel + 1);
+            return plan != null && plan.isReachable() ? plan.getStonesAt(currentLevel) : -1;
+
+        } catch (Exception e) {
+            plugin.getLogger().warning("API getRecommendedStones() 호출 중 오류: " + e.getMessage());
+            return -1;
+        }
+    }
+
     /**
      * 특정 인챈트를 더 강화할 수 있는지 확인
      *
@@ -296,15 +662,9 @@ public class ToolEnhancerAPI {
             int currentLevel = item.getEnchantmentLevel(enchantment);
             int vanillaMax = enchantment.getMaxLevel();
 
-            // 기본 성공률 계산
-            double baseRate = plugin.getEnhanceStoneManager()
-                    .getBaseSuccessRate(currentLevel, vanillaMax);
-
-            // 강화석 보너스 적용
-            double finalRate = plugin.getEnhanceStoneManager()
-                    .calculateSuccessRate(stoneCount, baseRate);
-
-            return finalRate;
+            // 미리 계산된 확률표 조회 (강화석 보너스 포함)
+            return plugin.getEnhanceStoneManager().getRateTable()
+                    .getSuccessRate(currentLevel, vanillaMax, stoneCount);
 
         } catch (Exception e) {
             plugin.getLogger().warning("API getSuccessRate() 호출 중 오류: " + e.getMessage());
@@ -337,10 +697,10 @@ public class ToolEnhancerAPI {
 
         try {
             int currentLevel = item.getEnchantmentLevel(enchantment);
-            int nextLevel = currentLevel + 1;
+            int vanillaMax = enchantment.getMaxLevel();
 
-            return plugin.getEnhanceStoneManager()
-                    .calculateDestroyRate(stoneCount, nextLevel);
+            return plugin.getEnhanceStoneManager().getRateTable()
+                    .getDestroyRate(currentLevel, vanillaMax, stoneCount);
 
         } catch (Exception e) {
             plugin.getLogger().warning("API getDestroyRate() 호출 중 오류: " + e.getMessage());
@@ -399,6 +759,10 @@ public class ToolEnhancerAPI {
     }
     /**
      * 강화석 아이템 생성
+     *
+     * <p>/enhance give 및 조합으로 얻는 강화석과 동일하므로 서로 겹쳐집니다.</p>
+     *
+     * @return 강화석 1개, 플러그인 비활성화 시 null
      */
     public static ItemStack createEnhancementStone() {
         if (!isEnabled()) {
@@ -406,18 +770,7 @@ public class ToolEnhancerAPI {
         }
 
         try {
-            ItemStack stone = plugin.getEnhanceStoneManager().createEnhanceStone(1);
-
-            // 고유 태그 추가
-            ItemMeta meta = stone.getItemMeta();
-            if (meta != null) {
-                List<String> lore = meta.hasLore() ? meta.getLore() : new ArrayList<>();
-                lore.add("§8§l[ENHANCEMENT_STONE]"); // 숨겨진 태그
-                meta.setLore(lore);
-                stone.setItemMeta(meta);
-            }
-
-            return stone;
+            return plugin.getEnhanceStoneManager().createEnhanceStone(1);
         } catch (Exception e) {
             plugin.getLogger().warning("API createEnhancementStone() 호출 중 오류: " + e.getMessage());
             return null;
@@ -0,0 +1,12 @@
+package com.krangpq.toolenhancer.audit;
+
+/**
+ * 강화 시도 기록을 받는 대상 (감사 로그, 히스토리 저널 등)
+ *
+ * <p>{@link com.krangpq.toolenhancer.managers.EnhanceManager#performEnhance}가 결과를 정한 직후
+ * 같은 스레드에서 호출되므로, 구현체는 무거운 작업을 직접 하지 말고 넘겨야 합니다.</p>
+ */
+public interface AttemptListener {
+
+    void onAttempt(AuditRecord record);
+}
@@ -0,0 +1,201 @@
+package com.krangpq.toolenhancer.audit;
+
+import org.bukkit.plugin.Plugin;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 강화 시도 감사 로그
+ *
+ * <p>메인 스레드는 {@link #record(AuditRecord)}로 링 버퍼에 넣기만 하고,
+ * 전용 작성기 스레드가 일정 간격으로 모아서 파일에 씁니다.
+ * 파일은 날짜가 바뀌거나 크기 제한을 넘으면 새 파일로 교체됩니다.</p>
+ *
+ * <p>파일 형식: plugins/ToolEnhancer/audit/audit-yyyy-MM-dd-N.log (한 줄에 JSON 1건)</p>
+ */
+public class AuditLog implements AttemptListener {
+
+    private static final int BATCH_SIZE = 512;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private final Plugin plugin;
+    private final AuditRingBuffer buffer;
+    private final File directory;
+    private final long maxFileBytes;
+    private final boolean enabled;
+
+    private Thread writerThread;
+    private volatile boolean running;
+
+    // 작성기 스레드 전용 상태
+    private final StringBuilder line = new StringBuilder(256);
+    private BufferedWriter writer;
+    private LocalDate currentDate;
+    private int currentIndex;
+    private long currentBytes;
+
+    public AuditLog(Plugin plugin) {
+        this.plugin = plugin;
+        this.enabled = plugin.getConfig().getBoolean("logging.audit.enabled", true);
+        this.buffer = new AuditRingBuffer(plugin.getConfig().getInt("logging.audit.buffer_size", 8192));
+        this.maxFileBytes = Math.max(1, plugin.getConfig().getLong("logging.audit.max_file_size_mb", 16)) * 1024L * 1024L;
+        this.directory = new File(plugin.getDataFolder(), "audit");
+    }
+
+    /**
+     * 작성기 스레드 시작
+     */
+    public void start() {
+        if (!enabled) {
+            plugin.getLogger().info("감사 로그 비활성화됨 (logging.audit.enabled: false)");
+            return;
+        }
+
+        if (!directory.exists() && !directory.mkdirs()) {
+            plugin.getLogger().warning("감사 로그 폴더를 만들 수 없습니다: " + directory.getPath());
+        }
+
+        running = true;
+        writerThread = new Thread(this::runWriter, "ToolEnhancer-AuditWriter");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        plugin.getLogger().info("감사 로그 시작 (버퍼: " + buffer.capacity() + "건, 파일 최대: "
+                + (maxFileBytes / 1024 / 1024) + "MB)");
+    }
+
+    /**
+     * 강화 시도 기록 (어느 스레드에서든 호출 가능, 절대 대기하지 않음)
+     */
+    @Override
+    public void onAttempt(AuditRecord record) {
+        if (enabled && record != null) {
+            buffer.offer(record);
+        }
+    }
+
+    /**
+     * 남은 기록을 모두 쓰고 작성기 종료 (onDisable)
+     */
+    public void shutdown() {
+        if (writerThread == null) {
+            return;
+        }
+
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writerThread = null;
+    }
+
+    private void runWriter() {
+        try {
+            while (running) {
+                int written = drainBatch();
+                if (written == 0) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+            }
+
+            // 종료 전 남은 기록 처리
+            while (drainBatch() > 0) {
+                // 계속 비움
+            }
+        } finally {
+            closeWriter();
+        }
+    }
+
+    private int drainBatch() {
+        int drained = buffer.drain(this::write, BATCH_SIZE);
+
+        long dropped = buffer.takeDropped();
+        if (dropped > 0) {
+            plugin.getLogger().warning("감사 로그 버퍼가 가득 차 " + dropped + "건이 기록되지 않았습니다. "
+                    + "(logging.audit.buffer_size 를 늘려주세요)");
+        }
+
+        if (drained > 0 && writer != null) {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                plugin.getLogger().warning("감사 로그 쓰기 실패: " + e.getMessage());
+                closeWriter();
+            }
+        }
+        return drained;
+    }
+
+    private void write(AuditRecord record) {
+        line.setLength(0);
+        record.appendJson(line);
+        line.append('\n');
+
+        try {
+            ensureWriter(line.length());
+            writer.append(line);
+            currentBytes += line.length();
+        } catch (IOException e) {
+            plugin.getLogger().warning("감사 로그 쓰기 실패: " + e.getMessage());
+            closeWriter();
+        }
+    }
+
+    /**
+     * 날짜 변경 또는 크기 초과 시 새 파일 열기
+     */
+    private void ensureWriter(int pendingBytes) throws IOException {
+        LocalDate today = LocalDate.now();
+
+        if (writer != null && today.equals(currentDate) && currentBytes + pendingBytes <= maxFileBytes) {
+            return;
+        }
+
+        closeWriter();
+
+        if (!today.equals(currentDate)) {
+            currentDate = today;
+            currentIndex = 0;
+            // 같은 날 재시작한 경우 이어쓰기
+            while (fileFor(today, currentIndex + 1).exists()) {
+                currentIndex++;
+            }
+        }
+
+        File file = fileFor(currentDate, currentIndex);
+        if (file.exists() && file.length() + pendingBytes > maxFileBytes) {
+            file = fileFor(currentDate, ++currentIndex);
+        }
+
+        currentBytes = file.exists() ? file.length() : 0;
+        writer = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(file, true), StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    private File fileFor(LocalDate date, int index) {
+        return new File(directory, "audit-" + date + "-" + index + ".log");
+    }
+
+    private void closeWriter() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            plugin.getLogger().warning("감사 로그 파일 닫기 실패: " + e.getMessage());
+        }
+        writer = null;
+    }
+}
@@ -0,0 +1,112 @@
+package com.krangpq.toolenhancer.audit;
+
+import com.krangpq.toolenhancer.managers.EnhanceManager;
+
+import java.util.UUID;
+
+/**
+ * 강화 시도 1건의 감사 기록 (불변)
+ *
+ * <p>메인 스레드에서는 이 객체만 만들어 버퍼에 넣고,
+ * 문자열 변환과 파일 쓰기는 백그라운드 작성기가 처리합니다.</p>
+ */
+public final class AuditRecord {
+
+    private final long timestamp;
+    private final UUID playerId;
+    private final String playerName;
+    private final String itemType;
+    private final String enchantment;
+    private final int fromLevel;
+    private final int toLevel;
+    private final int stones;
+    private final long attemptId;
+    private final double successRate;
+    private final double destroyRate;
+    private final double roll;
+    private final EnhanceManager.EnhanceResult.Type outcome;
+
+    public AuditRecord(long timestamp, UUID playerId, String playerName, String itemType, String enchantment,
+                       int fromLevel, int toLevel, int stones, long attemptId, double successRate,
+                       double destroyRate, double roll, EnhanceManager.EnhanceResult.Type outcome) {
+        this.timestamp = timestamp;
+        this.playerId = playerId;
+        this.playerName = playerName;
+        this.itemType = itemType;
+        this.enchantment = enchantment;
+        this.fromLevel = fromLevel;
+        this.toLevel = toLevel;
+        this.stones = stones;
+        this.attemptId = attemptId;
+        this.successRate = successRate;
+        this.destroyRate = destroyRate;
+        this.roll = roll;
+        this.outcome = outcome;
+    }
+
+    /**
+     * JSON 한 줄로 변환 (작성기 스레드에서 호출)
+     */
+    void appendJson(StringBuilder sb) {
+        sb.append("{\"ts\":").append(timestamp)
+                .append(",\"player\":");
+        appendString(sb, playerName);
+        sb.append(",\"uuid\":");
+        appendString(sb, playerId == null ? null : playerId.toString());
+        sb.append(",\"item\":");
+        appendString(sb, itemType);
+        sb.append(",\"enchant\":");
+        appendString(sb, enchantment);
+        sb.append(",\"from\":").append(fromLevel)
+                .append(",\"to\":").append(toLevel)
+                .append(",\"stones\":").append(stones)
+                .append(",\"attempt\":").append(attemptId)
+                // double 은 다시 읽으면 같은 값이 되는 자릿수로 출력됨 (RollReplay 로 판정 재현 가능)
+                .append(",\"success\":").append(successRate)
+                .append(",\"destroy\":").append(destroyRate)
+                .append(",\"roll\":").append(roll)
+                .append(",\"outcome\":\"").append(outcome.name()).append("\"}");
+    }
+
+    private static void appendString(StringBuilder sb, String value) {
+        if (value == null) {
+            sb.append("null");
+            return;
+        }
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\');
+            }
+            sb.append(c < 0x20 ? ' ' : c);
+        }
+        sb.append('"');
+    }
+
+    /**
+     * 콘솔 출력용 한 줄 요약
+     */
+    public String toConsoleLine() {
+        return String.format("강화 %s - %s %s %s %d->%d, 강화석 %d개, 성공률 %.1f%%, 파괴율 %.1f%%, roll %.4f (#%d)",
+                outcome.name(), playerName, itemType, enchantment, fromLevel, toLevel, stones,
+                successRate * 100, destroyRate * 100, roll, attemptId);
+    }
+
+    public long getTimestamp() { return timestamp; }
+    public UUID getPlayerId() { return playerId; }
+    public String getPlayerName() { return playerName; }
+    public String getItemType() { return itemType; }
+    public String getEnchantment() { return enchantment; }
+    public int getFromLevel() { return fromLevel; }
+    public int getToLevel() { return toLevel; }
+    public int getStones() { return stones; }
+
+    /** 강화 시도 번호 (판정하지 않은 기록은 0) - audit 모드에서는 이 번호로 roll 을 재현할 수 있음 */
+    public long getAttemptId() { return attemptId; }
+
+    public double getSuccessRate() { return successRate; }
+    public double getDestroyRate() { return destroyRate; }
+    public double getRoll() { return roll; }
+    public EnhanceManager.EnhanceResult.Type getOutcome() { return outcome; }
+}
@@ -0,0 +1,91 @@
+package com.krangpq.toolenhancer.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * 잠금 없는 고정 크기 링 버퍼 (다중 생산자 / 단일 소비자)
+ *
+ * <p>슬롯마다 시퀀스 번호를 두어 생산자끼리는 CAS 한 번으로 자리를 잡고,
+ * 소비자는 잠금 없이 순서대로 꺼냅니다. 버퍼가 가득 차면 기록을 버리고
+ * 누락 개수만 셉니다 (메인 스레드를 절대 막지 않음).</p>
+ */
+final class AuditRingBuffer {
+
+    private final int mask;
+    private final AtomicReferenceArray<AuditRecord> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong producerCursor = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private long consumerCursor; // 소비자 스레드 전용
+
+    AuditRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(64, requestedCapacity - 1) << 1);
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 기록 추가
+     *
+     * @return 버퍼가 가득 차 버려졌으면 false
+     */
+    boolean offer(AuditRecord record) {
+        while (true) {
+            long position = producerCursor.get();
+            int index = (int) (position & mask);
+            long sequence = sequences.get(index);
+            long diff = sequence - position;
+
+            if (diff == 0) {
+                if (producerCursor.compareAndSet(position, position + 1)) {
+                    slots.set(index, record);
+                    sequences.set(index, position + 1); // 소비자에게 공개
+                    return true;
+                }
+            } else if (diff < 0) {
+                dropped.incrementAndGet();
+                return false;
+            }
+            // diff > 0: 다른 생산자가 먼저 가져감 - 재시도
+        }
+    }
+
+    /**
+     * 쌓인 기록을 최대 limit 개까지 꺼내 처리 (소비자 스레드 전용)
+     *
+     * @return 꺼낸 개수
+     */
+    int drain(Consumer<AuditRecord> consumer, int limit) {
+        int drained = 0;
+        while (drained < limit) {
+            int index = (int) (consumerCursor & mask);
+            if (sequences.get(index) != consumerCursor + 1) {
+                break; // 비어 있음
+            }
+
+            AuditRecord record = slots.get(index);
+            slots.set(index, null);
+            sequences.set(index, consumerCursor + mask + 1); // 다음 바퀴의 생산자에게 반환
+            consumerCursor++;
+
+            consumer.accept(record);
+            drained++;
+        }
+        return drained;
+    }
+
+    long takeDropped() {
+        return dropped.getAndSet(0);
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -2,26 +2,58 @@ package com.krangpq.toolenhancer.commands;
 
 import com.krangpq.toolenhancer.ToolEnhancer;
 import com.krangpq.toolenhancer.gui.EnhanceGUI;
+import com.krangpq.toolenhancer.history.HistoryEntry;
+import com.krangpq.toolenhancer.history.HistoryJournal;
+import com.krangpq.toolenhancer.managers.EnhanceManager;
+import com.krangpq.toolenhancer.managers.EnhanceSimulator;
+import com.krangpq.toolenhancer.managers.EnhanceStoneManager;
+import com.krangpq.toolenhancer.managers.RenderCache;
+import com.krangpq.toolenhancer.managers.roll.RollSource;
+import com.krangpq.toolenhancer.metrics.LatencyHistogram;
+import com.krangpq.toolenhancer.metrics.MetricsExporter;
+import com.krangpq.toolenhancer.metrics.PluginMetrics;
+import com.krangpq.toolenhancer.metrics.jfr.StoneConsumeEvent;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
+import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
 
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public class EnhanceCommand implements CommandExecutor, TabCompleter {
 
+    private static final int HISTORY_DEFAULT = 10;
+    private static final int HISTORY_MAX = 50;
+    private static final DateTimeFormatter HISTORY_TIME =
+            DateTimeFormatter.ofPattern("MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
     private final ToolEnhancer plugin;
     private final EnhanceGUI enhanceGUI;
 
+    // 시뮬레이션을 돌리고 있는 플레이어 (한 사람당 하나씩만)
+    private final Set<UUID> simulating = ConcurrentHashMap.newKeySet();
+
     public EnhanceCommand(ToolEnhancer plugin, EnhanceGUI enhanceGUI) {
         this.plugin = plugin;
         this.enhanceGUI = enhanceGUI;
@@ -35,6 +67,24 @@ public class EnhanceCommand implements CommandExecutor, TabCompleter {
                 case "give":
                     return handleGiveCommand(sender, args);
 
+                case "reload":
+                    return handleReloadCommand(sender);
+
+                case "history":
+                    return handleHistoryCommand(sender, args);
+
+                case "auto":
+                    return handleAutoCommand(sender, args);
+
+                case "simulate":
+                    return handleSimulateCommand(sender, args);
+
+                case "debug":
+                    return handleDebugCommand(sender, args);
+
+                case "stats":
+                    return handleStatsCommand(sender);
+
                 case "help":
                     sendHelpMessage(sender);
                     return true;
@@ -159,13 +209,541 @@ public class EnhanceCommand implements CommandExecutor, TabCompleter {
         return true;
     }
 
+    /**
+     * /enhance reload 명령어 처리
+     * 설정은 비동기로 다시 읽히며, 결과 메시지는 메인 스레드에서 전송합니다.
+     */
+    private boolean handleReloadCommand(CommandSender sender) {
+        if (!sender.hasPermission("toolenhancer.admin")) {
+            sender.sendMessage(ChatColor.RED + "이 명령어를 사용할 권한이 없습니다!");
+            return true;
+        }
+
+        sender.sendMessage(ChatColor.YELLOW + "설정을 다시 불러오는 중...");
+
+        plugin.reloadSettingsAsync().whenComplete((settings, error) ->
+                Bukkit.getScheduler().runTask(plugin, () -> {
+                    if (error != null) {
+                        Throwable cause = error.getCause() != null ? error.getCause() : error;
+                        sender.sendMessage(ChatColor.RED + "설정 리로드 실패: " + cause.getMessage());
+                        sender.sendMessage(ChatColor.GRAY + "기존 설정을 그대로 사용합니다.");
+                        return;
+                    }
+
+                    sender.sendMessage(ChatColor.GREEN + "설정을 다시 불러왔습니다! " + ChatColor.GRAY
+                            + "(곡선: " + settings.getRateTable().getCurve().getName()
+                            + ", 최대 레벨: " + settings.getAbsoluteMaxLevel() + ")");
+                    List<String> pending = plugin.getPendingRestartSections();
+                    if (!pending.isEmpty()) {
+                        sender.sendMessage(ChatColor.YELLOW + "서버 재시작 후 적용되는 항목: "
+                                + ChatColor.WHITE + String.join(", ", pending));
+                    }
+                    plugin.getLogger().info(sender.getName() + "이(가) 설정을 다시 불러왔습니다.");
+                }));
+
+        return true;
+    }
+
+    /**
+     * /enhance history 명령어 처리
+     * 사용법: /enhance history <플레이어> [개수]
+     */
+    private boolean handleHistoryCommand(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("toolenhancer.admin")) {
+            sender.sendMessage(ChatColor.RED + "이 명령어를 사용할 권한이 없습니다!");
+            return true;
+        }
+
+        HistoryJournal journal = plugin.getHistoryJournal();
+        if (journal == null || !journal.isEnabled()) {
+            sender.sendMessage(ChatColor.RED + "강화 히스토리가 비활성화되어 있습니다. (config.yml의 history.enabled)");
+            return true;
+        }
+
+        if (args.length < 2) {
+            sender.sendMessage(ChatColor.RED + "사용법: /enhance history <플레이어> [개수]");
+            sender.sendMessage(ChatColor.YELLOW + "예시: /enhance history Steve 20");
+            return true;
+        }
+
+        int limit = HISTORY_DEFAULT;
+        if (args.length >= 3) {
+            try {
+                limit = Integer.parseInt(args[2]);
+            } catch (NumberFormatException e) {
+                sender.sendMessage(ChatColor.RED + "올바른 숫자를 입력해주세요!");
+                return true;
+            }
+            if (limit <= 0) {
+                sender.sendMessage(ChatColor.RED + "개수는 1 이상이어야 합니다!");
+                return true;
+            }
+            limit = Math.min(limit, HISTORY_MAX);
+        }
+
+        // 접속 중이면 UUID를 바로 사용, 아니면 저널에 기록된 이름으로 찾기
+        String targetName = args[1];
+        Player online = Bukkit.getPlayerExact(targetName);
+        UUID targetId = online != null ? online.getUniqueId() : journal.findPlayerId(targetName);
+
+        if (targetId == null) {
+            sender.sendMessage(ChatColor.RED + "플레이어 '" + targetName + "'의 강화 기록이 없습니다!");
+            if (!journal.isIndexReady()) {
+                sender.sendMessage(ChatColor.GRAY + "기존 기록을 불러오는 중입니다. 잠시 후 다시 시도해주세요.");
+            }
+            return true;
+        }
+
+        List<HistoryEntry> entries = journal.getRecent(targetId, limit);
+        if (entries.isEmpty()) {
+            sender.sendMessage(ChatColor.RED + "플레이어 '" + targetName + "'의 강화 기록이 없습니다!");
+            return true;
+        }
+
+        String displayName = online != null ? online.getName() : entries.get(0).getPlayerName();
+        sender.sendMessage(ChatColor.GOLD + "━━━━━ " + displayName + "의 강화 기록 (최근 " + entries.size() + "건) ━━━━━");
+        for (HistoryEntry entry : entries) {
+            sender.sendMessage(formatHistoryEntry(entry));
+        }
+        if (!journal.isIndexReady()) {
+            sender.sendMessage(ChatColor.GRAY + "(기존 기록을 불러오는 중이라 일부만 표시될 수 있습니다)");
+        }
+
+        return true;
+    }
+
+    /**
+     * /enhance auto 명령어 처리
+     * 사용법: /enhance auto <목표레벨> [최대강화석] [파괴위험%] [인챈트]
+     * 손에 든 아이템을 목표 레벨까지 반복 강화하고, 결과 아이템과 사용한 강화석은 한 번에 반영합니다.
+     */
+    private boolean handleAutoCommand(CommandSender sender, String[] args) {
+        if (!(sender instanceof Player)) {
+            sender.sendMessage(ChatColor.RED + "이 명령어는 플레이어만 사용할 수 있습니다!");
+            return true;
+        }
+
+        Player player = (Player) sender;
+        if (!player.hasPermission("toolenhancer.use")) {
+            player.sendMessage(ChatColor.RED + "강화 시스템을 사용할 권한이 없습니다!");
+            return true;
+        }
+
+        if (args.length < 2) {
+            player.sendMessage(ChatColor.RED + "사용법: /enhance auto <목표레벨> [최대강화석] [파괴위험%] [인챈트]");
+            player.sendMessage(ChatColor.YELLOW + "예시: /enhance auto 7");
+            player.sendMessage(ChatColor.YELLOW + "예시: /enhance auto 10 64 20 sharpness");
+            return true;
+        }
+
+        // 인자 파싱
+        int targetLevel;
+        int maxStones = Integer.MAX_VALUE;
+        double maxDestroyRate = 1.0;
+        try {
+            targetLevel = Integer.parseInt(args[1]);
+            if (args.length >= 3) {
+                maxStones = Integer.parseInt(args[2]);
+            }
+            if (args.length >= 4) {
+                maxDestroyRate = Double.parseDouble(args[3].replace("%", "")) / 100.0;
+            }
+        } catch (NumberFormatException e) {
+            player.sendMessage(ChatColor.RED + "올바른 숫자를 입력해주세요!");
+            return true;
+        }
+
+        if (targetLevel < 1 || maxStones < 1 || maxDestroyRate < 0.0 || maxDestroyRate > 1.0) {
+            player.sendMessage(ChatColor.RED + "목표 레벨과 최대 강화석은 1 이상, 파괴 위험은 0~100 사이여야 합니다!");
+            return true;
+        }
+
+        PlayerInventory inventory = player.getInventory();
+        int heldSlot = inventory.getHeldItemSlot();
+        ItemStack[] contents = inventory.getContents();
+        ItemStack item = contents[heldSlot];
+
+        if (item == null || item.getType() == Material.AIR) {
+            player.sendMessage(ChatColor.RED + "강화할 도구를 손에 들고 명령어를 사용해주세요!");
+            return true;
+        }
+
+        EnhanceManager enhanceManager = plugin.getEnhanceManager();
+        if (!enhanceManager.canEnhance(item)) {
+            player.sendMessage(ChatColor.RED + "이 아이템은 강화할 수 없습니다!");
+            return true;
+        }
+
+        Enchantment enchantment = resolveAutoEnchantment(player, item, args.length >= 5 ? args[4] : null);
+        if (enchantment == null) {
+            return true;
+        }
+
+        int currentLevel = item.getEnchantmentLevel(enchantment);
+        if (targetLevel <= currentLevel) {
+            player.sendMessage(ChatColor.YELLOW + "이미 목표 레벨 이상입니다! (현재 " + currentLevel + ")");
+            return true;
+        }
+
+        // 강화석은 인벤토리 전체에서 한 번에 셈
+        EnhanceStoneManager stoneManager = plugin.getEnhanceStoneManager();
+        int budget = Math.min(maxStones, stoneManager.countEnhanceStones(contents));
+        int minRequired = stoneManager.getMinRequiredStones(currentLevel + 1);
+        if (budget < minRequired) {
+            player.sendMessage(ChatColor.RED + "강화석이 부족합니다! (" + budget + "/" + minRequired + ")");
+            return true;
+        }
+
+        EnhanceManager.AutoEnhanceResult result = enhanceManager.performAutoEnhance(
+                player, item.clone(), enchantment, targetLevel, budget, maxDestroyRate, stoneManager);
+
+        // 결과 아이템과 사용한 강화석을 한 번에 반영
+        StoneConsumeEvent trace = new StoneConsumeEvent();
+        trace.begin();
+        int removed = stoneManager.removeEnhanceStones(contents, result.getStonesUsed());
+        contents[heldSlot] = result.getResultItem();
+        inventory.setContents(contents);
+        trace.finish(player.getUniqueId(), StoneConsumeEvent.SOURCE_AUTO, result.getStonesUsed(), removed);
+
+        sendAutoSummary(player, enhanceManager.getKoreanEnchantName(enchantment), targetLevel, result);
+        return true;
+    }
+
+    /**
+     * 자동 강화할 인챈트 결정 - 지정하지 않으면 아이템에 붙은 인챈트가 하나일 때만 자동 선택
+     */
+    private Enchantment resolveAutoEnchantment(Player player, ItemStack item, String input) {
+        Map<Enchantment, Integer> candidates = plugin.getEnhanceManager().getAllPossibleEnchantments(item);
+
+        if (input != null) {
+            NamespacedKey key = NamespacedKey.fromString(input.toLowerCase());
+            Enchantment enchantment = key != null ? Registry.ENCHANTMENT.get(key) : null;
+            if (enchantment == null || !candidates.containsKey(enchantment)) {
+                player.sendMessage(ChatColor.RED + "이 아이템에 강화할 수 없는 인챈트입니다: " + input);
+                return null;
+            }
+            return enchantment;
+        }
+
+        Map<Enchantment, Integer> current = item.getEnchantments();
+        if (current.size() == 1) {
+            Enchantment enchantment = current.keySet().iterator().next();
+            if (candidates.containsKey(enchantment)) {
+                return enchantment;
+            }
+        }
+
+        player.sendMessage(ChatColor.RED + "강화할 인챈트를 지정해주세요! (예: /enhance auto 5 64 100 sharpness)");
+        player.sendMessage(ChatColor.GRAY + "가능한 인챈트: " + candidates.keySet().stream()
+                .map(e -> e.getKey().getKey())
+                .collect(Collectors.joining(", ")));
+        return null;
+    }
+
+    private void sendAutoSummary(Player player, String enchantName, int targetLevel,
+                                 EnhanceManager.AutoEnhanceResult result) {
+        int failures = result.getAttempts() - result.getSuccesses()
+                - (result.getStopReason() == EnhanceManager.AutoEnhanceResult.StopReason.DESTROYED ? 1 : 0);
+
+        player.sendMessage(ChatColor.GOLD + "━━━━━ 자동 강화 결과 ━━━━━");
+        player.sendMessage(ChatColor.AQUA + enchantName + " " + ChatColor.WHITE
+                + result.getStartLevel() + " → " + result.getFinalLevel()
+                + ChatColor.GRAY + " (목표 " + targetLevel + ")");
+        player.sendMessage(ChatColor.WHITE + "시도 " + result.getAttempts() + "회"
+                + ChatColor.GRAY + " (성공 " + result.getSuccesses() + ", 실패 " + failures + ")"
+                + ChatColor.WHITE + ", 강화석 " + result.getStonesUsed() + "개 사용");
+
+        switch (result.getStopReason()) {
+            case TARGET_REACHED:
+                player.sendMessage(ChatColor.GREEN + "목표 레벨에 도달했습니다!");
+                break;
+            case DESTROYED:
+                player.sendMessage(ChatColor.DARK_RED + "안타깝게도 아이템이 파괴되었습니다...");
+                break;
+            case OUT_OF_STONES:
+                player.sendMessage(ChatColor.YELLOW + "강화석이 부족하여 멈췄습니다.");
+                break;
+            case DESTROY_RISK:
+                player.sendMessage(ChatColor.YELLOW + "다음 시도의 파괴 확률("
+                        + Math.round(result.getNextDestroyRate() * 100) + "%)이 설정한 한도를 넘어 멈췄습니다.");
+                break;
+            case MAX_LEVEL:
+                player.sendMessage(ChatColor.YELLOW + "최대 레벨에 도달하여 멈췄습니다.");
+                break;
+            default:
+                player.sendMessage(ChatColor.RED + "강화 처리 중 오류가 발생하여 멈췄습니다.");
+                break;
+        }
+    }
+
+    /**
+     * /enhance simulate 명령어 처리
+     * 사용법: /enhance simulate <인챈트> <시작레벨> <목표레벨> <시도당강화석> [시행횟수]
+     * 계산은 별도 스레드에서 진행하고, 결과는 메인 스레드에서 보냅니다.
+     */
+    private boolean handleSimulateCommand(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("toolenhancer.use")) {
+            sender.sendMessage(ChatColor.RED + "강화 시스템을 사용할 권한이 없습니다!");
+            return true;
+        }
+
+        if (args.length < 5) {
+            sender.sendMessage(ChatColor.RED + "사용법: /enhance simulate <인챈트> <시작레벨> <목표레벨> <시도당강화석> [시행횟수]");
+            sender.sendMessage(ChatColor.YELLOW + "예시: /enhance simulate efficiency 5 10 8");
+            return true;
+        }
+
+        NamespacedKey key = NamespacedKey.fromString(args[1].toLowerCase());
+        Enchantment enchantment = key != null ? Registry.ENCHANTMENT.get(key) : null;
+        if (enchantment == null) {
+            sender.sendMessage(ChatColor.RED + "알 수 없는 인챈트입니다: " + args[1]);
+            return true;
+        }
+
+        int fromLevel;
+        int toLevel;
+        int stonesPerTry;
+        int trials = EnhanceSimulator.DEFAULT_TRIALS;
+        try {
+            fromLevel = Integer.parseInt(args[2]);
+            toLevel = Integer.parseInt(args[3]);
+            stonesPerTry = Integer.parseInt(args[4]);
+            if (args.length >= 6) {
+                trials = Integer.parseInt(args[5]);
+            }
+        } catch (NumberFormatException e) {
+            sender.sendMessage(ChatColor.RED + "올바른 숫자를 입력해주세요!");
+            return true;
+        }
+
+        // 기본값보다 많은 시행은 관리자만 (서버 CPU 를 오래 점유함)
+        if (trials > EnhanceSimulator.DEFAULT_TRIALS && !sender.hasPermission("toolenhancer.admin")) {
+            sender.sendMessage(ChatColor.RED + "시행 횟수는 최대 "
+                    + String.format("%,d", EnhanceSimulator.DEFAULT_TRIALS) + "회까지 지정할 수 있습니다.");
+            return true;
+        }
+
+        // 플레이어마다 한 번에 하나씩만 (콘솔은 제한 없음)
+        UUID owner = sender instanceof Player ? ((Player) sender).getUniqueId() : null;
+        if (owner != null && !simulating.add(owner)) {
+            sender.sendMessage(ChatColor.RED + "이미 진행 중인 시뮬레이션이 있습니다. 끝난 뒤 다시 시도해주세요.");
+            return true;
+        }
+
+        String enchantName = plugin.getEnhanceManager().getKoreanEnchantName(enchantment);
+        sender.sendMessage(ChatColor.GRAY + "시뮬레이션 중... (" + String.format("%,d", trials) + "회)");
+
+        plugin.getEnhanceSimulator().simulate(enchantment, fromLevel, toLevel, stonesPerTry, trials)
+                .whenComplete((result, error) -> {
+                    if (owner != null) {
+                        simulating.remove(owner);
+                    }
+                    if (!plugin.isEnabled()) return;
+                    Bukkit.getScheduler().runTask(plugin, () -> {
+                        if (sender instanceof Player && !((Player) sender).isOnline()) return;
+                        if (error != null) {
+                            sendSimulationError(sender, error);
+                        } else {
+                            sendSimulationResult(sender, enchantName, result);
+                        }
+                    });
+                });
+        return true;
+    }
+
+    private void sendSimulationError(CommandSender sender, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof CancellationException) {
+            sender.sendMessage(ChatColor.YELLOW + "시뮬레이션이 취소되었습니다.");
+        } else if (cause instanceof IllegalArgumentException || cause instanceof IllegalStateException) {
+            sender.sendMessage(ChatColor.RED + cause.getMessage());
+        } else {
+            sender.sendMessage(ChatColor.RED + "시뮬레이션 중 오류가 발생했습니다.");
+        }
+    }
+
+    private void sendSimulationResult(CommandSender sender, String enchantName, EnhanceSimulator.Result result) {
+        sender.sendMessage(ChatColor.GOLD + "━━━━━ 강화 시뮬레이션 ━━━━━");
+        sender.sendMessage(ChatColor.AQUA + enchantName + " " + ChatColor.WHITE
+                + result.getFromLevel() + " → " + result.getToLevel()
+                + ChatColor.GRAY + ", 시도마다 강화석 " + result.getStonesPerTry() + "개 ("
+                + String.format("%,d", result.getTrials()) + "회, "
+                + String.format("%.1f", result.getElapsedMillis() / 1000.0) + "초)");
+        sender.sendMessage(ChatColor.WHITE + "평균 강화석: " + String.format("%.1f", result.getMeanStones()) + "개");
+        sender.sendMessage(ChatColor.WHITE + "중앙값 " + result.getP50Stones() + "개 / 90% "
+                + result.getP90Stones() + "개 / 99% " + result.getP99Stones() + "개");
+        sender.sendMessage(ChatColor.WHITE + "목표 도달 전 파괴 확률: "
+                + ChatColor.RED + String.format("%.2f%%", result.getDestroyProbability() * 100));
+        if (result.getUnfinishedProbability() > 0) {
+            sender.sendMessage(ChatColor.YELLOW + "시도 횟수 한도에 걸린 시행: "
+                    + String.format("%.2f%%", result.getUnfinishedProbability() * 100));
+        }
+        sender.sendMessage(ChatColor.GRAY + "(파괴된 경우 파괴될 때까지 사용한 강화석 포함)");
+    }
+
+    /**
+     * /enhance stats 명령어 처리 - 서버 시작 이후 누적 지표 요약
+     */
+    private boolean handleStatsCommand(CommandSender sender) {
+        if (!sender.hasPermission("toolenhancer.admin")) {
+            sender.sendMessage(ChatColor.RED + "이 명령어를 사용할 권한이 없습니다!");
+            return true;
+        }
+
+        PluginMetrics.Snapshot stats = plugin.getMetrics().snapshot();
+        long success = stats.getAttempts(EnhanceManager.EnhanceResult.Type.SUCCESS);
+        long failed = stats.getAttempts(EnhanceManager.EnhanceResult.Type.FAILED);
+        long destroyed = stats.getAttempts(EnhanceManager.EnhanceResult.Type.DESTROYED);
+        long rolled = success + failed + destroyed;
+
+        sender.sendMessage(ChatColor.GOLD + "━━━━━ 강화 통계 ━━━━━");
+        sender.sendMessage(ChatColor.WHITE + "강화 시도: " + stats.getTotalAttempts() + "회 "
+                + ChatColor.GREEN + "성공 " + success + " " + ChatColor.YELLOW + "실패 " + failed + " "
+                + ChatColor.RED + "파괴 " + destroyed + ChatColor.GRAY
+                + " (재료 부족 " + stats.getAttempts(EnhanceManager.EnhanceResult.Type.INSUFFICIENT_MATERIALS)
+                + ", 최대 레벨 " + stats.getAttempts(EnhanceManager.EnhanceResult.Type.MAX_LEVEL) + ")");
+        sender.sendMessage(ChatColor.WHITE + "실제 성공률: " + ratio(success, rolled)
+                + ChatColor.GRAY + " / 파괴율: " + ratio(destroyed, rolled));
+        sender.sendMessage(ChatColor.WHITE + "소모된 강화석: " + stats.getStonesConsumed() + "개");
+        sender.sendMessage(ChatColor.WHITE + "GUI 열림: 선택 " + stats.getSelectOpens()
+                + ", 진행 " + stats.getProcessOpens());
+
+        LatencyHistogram.Snapshot clicks = stats.getClicks();
+        sender.sendMessage(ChatColor.WHITE + "클릭 처리: " + ChatColor.AQUA
+                + String.format("p50 %.1fμs, p99 %.1fμs, 최대 %.1fμs",
+                clicks.getQuantileNanos(0.5) / 1000.0, clicks.getQuantileNanos(0.99) / 1000.0,
+                clicks.getMaxNanos() / 1000.0)
+                + ChatColor.GRAY + " (" + clicks.getCount() + "건)");
+        sender.sendMessage(ChatColor.WHITE + "활성 세션: " + stats.getValue("toolenhancer_sessions")
+                + ChatColor.GRAY + " (강화 처리 중 " + stats.getValue("toolenhancer_processing_players") + ")");
+
+        long renderHits = stats.getValue("toolenhancer_render_cache_hits_total");
+        long renderMisses = stats.getValue("toolenhancer_render_cache_misses_total");
+        long indexLookups = stats.getValue("toolenhancer_enchant_index_lookups_total");
+        long indexBuilds = stats.getValue("toolenhancer_enchant_index_builds_total");
+        long planLookups = stats.getValue("toolenhancer_cost_solver_lookups_total");
+        long planComputes = stats.getValue("toolenhancer_cost_solver_computes_total");
+        sender.sendMessage(ChatColor.WHITE + "캐시 적중률: 렌더링 " + ratio(renderHits, renderHits + renderMisses)
+                + ", 인챈트 색인 " + ratio(indexLookups - indexBuilds, indexLookups)
+                + ", 추천 계획 " + ratio(planLookups - planComputes, planLookups));
+
+        MetricsExporter exporter = plugin.getMetricsExporter();
+        if (exporter == null || !exporter.isEnabled()) {
+            sender.sendMessage(ChatColor.GRAY + "지표 파일 내보내기: 꺼짐 (metrics.export)");
+        } else {
+            long lastWrite = exporter.getLastWrite();
+            sender.sendMessage(ChatColor.GRAY + "지표 파일: " + exporter.getFile().getName()
+                    + (lastWrite > 0 ? " (" + (System.currentTimeMillis() - lastWrite) / 1000 + "초 전 갱신)" : " (아직 없음)"));
+        }
+        return true;
+    }
+
+    private static String ratio(long part, long total) {
+        return total > 0 ? String.format("%.1f%%", part * 100.0 / total) : "-";
+    }
+
+    /**
+     * /enhance debug 명령어 처리
+     * 사용법: /enhance debug <cache|sessions|rng>
+     */
+    private boolean handleDebugCommand(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("toolenhancer.admin")) {
+            sender.sendMessage(ChatColor.RED + "이 명령어를 사용할 권한이 없습니다!");
+            return true;
+        }
+
+        String target = args.length >= 2 ? args[1].toLowerCase() : "";
+        switch (target) {
+            case "cache":
+                RenderCache cache = plugin.getEnhanceManager().getRenderCache();
+                long hits = cache.getHits();
+                long misses = cache.getMisses();
+                long total = hits + misses;
+
+                sender.sendMessage(ChatColor.GOLD + "━━━━━ 렌더링 캐시 ━━━━━");
+                sender.sendMessage(ChatColor.WHITE + "항목: " + cache.size() + " / " + cache.getCapacity());
+                sender.sendMessage(ChatColor.WHITE + "적중: " + hits + ", 실패: " + misses
+                        + ChatColor.GRAY + " (적중률 " + (total > 0 ? String.format("%.1f%%", hits * 100.0 / total) : "-") + ")");
+                return true;
+
+            case "sessions":
+                sender.sendMessage(ChatColor.GOLD + "━━━━━ 강화 세션 ━━━━━");
+                sender.sendMessage(ChatColor.WHITE + "활성 세션: " + enhanceGUI.getSessionCount()
+                        + ChatColor.GRAY + " (강화 처리 중 " + enhanceGUI.getProcessingCount() + ")");
+                long sessionBytes = enhanceGUI.getRetainedSessionBytes();
+                long expiryBytes = enhanceGUI.getRetainedExpiryBytes();
+                sender.sendMessage(ChatColor.WHITE + "만료 대기 노드: " + enhanceGUI.getPendingExpiryCount()
+                        + ChatColor.GRAY + " (해제된 세션의 빈 노드 포함)");
+                sender.sendMessage(ChatColor.WHITE + "보관 메모리(추정): 약 " + (sessionBytes + expiryBytes) + " bytes"
+                        + ChatColor.GRAY + " (세션 " + sessionBytes + " + 만료 노드 " + expiryBytes + ", 객체 크기 기준 계산값)");
+                return true;
+
+            case "rng":
+                RollSource rolls = plugin.getEnhanceManager().getRollSource();
+                sender.sendMessage(ChatColor.GOLD + "━━━━━ 강화 판정 난수 ━━━━━");
+                sender.sendMessage(ChatColor.WHITE + "공급원: " + rolls.getName());
+                sender.sendMessage(ChatColor.WHITE + "이번 실행 시도 번호 발급: " + rolls.getIssuedCount() + "회");
+                sender.sendMessage(ChatColor.WHITE + "재현 가능: " + (rolls.isReplayable()
+                        ? ChatColor.GREEN + "예" + ChatColor.GRAY + " (RollReplay <시드> <시도번호>)"
+                        : ChatColor.GRAY + "아니오 (random.mode: audit 에서만)"));
+                return true;
+
+            default:
+                sender.sendMessage(ChatColor.RED + "사용법: /enhance debug <cache|sessions|rng>");
+                return true;
+        }
+    }
+
+    private String formatHistoryEntry(HistoryEntry entry) {
+        String outcome;
+        switch (entry.getOutcome()) {
+            case SUCCESS:
+                outcome = ChatColor.GREEN + "성공";
+                break;
+            case FAILED:
+                outcome = ChatColor.YELLOW + "실패";
+                break;
+            case DESTROYED:
+                outcome = ChatColor.RED + "파괴";
+                break;
+            case MAX_LEVEL:
+                outcome = ChatColor.GRAY + "최대 레벨";
+                break;
+            default:
+                outcome = ChatColor.GRAY + "재료 부족";
+                break;
+        }
+
+        NamespacedKey key = NamespacedKey.fromString(entry.getEnchantment());
+        Enchantment enchantment = key != null ? Registry.ENCHANTMENT.get(key) : null;
+        String enchantName = enchantment != null
+                ? plugin.getEnhanceManager().getKoreanEnchantName(enchantment)
+                : entry.getEnchantment();
+
+        return ChatColor.GRAY + HISTORY_TIME.format(Instant.ofEpochMilli(entry.getTimestamp())) + " "
+                + ChatColor.AQUA + enchantName + " "
+                + ChatColor.WHITE + entry.getFromLevel() + "→" + entry.getToLevel() + " "
+                + outcome + ChatColor.GRAY
+                + " (강화석 " + entry.getStones() + "개, 성공 " + Math.round(entry.getSuccessRate() * 100)
+                + "%, 파괴 " + Math.round(entry.getDestroyRate() * 100) + "%)"
+                + (entry.getAttemptId() != 0 ? ChatColor.DARK_GRAY + " #" + entry.getAttemptId() : "");
+    }
+
     private void sendHelpMessage(CommandSender sender) {
         sender.sendMessage(ChatColor.GOLD + "━━━━━ ToolEnhancer 도움말 ━━━━━");
         sender.sendMessage(ChatColor.YELLOW + "/enhance" + ChatColor.WHITE + " - 손에 든 아이템 강화");
+        sender.sendMessage(ChatColor.YELLOW + "/enhance auto <목표레벨> [최대강화석] [파괴위험%] [인챈트]"
+                + ChatColor.WHITE + " - 목표 레벨까지 자동 강화");
+        sender.sendMessage(ChatColor.YELLOW + "/enhance simulate <인챈트> <시작> <목표> <시도당강화석> [시행횟수]"
+                + ChatColor.WHITE + " - 필요한 강화석 예측");
 
         if (sender.hasPermission("toolenhancer.admin")) {
             sender.sendMessage(ChatColor.YELLOW + "/enhance give <개수>" + ChatColor.WHITE + " - 자신에게 강화석 지급");
             sender.sendMessage(ChatColor.YELLOW + "/enhance give <개수> <플레이어>" + ChatColor.WHITE + " - 다른 플레이어에게 강화석 지급");
+            sender.sendMessage(ChatColor.YELLOW + "/enhance reload" + ChatColor.WHITE + " - 설정 파일 다시 불러오기");
+            sender.sendMessage(ChatColor.YELLOW + "/enhance history <플레이어> [개수]" + ChatColor.WHITE + " - 강화 기록 조회");
+            sender.sendMessage(ChatColor.YELLOW + "/enhance stats" + ChatColor.WHITE + " - 강화 통계 및 성능 지표");
+            sender.sendMessage(ChatColor.YELLOW + "/enhance debug <cache|sessions|rng>" + ChatColor.WHITE + " - 내부 상태 확인");
         }
 
         sender.sendMessage(ChatColor.YELLOW + "/enhance help" + ChatColor.WHITE + " - 도움말 보기");
@@ -184,13 +762,15 @@ public class EnhanceCommand implements CommandExecutor, TabCompleter {
 
         if (args.length == 1) {
             // 첫 번째 인자: 서브 명령어
-            List<String> subCommands = Arrays.asList("give", "help");
+            List<String> subCommands = Arrays.asList("give", "reload", "history", "auto", "simulate", "stats", "debug", "help");
 
             String input = args[0].toLowerCase();
             for (String subCmd : subCommands) {
                 if (subCmd.startsWith(input)) {
                     // 권한 확인
-                    if (subCmd.equals("give") && !sender.hasPermission("toolenhancer.admin")) {
+                    if ((subCmd.equals("give") || subCmd.equals("reload") || subCmd.equals("history")
+                            || subCmd.equals("stats") || subCmd.equals("debug"))
+                            && !sender.hasPermission("toolenhancer.admin")) {
                         continue;
                     }
                     completions.add(subCmd);
@@ -203,6 +783,59 @@ public class EnhanceCommand implements CommandExecutor, TabCompleter {
                 completions.addAll(Arrays.asList("1", "5", "10", "32", "64"));
             }
 
+        } else if (args.length == 5 && args[0].equalsIgnoreCase("auto") && sender instanceof Player) {
+            // /enhance auto <목표레벨> [최대강화석] [파괴위험%] [인챈트]
+            ItemStack item = ((Player) sender).getInventory().getItemInMainHand();
+            if (item != null && item.getType() != Material.AIR) {
+                String input = args[4].toLowerCase();
+                for (Enchantment enchantment : plugin.getEnhanceManager().getAllPossibleEnchantments(item).keySet()) {
+                    String name = enchantment.getKey().getKey();
+                    if (name.startsWith(input)) {
+                        completions.add(name);
+                    }
+                }
+            }
+
+        } else if (args.length == 2 && args[0].equalsIgnoreCase("simulate")) {
+            // /enhance simulate [인챈트]
+            String input = args[1].toLowerCase();
+            for (Enchantment enchantment : Registry.ENCHANTMENT) {
+                String name = enchantment.getKey().getKey();
+                if (name.startsWith(input)) {
+                    completions.add(name);
+                }
+            }
+
+        } else if (args.length == 6 && args[0].equalsIgnoreCase("simulate")) {
+            // /enhance simulate <인챈트> <시작> <목표> <시도당강화석> [시행횟수]
+            completions.addAll(Arrays.asList("10000", "100000", "1000000"));
+
+        } else if (args.length == 2 && args[0].equalsIgnoreCase("debug")) {
+            // /enhance debug [대상]
+            if (sender.hasPermission("toolenhancer.admin")) {
+                for (String target : Arrays.asList("cache", "sessions", "rng")) {
+                    if (target.startsWith(args[1].toLowerCase())) {
+                        completions.add(target);
+                    }
+                }
+            }
+
+        } else if (args.length == 2 && args[0].equalsIgnoreCase("history")) {
+            // /enhance history [플레이어]
+            if (sender.hasPermission("toolenhancer.admin")) {
+                String input = args[1].toLowerCase();
+                completions = Bukkit.getOnlinePlayers().stream()
+                        .map(Player::getName)
+                        .filter(name -> name.toLowerCase().startsWith(input))
+                        .collect(Collectors.toList());
+            }
+
+        } else if (args.length == 3 && args[0].equalsIgnoreCase("history")) {
+            // /enhance history <플레이어> [개수]
+            if (sender.hasPermission("toolenhancer.admin")) {
+                completions.addAll(Arrays.asList("10", "20", "50"));
+            }
+
         } else if (args.length == 3 && args[0].equalsIgnoreCase("give")) {
             // /enhance give <개수> [플레이어]
             if (sender.hasPermission("toolenhancer.admin")) {
@@ -0,0 +1,77 @@
+package com.krangpq.toolenhancer.config;
+
+import com.krangpq.toolenhancer.managers.curve.SuccessCurves;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.logging.Logger;
+
+/**
+ * config.yml 값 검증
+ *
+ * <p>범위를 벗어난 값은 경고를 출력하고 전달받은 설정 객체에서 기본값으로 교체합니다.
+ * 플러그인 시작 시와 /enhance reload 시 동일한 검사를 사용합니다.
+ * 파일 I/O 를 하지 않으므로 비동기 스레드에서 호출해도 안전합니다.</p>
+ */
+public final class ConfigValidator {
+
+    private ConfigValidator() {
+    }
+
+    /**
+     * 설정 검증 및 잘못된 값 교정
+     *
+     * @param config 검증할 설정 (루트 섹션)
+     * @param logger 경고 출력용 로거
+     */
+    public static void validate(ConfigurationSection config, Logger logger) {
+        // 필수 값 체크
+        if (!config.contains("success_rates.beyond_vanilla.allow_beyond_max")) {
+            logger.warning("경고: 'allow_beyond_max' 설정이 없습니다! 기본값(true) 사용");
+        }
+
+        // reduction_type 값 체크
+        String reductionType = config.getString("success_rates.beyond_vanilla.reduction_type", "stepped");
+        if (!SuccessCurves.isKnownType(reductionType)) {
+            logger.severe("오류: 알 수 없는 reduction_type 입니다! (exponential, linear, stepped, custom)");
+            logger.severe("현재 값: " + reductionType);
+            logger.severe("기본값 stepped를 사용합니다.");
+            config.set("success_rates.beyond_vanilla.reduction_type", "stepped");
+        }
+
+        // severity_scale 범위 체크
+        double severityScale = config.getDouble("success_rates.beyond_vanilla.severity_scale", 1.0);
+        if (severityScale < 0.0 || severityScale > 5.0) {
+            logger.severe("오류: severity_scale 값이 범위를 벗어났습니다! (0.0-5.0)");
+            logger.severe("현재 값: " + severityScale);
+            logger.severe("기본값 1.0을 사용합니다.");
+            config.set("success_rates.beyond_vanilla.severity_scale", 1.0);
+        }
+
+        // global_minimum_rate 범위 체크
+        double globalMinRate = config.getDouble("success_rates.beyond_vanilla.global_minimum_rate", 0.01);
+        if (globalMinRate < 0.0 || globalMinRate > 1.0) {
+            logger.severe("오류: global_minimum_rate 값이 범위를 벗어났습니다! (0.0-1.0)");
+            logger.severe("현재 값: " + globalMinRate);
+            logger.severe("기본값 0.01을 사용합니다.");
+            config.set("success_rates.beyond_vanilla.global_minimum_rate", 0.01);
+        }
+
+        // max_multiplier 범위 체크
+        double maxMultiplier = config.getDouble("success_rates.beyond_vanilla.max_level_limit.max_multiplier", 2.0);
+        if (maxMultiplier < 1.0 || maxMultiplier > 10.0) {
+            logger.severe("오류: max_multiplier 값이 범위를 벗어났습니다! (1.0-10.0)");
+            logger.severe("현재 값: " + maxMultiplier);
+            logger.severe("기본값 2.0을 사용합니다.");
+            config.set("success_rates.beyond_vanilla.max_level_limit.max_multiplier", 2.0);
+        }
+
+        // absolute_max_level 범위 체크
+        int absoluteMaxLevel = config.getInt("success_rates.beyond_vanilla.max_level_limit.absolute_max_level", 30);
+        if (absoluteMaxLevel < 1 || absoluteMaxLevel > 100) {
+            logger.severe("오류: absolute_max_level 값이 범위를 벗어났습니다! (1-100)");
+            logger.severe("현재 값: " + absoluteMaxLevel);
+            logger.severe("기본값 30을 사용합니다.");
+            config.set("success_rates.beyond_vanilla.max_level_limit.absolute_max_level", 30);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.krangpq.toolenhancer.config;
+
+import com.krangpq.toolenhancer.managers.EnhanceableMaterials;
+import com.krangpq.toolenhancer.managers.RateTable;
+import com.krangpq.toolenhancer.managers.curve.SuccessCurve;
+import com.krangpq.toolenhancer.managers.curve.SuccessCurves;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * 설정 스냅샷 (불변)
+ *
+ * <p>config.yml 에서 읽은 값과 그 값으로 만든 확률표를 함께 보관합니다.
+ * 리로드 시에는 새 스냅샷을 통째로 만들어 교체하므로, 하나의 스냅샷을 잡고 있는 동안에는
+ * 이전 값과 새 값이 섞여 보이는 일이 없습니다.</p>
+ */
+public final class EnhanceSettings {
+
+    // enhanceable_items 섹션이 없을 때 사용하는 기본값
+    private static final List<String> DEFAULT_ITEM_TAGS = Arrays.asList(
+            "swords", "axes", "pickaxes", "shovels", "hoes",
+            "head_armor", "chest_armor", "leg_armor", "foot_armor");
+    private static final List<String> DEFAULT_ITEM_INCLUDE = Arrays.asList(
+            "BOW", "CROSSBOW", "TRIDENT", "FISHING_ROD", "SHEARS", "FLINT_AND_STEEL", "MACE");
+
+    private final boolean allowBeyondMax;
+    private final boolean limitEnabled;
+    private final double maxLevelMultiplier;
+    private final int absoluteMaxLevel;
+    private final double severityScale;
+    private final double globalMinimumRate;
+    private final boolean consoleLogging;
+    private final boolean debugMode;
+    private final RateTable rateTable;
+    private final EnhanceableMaterials enhanceableMaterials;
+
+    private EnhanceSettings(Draft draft, EnhanceableMaterials enhanceableMaterials) {
+        this.allowBeyondMax = draft.allowBeyondMax;
+        this.limitEnabled = draft.limitEnabled;
+        this.maxLevelMultiplier = draft.maxLevelMultiplier;
+        this.absoluteMaxLevel = draft.absoluteMaxLevel;
+        this.severityScale = draft.severityScale;
+        this.globalMinimumRate = draft.globalMinimumRate;
+        this.consoleLogging = draft.consoleLogging;
+        this.debugMode = draft.debugMode;
+        this.rateTable = draft.rateTable;
+        this.enhanceableMaterials = enhanceableMaterials;
+    }
+
+    private static List<String> listOrDefault(ConfigurationSection config, String path, List<String> def) {
+        return config.contains(path) ? config.getStringList(path) : def;
+    }
+
+    /**
+     * 검증이 끝난 설정으로 스냅샷 생성 (메인 스레드 전용)
+     *
+     * @param config 설정 (루트 섹션)
+     * @param logger 경고 출력용 로거
+     * @return 새 스냅샷
+     */
+    public static EnhanceSettings load(ConfigurationSection config, Logger logger) {
+        return prepare(config, logger).resolve(logger);
+    }
+
+    /**
+     * 서버 API 를 쓰지 않는 부분만 먼저 준비 (아무 스레드에서나 호출 가능)
+     * 값 읽기와 확률표 생성까지 진행하고, 아이템 태그와 종류 확인은 {@link Draft#resolve} 로 미룹니다.
+     *
+     * @param config 설정 (루트 섹션)
+     * @param logger 경고 출력용 로거
+     * @return 아이템 종류 확인 전 단계
+     */
+    public static Draft prepare(ConfigurationSection config, Logger logger) {
+        return new Draft(config, logger);
+    }
+
+    /**
+     * 아이템 종류를 확인하기 전의 설정 (리로드 시 비동기 스레드에서 만들어 메인 스레드로 넘김)
+     */
+    public static final class Draft {
+        private final boolean allowBeyondMax;
+        private final boolean limitEnabled;
+        private final double maxLevelMultiplier;
+        private final int absoluteMaxLevel;
+        private final double severityScale;
+        private final double globalMinimumRate;
+        private final boolean consoleLogging;
+        private final boolean debugMode;
+        private final RateTable rateTable;
+        private final List<String> itemTags;
+        private final List<String> itemInclude;
+        private final List<String> itemExclude;
+
+        private Draft(ConfigurationSection config, Logger logger) {
+            this.allowBeyondMax = config.getBoolean("success_rates.beyond_vanilla.allow_beyond_max", true);
+            this.limitEnabled = config.getBoolean("success_rates.beyond_vanilla.max_level_limit.enabled", false);
+            this.maxLevelMultiplier = config.getDouble("success_rates.beyond_vanilla.max_level_limit.max_multiplier", 2.0);
+            this.absoluteMaxLevel = config.getInt("success_rates.beyond_vanilla.max_level_limit.absolute_max_level", 30);
+            this.severityScale = config.getDouble("success_rates.beyond_vanilla.severity_scale", 1.0);
+            this.globalMinimumRate = config.getDouble("success_rates.beyond_vanilla.global_minimum_rate", 0.01);
+            this.consoleLogging = config.getBoolean("logging.console", false);
+            this.debugMode = config.getBoolean("debug_mode", false);
+
+            SuccessCurve curve = SuccessCurves.fromConfig(
+                    config.getConfigurationSection("success_rates.beyond_vanilla"), logger);
+
+            this.rateTable = new RateTable(allowBeyondMax, limitEnabled, maxLevelMultiplier,
+                    absoluteMaxLevel, severityScale, globalMinimumRate, curve);
+
+            this.itemTags = listOrDefault(config, "enhanceable_items.tags", DEFAULT_ITEM_TAGS);
+            this.itemInclude = listOrDefault(config, "enhanceable_items.include", DEFAULT_ITEM_INCLUDE);
+            this.itemExclude = listOrDefault(config, "enhanceable_items.exclude", Collections.emptyList());
+        }
+
+        /**
+         * 아이템 태그와 종류를 확인해 스냅샷 완성 (메인 스레드 전용)
+         *
+         * @param logger 경고 출력용 로거
+         * @return 새 스냅샷
+         */
+        public EnhanceSettings resolve(Logger logger) {
+            return new EnhanceSettings(this,
+                    EnhanceableMaterials.build(itemTags, itemInclude, itemExclude, logger));
+        }
+    }
+
+    /**
+     * 현재 설정을 로그로 출력
+     */
+    public void log(Logger logger) {
+        logger.info("강화 시스템 설정 로드 완료:");
+        logger.info("- 바닐라 최대 레벨 초과 허용: " + allowBeyondMax);
+        logger.info("- 최대 레벨 배수: " + maxLevelMultiplier + (limitEnabled ? " (활성화)" : " (비활성화)"));
+        logger.info("- 절대 최대 레벨: " + absoluteMaxLevel);
+        logger.info("- 성공률 곡선: " + rateTable.getCurve().getName());
+        logger.info("- 난이도 배율: " + severityScale);
+        logger.info("- 전역 최소 성공률: " + (globalMinimumRate * 100) + "%");
+        logger.info("- 강화 가능한 아이템 종류: " + enhanceableMaterials.size() + "개");
+    }
+
+    public boolean isAllowBeyondMax() { return allowBeyondMax; }
+    public boolean isLimitEnabled() { return limitEnabled; }
+    public double getMaxLevelMultiplier() { return maxLevelMultiplier; }
+    public int getAbsoluteMaxLevel() { return absoluteMaxLevel; }
+    public double getSeverityScale() { return severityScale; }
+    public double getGlobalMinimumRate() { return globalMinimumRate; }
+    public boolean isConsoleLogging() { return consoleLogging; }
+    public boolean isDebugMode() { return debugMode; }
+    public RateTable getRateTable() { return rateTable; }
+    public EnhanceableMaterials getEnhanceableMaterials() { return enhanceableMaterials; }
+}
@@ -0,0 +1,75 @@
+package com.krangpq.toolenhancer.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * /enhance reload 로 바뀌지 않는 설정 항목 (서버 재시작 시 적용)
+ *
+ * <p>이 항목들은 플러그인이 켜질 때 파일, 스레드, 캐시를 만드는 데 쓰이므로
+ * 설정 스냅샷({@link EnhanceSettings})에 들어 있지 않습니다. 리로드할 때 시작 당시 값과 비교해
+ * 바뀐 항목을 알려 줍니다.</p>
+ */
+public final class RestartOnlySections {
+
+    /** 재시작해야 적용되는 항목 (섹션이면 하위 값 전체) */
+    public static final List<String> PATHS = Collections.unmodifiableList(Arrays.asList(
+            "gui.render_cache_size", "random", "logging.audit", "history", "metrics"));
+
+    private RestartOnlySections() {
+    }
+
+    /**
+     * 실행 중인 값과 새로 읽은 값이 다른 항목
+     *
+     * @param running 플러그인이 켜질 때 읽은 설정
+     * @param loaded 새로 읽은 설정
+     * @return 바뀐 항목 경로 (없으면 빈 목록)
+     */
+    public static List<String> changed(ConfigurationSection running, ConfigurationSection loaded) {
+        List<String> changed = new ArrayList<>();
+        for (String path : PATHS) {
+            if (!sameValues(running, loaded, path)) {
+                changed.add(path);
+            }
+        }
+        return changed;
+    }
+
+    private static boolean sameValues(ConfigurationSection a, ConfigurationSection b, String path) {
+        if (!a.isConfigurationSection(path) && !b.isConfigurationSection(path)) {
+            return Objects.equals(a.get(path), b.get(path));
+        }
+
+        // 하위 값끼리 비교 (한쪽에만 있는 키는 기본값과 비교됨)
+        Set<String> keys = new LinkedHashSet<>();
+        collectLeafKeys(a, path, keys);
+        collectLeafKeys(b, path, keys);
+        for (String key : keys) {
+            if (!Objects.equals(a.get(key), b.get(key))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void collectLeafKeys(ConfigurationSection root, String path, Set<String> keys) {
+        ConfigurationSection section = root.getConfigurationSection(path);
+        if (section == null) {
+            return;
+        }
+        for (String key : section.getKeys(true)) {
+            String full = path + "." + key;
+            if (!root.isConfigurationSection(full)) {
+                keys.add(full);
+            }
+        }
+    }
+}
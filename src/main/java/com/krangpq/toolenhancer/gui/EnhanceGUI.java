@@ -3,21 +3,38 @@ package com.krangpq.toolenhancer.gui;
 import com.krangpq.toolenhancer.ToolEnhancer;
 import com.krangpq.toolenhancer.managers.EnhanceManager;
 import com.krangpq.toolenhancer.managers.EnhanceStoneManager;
+import com.krangpq.toolenhancer.managers.RateTable;
+import com.krangpq.toolenhancer.metrics.jfr.GuiClickEvent;
+import com.krangpq.toolenhancer.metrics.jfr.GuiRenderEvent;
+import com.krangpq.toolenhancer.metrics.jfr.SessionExpireEvent;
+import com.krangpq.toolenhancer.metrics.jfr.StoneConsumeEvent;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryAction;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.inventory.meta.Damageable;
 import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataType;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class EnhanceGUI implements Listener {
 
@@ -31,10 +48,31 @@ public class EnhanceGUI implements Listener {
     // 강화 진행 중인 플레이어 추적 (중복 실행 방지)
     private final Set<UUID> processingPlayers = ConcurrentHashMap.newKeySet();
 
+    // 장식/버튼 아이템 원본 (설정 로드 시 교체)
+    private volatile GuiItems items;
+
+    // 세션 만료 처리 (마지막 조작 후 5분, 1초 단위)
+    private final ExpiryWheel<GuiSession> expiryWheel = new ExpiryWheel<>(nowSeconds(), this::onSessionExpired);
+
+    // 다음 틱에 다시 그릴 강화 진행 화면 (메인 스레드 전용)
+    private final Set<ProcessHolder> dirtyHolders = new LinkedHashSet<>();
+
+    // 강화 진행 중인 대상 아이템 표식 (세션 토큰, 창을 닫으면 제거)
+    private final NamespacedKey sessionKey;
+
     public EnhanceGUI(ToolEnhancer plugin, EnhanceManager enhanceManager, EnhanceStoneManager stoneManager) {
         this.plugin = plugin;
         this.enhanceManager = enhanceManager;
         this.stoneManager = stoneManager;
+        this.items = new GuiItems(enhanceManager);
+        this.sessionKey = new NamespacedKey(plugin, "gui_session");
+    }
+
+    /**
+     * 장식/버튼 아이템 원본 다시 만들기 (/enhance reload, 메인 스레드)
+     */
+    public void reloadItems() {
+        this.items = new GuiItems(enhanceManager);
     }
 
     /**
@@ -53,35 +91,49 @@ public class EnhanceGUI implements Listener {
 
         // 기존 세션 제거하고 새 세션 생성
         UUID playerId = player.getUniqueId();
-        sessions.remove(playerId);
+        GuiSession previous = sessions.get(playerId);
+        if (previous != null) {
+            releaseSession(previous);
+        }
         processingPlayers.remove(playerId);
 
-        // 슬롯 번호도 함께 저장하여 새 세션 생성
-        GuiSession session = new GuiSession(playerId, targetItem.clone(), currentSlot);
+        // 아이템 사본 대신 슬롯 번호와 지문만 저장
+        GuiSession session = new GuiSession(playerId, currentSlot, targetItem);
+        session.expiry = expiryWheel.schedule(session, nowSeconds() + GuiSession.SESSION_TIMEOUT_SECONDS);
         sessions.put(playerId, session);
 
+        GuiRenderEvent render = new GuiRenderEvent();
+        render.begin();
+
         // 인벤토리 크기 계산 (9의 배수)
         int size = Math.min(54, ((enchantments.size() - 1) / 9 + 1) * 9);
-        Inventory gui = Bukkit.createInventory(null, size, ChatColor.DARK_BLUE + "강화할 인챈트 선택");
+        SelectHolder holder = new SelectHolder(session, size);
+        Inventory gui = Bukkit.createInventory(holder, size, ChatColor.DARK_BLUE + "강화할 인챈트 선택");
+        holder.inventory = gui;
 
-        // 인챈트북들 배치
+        // 인챈트북들 배치 (슬롯 -> 인챈트 기록)
         int slot = 0;
         for (Map.Entry<Enchantment, Integer> entry : enchantments.entrySet()) {
+            if (slot >= size) break;
+
             Enchantment ench = entry.getKey();
             int currentLevel = entry.getValue();
             int nextLevel = currentLevel + 1;
             ItemStack enchantBook = enhanceManager.createEnchantmentBook(ench, currentLevel, nextLevel);
             gui.setItem(slot, enchantBook);
+            holder.enchantments[slot] = ench;
             slot++;
         }
 
         // 빈 공간을 유리판으로 채우기
-        ItemStack glass = createGlassPane(ChatColor.GRAY + " ");
+        ItemStack glass = items.filler();
         for (int i = slot; i < size; i++) {
             gui.setItem(i, glass);
         }
+        render.finish(playerId, GuiRenderEvent.SCREEN_SELECT, true, size);
 
         player.openInventory(gui);
+        plugin.getMetrics().selectOpened();
     }
 
     /**
@@ -93,134 +145,159 @@ public class EnhanceGUI implements Listener {
             player.sendMessage(ChatColor.RED + "세션이 만료되었습니다. 다시 시도해주세요!");
             return;
         }
+        session.transitioning = false;
+
+        // 원본 슬롯의 아이템이 선택 당시 그대로인지 확인
+        ItemStack targetItem = player.getInventory().getItem(session.originalSlot);
+        if (targetItem == null || fingerprint(targetItem) != session.fingerprint) {
+            releaseSession(session);
+            player.sendMessage(ChatColor.RED + "강화 대상 아이템을 찾을 수 없습니다! 아이템이 이동되었거나 변경되었습니다.");
+            return;
+        }
 
-        session.selectedEnchantment = selectedEnchantment;
+        session.enchantmentKey = selectedEnchantment.getKey();
+        session.currentLevel = targetItem.getEnchantmentLevel(selectedEnchantment);
+        session.updateLastAccess();
 
-        Inventory gui = Bukkit.createInventory(null, 54, ChatColor.DARK_GREEN + "도구 강화");
+        // 대상 아이템에 세션 토큰을 찍어 두고, 이후 잠금 확인은 토큰 비교로 처리
+        targetItem = stamp(targetItem, session);
+        player.getInventory().setItem(session.originalSlot, targetItem);
+
+        ProcessHolder holder = new ProcessHolder(session);
+        Inventory gui = Bukkit.createInventory(holder, GuiItems.PROCESS_SIZE, ChatColor.DARK_GREEN + "도구 강화");
+        holder.inventory = gui;
 
         // GUI 레이아웃 설정
-        setupEnhanceProcessLayout(gui, session);
+        setupEnhanceProcessLayout(holder, targetItem);
 
         player.openInventory(gui);
+        plugin.getMetrics().processOpened();
     }
 
     /**
      * 강화 진행 GUI 레이아웃 설정
+     * 고정 배치는 템플릿을 한 번에 복사하고, 대상 아이템/정보/버튼만 따로 채웁니다.
      */
-    private void setupEnhanceProcessLayout(Inventory gui, GuiSession session) {
-        // 배경 유리판
-        ItemStack backgroundGlass = createGlassPane(ChatColor.GRAY + " ");
-        ItemStack borderGlass = createColoredGlass(Material.BLACK_STAINED_GLASS_PANE, ChatColor.DARK_GRAY + " ");
-
-        // 테두리 설정
-        for (int i = 0; i < 9; i++) gui.setItem(i, borderGlass); // 상단
-        for (int i = 45; i < 54; i++) gui.setItem(i, borderGlass); // 하단
-        for (int i = 9; i < 45; i += 9) gui.setItem(i, borderGlass); // 좌측
-        for (int i = 17; i < 45; i += 9) gui.setItem(i, borderGlass); // 우측
-
-        // 중앙 영역 배경
-        for (int row = 1; row < 5; row++) {
-            for (int col = 1; col < 8; col++) {
-                gui.setItem(row * 9 + col, backgroundGlass);
-            }
-        }
-
-        // 도구 표시 슬롯 (좌상단)
-        gui.setItem(10, session.targetItem.clone()); // 복제해서 넣기
-        gui.setItem(19, createInfoItem(Material.ARROW, ChatColor.YELLOW + "강화 대상",
-                Arrays.asList(ChatColor.GRAY + "위에 있는 도구가", ChatColor.GRAY + "강화됩니다.")));
+    private void setupEnhanceProcessLayout(ProcessHolder holder, ItemStack targetItem) {
+        GuiRenderEvent render = new GuiRenderEvent();
+        render.begin();
 
-        // 강화석 투입 슬롯들 (중앙)
-        int[] stoneSlots = {12, 13, 14, 21, 22, 23, 30, 31, 32};
-        for (int slot : stoneSlots) {
-            gui.setItem(slot, createStoneSlot());
-        }
+        ItemStack[] layout = items.processLayout();
 
-        // 강화석 투입 안내
-        gui.setItem(39, createInfoItem(Material.NETHER_STAR, ChatColor.LIGHT_PURPLE + "강화석 투입 구역",
-                Arrays.asList(
-                        ChatColor.GRAY + "강화석을 위 슬롯들에",
-                        ChatColor.GRAY + "넣어주세요.",
-                        "",
-                        ChatColor.YELLOW + "더 많이 넣을수록",
-                        ChatColor.YELLOW + "성공 확률이 높아집니다!"
-                )));
+        // 도구 표시 슬롯 (좌상단)
+        layout[GuiItems.SLOT_TARGET] = targetItem;
 
-        // 강화 정보 업데이트
-        updateEnhanceInfo(gui, session);
+        holder.inventory.setContents(layout);
 
-        // 강화 버튼
-        updateEnhanceButton(gui, session);
+        // 강화 정보 및 버튼
+        int written = refresh(holder);
+        render.finish(holder.session.playerId, GuiRenderEvent.SCREEN_PROCESS, true, layout.length + written);
+    }
 
-        // 닫기 버튼
-        gui.setItem(53, createInfoItem(Material.BARRIER, ChatColor.RED + "나가기",
-                Arrays.asList(ChatColor.GRAY + "강화를 취소하고 나갑니다.")));
+    /**
+     * 다음 틱에 다시 그리도록 표시
+     * 같은 틱 안에서 여러 번 호출되어도 한 번만 그립니다.
+     */
+    private void markDirty(ProcessHolder holder) {
+        dirtyHolders.add(holder);
     }
 
     /**
-     * 강화 정보 업데이트
+     * 표시된 화면 다시 그리기 (매 틱 실행)
      */
-    private void updateEnhanceInfo(Inventory gui, GuiSession session) {
-        if (session.selectedEnchantment == null) return;
+    public void flushDirty() {
+        if (dirtyHolders.isEmpty()) return;
 
-        int currentLevel = session.targetItem.getEnchantmentLevel(session.selectedEnchantment);
-        int nextLevel = currentLevel + 1;
-        int stoneCount = countEnhanceStones(gui);
+        Iterator<ProcessHolder> iterator = dirtyHolders.iterator();
+        while (iterator.hasNext()) {
+            ProcessHolder holder = iterator.next();
+            iterator.remove();
 
-        ItemStack infoPaper = enhanceManager.createEnhanceInfoPaper(
-                session.selectedEnchantment, currentLevel, nextLevel, stoneCount, stoneManager);
+            // 이미 닫힌 화면은 건너뜀
+            if (holder.inventory.getViewers().isEmpty()) continue;
 
-        gui.setItem(16, infoPaper);
+            GuiRenderEvent render = new GuiRenderEvent();
+            render.begin();
+            int written = refresh(holder);
+            render.finish(holder.session.playerId, GuiRenderEvent.SCREEN_PROCESS, false, written);
+        }
     }
 
     /**
-     * 강화 버튼 업데이트
+     * 강화 정보 종이와 강화 버튼 갱신 - 값이 바뀐 슬롯만 다시 씀
+     *
+     * @return 다시 쓴 슬롯 수
      */
-    private void updateEnhanceButton(Inventory gui, GuiSession session) {
-        if (session.selectedEnchantment == null) return;
+    private int refresh(ProcessHolder holder) {
+        GuiSession session = holder.session;
+        Enchantment enchantment = session.enchantment();
+        if (enchantment == null) return 0;
+
+        int written = 0;
+        Inventory gui = holder.inventory;
+        int stoneCount = countEnhanceStones(holder);
+        int currentLevel = session.currentLevel;
+        int nextLevel = currentLevel + 1;
 
-        int stoneCount = countEnhanceStones(gui);
-        int nextLevel = session.targetItem.getEnchantmentLevel(session.selectedEnchantment) + 1;
-        int minRequired = stoneManager.getMinRequiredStones(nextLevel);
+        // 강화 정보 (확률표가 교체되었으면 같은 개수라도 다시 그림)
+        RateTable rates = stoneManager.getRateTable();
+        if (stoneCount != holder.renderedStones || rates != holder.renderedRates) {
+            ItemStack infoPaper = enhanceManager.createEnhanceInfoPaper(
+                    enchantment, currentLevel, nextLevel, stoneCount, stoneManager);
+            gui.setItem(GuiItems.SLOT_INFO, infoPaper);
+            holder.renderedStones = stoneCount;
+            holder.renderedRates = rates;
+            written++;
+        }
 
+        // 강화 버튼
+        int minRequired = rates.getMinRequiredStones(nextLevel);
         boolean canEnhance = stoneCount >= minRequired && !processingPlayers.contains(session.playerId);
-        ItemStack button = enhanceManager.createEnhanceButton(canEnhance);
-
-        gui.setItem(25, button);
+        if (holder.renderedButton == null || holder.renderedButton != canEnhance) {
+            gui.setItem(GuiItems.SLOT_BUTTON, items.enhanceButton(canEnhance));
+            holder.renderedButton = canEnhance;
+            written++;
+        }
+        return written;
     }
 
     /**
-     * 강화석 개수 카운트
+     * 강화석 개수 카운트 (장부 기준)
      */
-    private int countEnhanceStones(Inventory gui) {
-        int count = 0;
-        int[] stoneSlots = {12, 13, 14, 21, 22, 23, 30, 31, 32};
+    private int countEnhanceStones(ProcessHolder holder) {
+        syncStones(holder);
 
-        for (int slot : stoneSlots) {
-            ItemStack item = gui.getItem(slot);
-            if (item != null && stoneManager.isEnhanceStone(item)) {
-                count += item.getAmount();
-            }
+        int count = 0;
+        for (int amount : holder.stones) {
+            count += amount;
         }
-
         return count;
     }
 
     /**
-     * 강화석 슬롯 생성
+     * 바뀌었다고 표시된 강화석 슬롯만 다시 읽어 장부 갱신
      */
-    private ItemStack createStoneSlot() {
-        ItemStack slot = new ItemStack(Material.LIGHT_GRAY_STAINED_GLASS_PANE);
-        ItemMeta meta = slot.getItemMeta();
-        if (meta != null) {
-            meta.setDisplayName(ChatColor.WHITE + "강화석 투입 슬롯");
-            meta.setLore(Arrays.asList(
-                    ChatColor.GRAY + "여기에 강화석을 놓으세요",
-                    ChatColor.YELLOW + "강화석이 많을수록 성공률 증가!"
-            ));
-            slot.setItemMeta(meta);
+    private void syncStones(ProcessHolder holder) {
+        int stale = holder.staleStones;
+        if (stale == 0) return;
+        holder.staleStones = 0;
+
+        int[] stoneSlots = GuiItems.STONE_SLOTS;
+        while (stale != 0) {
+            int index = Integer.numberOfTrailingZeros(stale);
+            stale &= stale - 1;
+
+            ItemStack item = holder.inventory.getItem(stoneSlots[index]);
+            holder.stones[index] = stoneManager.isEnhanceStone(item) ? item.getAmount() : 0;
         }
-        return slot;
+    }
+
+    /**
+     * 강화석 슬롯 변경 표시 (이벤트가 적용된 뒤 다음 조회 때 다시 읽음)
+     */
+    private void markStonesStale(ProcessHolder holder, int mask) {
+        holder.staleStones |= mask;
+        markDirty(holder);
     }
 
     /**
@@ -228,58 +305,85 @@ public class EnhanceGUI implements Listener {
      */
     @EventHandler
     public void onInventoryClick(InventoryClickEvent event) {
+        // 플러그인 GUI가 아니면 바로 종료
+        InventoryHolder holder = event.getInventory().getHolder();
+        if (!(holder instanceof GuiHolder)) return;
         if (!(event.getWhoClicked() instanceof Player)) return;
 
         Player player = (Player) event.getWhoClicked();
-        String title = event.getView().getTitle();
+        ((GuiHolder) holder).session.updateLastAccess();
 
-        // 강화 관련 GUI인지 확인
-        if (title.equals(ChatColor.DARK_BLUE + "강화할 인챈트 선택")) {
-            handleEnchantSelectionClick(event, player);
-            return;
-        }
+        long started = System.nanoTime();
+        GuiClickEvent trace = new GuiClickEvent();
+        trace.begin();
+        try {
+            if (holder instanceof SelectHolder) {
+                handleEnchantSelectionClick(event, player, (SelectHolder) holder);
+                return;
+            }
+
+            // 예전 방식 강화석은 손에 닿는 순간 정식 강화석으로 교체
+            migrateLegacyStones(event);
 
-        if (title.equals(ChatColor.DARK_GREEN + "도구 강화")) {
             // 강화 GUI에서의 클릭 처리
-            handleEnhanceProcessClick(event, player);
-            return;
+            handleEnhanceProcessClick(event, player, (ProcessHolder) holder);
+        } finally {
+            plugin.getMetrics().clickHandled(System.nanoTime() - started);
+            trace.finish(player.getUniqueId(), screenOf(holder), event.getClick().name(), event.getRawSlot(),
+                    event.isCancelled());
+        }
+    }
+
+    /**
+     * 클릭한 아이템과 커서 아이템 중 예전 방식 강화석을 정식 강화석으로 교체
+     */
+    private void migrateLegacyStones(InventoryClickEvent event) {
+        ItemStack migrated = stoneManager.migrateLegacyStone(event.getCurrentItem());
+        if (migrated != null) {
+            event.setCurrentItem(migrated);
+        }
+
+        migrated = stoneManager.migrateLegacyStone(event.getCursor());
+        if (migrated != null) {
+            event.getView().setCursor(migrated);
         }
     }
 
     /**
      * 인챈트 선택 GUI 클릭 처리
      */
-    private void handleEnchantSelectionClick(InventoryClickEvent event, Player player) {
+    private void handleEnchantSelectionClick(InventoryClickEvent event, Player player, SelectHolder holder) {
         event.setCancelled(true);
 
-        ItemStack clickedItem = event.getCurrentItem();
-        if (clickedItem == null || clickedItem.getType() != Material.ENCHANTED_BOOK) {
+        int slot = event.getRawSlot();
+        if (slot < 0 || slot >= holder.enchantments.length) {
             return;
         }
 
-        // 인챈트북에서 인챈트 정보 추출
-        if (clickedItem.hasItemMeta() && clickedItem.getItemMeta() instanceof org.bukkit.inventory.meta.EnchantmentStorageMeta) {
-            org.bukkit.inventory.meta.EnchantmentStorageMeta meta =
-                    (org.bukkit.inventory.meta.EnchantmentStorageMeta) clickedItem.getItemMeta();
+        Enchantment selectedEnchant = holder.enchantments[slot];
+        if (selectedEnchant == null) {
+            return;
+        }
 
-            if (!meta.getStoredEnchants().isEmpty()) {
-                Enchantment selectedEnchant = meta.getStoredEnchants().keySet().iterator().next();
-                player.closeInventory();
+        // 진행 화면으로 넘어가는 동안 닫기 이벤트에서 세션을 해제하지 않도록 표시
+        holder.session.transitioning = true;
+        player.closeInventory();
 
-                // 강화 진행 GUI 열기
-                Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                    openEnhanceProcessGUI(player, selectedEnchant);
-                }, 1L);
+        // 강화 진행 GUI 열기
+        Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            if (player.isOnline()) {
+                openEnhanceProcessGUI(player, selectedEnchant);
             }
-        }
+        }, 1L);
     }
 
     /**
      * 강화 진행 GUI 클릭 처리
      */
-    private void handleEnhanceProcessClick(InventoryClickEvent event, Player player) {
-        GuiSession session = sessions.get(player.getUniqueId());
-        if (session == null) {
+    private void handleEnhanceProcessClick(InventoryClickEvent event, Player player, ProcessHolder holder) {
+        GuiSession session = holder.session;
+        if (sessions.get(player.getUniqueId()) != session) {
+            // 만료되었거나 새 세션으로 교체됨
             event.setCancelled(true);
             return;
         }
@@ -289,68 +393,89 @@ public class EnhanceGUI implements Listener {
         ItemStack cursorItem = event.getCursor();
 
         // 플레이어 인벤토리 영역 클릭 (슬롯 54번부터) - 아이템 이동 차단 로직 추가
-        if (slot >= 54) {
+        if (slot >= GuiItems.PROCESS_SIZE) {
             // 대상 아이템 이동 시도 감지
-            if (clickedItem != null && isSimilarItem(clickedItem, session.targetItem)) {
+            if (isTarget(clickedItem, session)) {
                 event.setCancelled(true);
                 player.sendMessage(ChatColor.RED + "강화 진행 중에는 대상 아이템을 이동할 수 없습니다!");
                 return;
             }
 
             // 커서에 있는 아이템이 대상 아이템과 같은 경우도 차단
-            if (cursorItem != null && isSimilarItem(cursorItem, session.targetItem)) {
+            if (isTarget(cursorItem, session)) {
                 event.setCancelled(true);
                 player.sendMessage(ChatColor.RED + "강화 진행 중에는 대상 아이템을 이동할 수 없습니다!");
                 return;
             }
 
             // 원본 슬롯에서 아이템을 빼내려는 시도 감지
-            if (slot - 54 == session.originalSlot) {
+            if (slot - GuiItems.PROCESS_SIZE == session.originalSlot) {
                 ItemStack slotItem = player.getInventory().getItem(session.originalSlot);
-                if (slotItem != null && isSimilarItem(slotItem, session.targetItem)) {
+                if (isTarget(slotItem, session)) {
                     event.setCancelled(true);
                     player.sendMessage(ChatColor.RED + "강화 진행 중에는 대상 아이템을 이동할 수 없습니다!");
                     return;
                 }
             }
 
+            InventoryAction action = event.getAction();
+            if (action == InventoryAction.MOVE_TO_OTHER_INVENTORY) {
+                // 쉬프트 클릭으로는 강화석만 GUI에 넣을 수 있음 (비어 있는 강화석 슬롯으로 들어감)
+                if (!stoneManager.isEnhanceStone(clickedItem)) {
+                    event.setCancelled(true);
+                    return;
+                }
+                markStonesStale(holder, GuiItems.ALL_STONE_BITS);
+            } else if (action == InventoryAction.COLLECT_TO_CURSOR) {
+                // 더블 클릭은 강화석 슬롯에서도 모아 올 수 있음
+                markStonesStale(holder, GuiItems.ALL_STONE_BITS);
+            }
+
             // 플레이어 인벤토리는 자유롭게 클릭 가능 (대상 아이템 제외)
             return;
         }
 
-        // 여기서부터는 기존 GUI 내부 클릭 처리 로직 그대로 유지
+        if (slot < 0) {
+            // 인벤토리 밖 클릭
+            return;
+        }
 
-        // 강화석 투입 슬롯들
-        int[] stoneSlots = {12, 13, 14, 21, 22, 23, 30, 31, 32};
-        boolean isStoneSlot = Arrays.stream(stoneSlots).anyMatch(s -> s == slot);
+        switch (GuiItems.PROCESS_ACTIONS[slot]) {
+            case GuiItems.ACTION_STONE:
+                // 강화석 슬롯 처리
+                handleStoneSlotClick(event, player, holder);
+                break;
 
-        if (isStoneSlot) {
-            // 강화석 슬롯 처리
-            handleStoneSlotClick(event, player, session);
-        } else if (slot == 25) {
-            // 강화 버튼 클릭
-            event.setCancelled(true);
+            case GuiItems.ACTION_ENHANCE:
+                // 강화 버튼 클릭
+                event.setCancelled(true);
 
-            // 중복 실행 방지
-            if (processingPlayers.contains(player.getUniqueId())) {
-                return;
-            }
+                // 중복 실행 방지
+                if (processingPlayers.contains(player.getUniqueId())) {
+                    return;
+                }
 
-            handleEnhanceButtonClick(event, player, session);
-        } else if (slot == 53) {
-            // 나가기 버튼
-            event.setCancelled(true);
-            player.closeInventory();
-        } else if (slot < 54) {
-            // GUI 내부의 다른 슬롯들은 클릭 금지 (강화석 슬롯 제외)
-            event.setCancelled(true);
+                handleEnhanceButtonClick(player, holder);
+                break;
+
+            case GuiItems.ACTION_EXIT:
+                // 나가기 버튼
+                event.setCancelled(true);
+                player.closeInventory();
+                break;
+
+            default:
+                // GUI 내부의 다른 슬롯들은 클릭 금지 (강화석 슬롯 제외)
+                event.setCancelled(true);
+                break;
         }
     }
 
     /**
      * 강화석 슬롯 클릭 처리
      */
-    private void handleStoneSlotClick(InventoryClickEvent event, Player player, GuiSession session) {
+    private void handleStoneSlotClick(InventoryClickEvent event, Player player, ProcessHolder holder) {
+        GuiSession session = holder.session;
         ItemStack clickedItem = event.getCurrentItem();
         ItemStack cursorItem = event.getCursor();
 
@@ -366,19 +491,18 @@ public class EnhanceGUI implements Listener {
             event.setCurrentItem(null);
         }
 
-        // 강화 정보 업데이트 (다음 틱에) - 지연 시간 증가로 안정성 향상
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
-            if (player.getOpenInventory().getTitle().equals(ChatColor.DARK_GREEN + "도구 강화")) {
-                updateEnhanceInfo(event.getInventory(), session);
-                updateEnhanceButton(event.getInventory(), session);
-            }
-        }, 2L);
+        // 장부 및 강화 정보 업데이트 (클릭이 적용된 뒤 다음 틱에 한 번만)
+        int bits = event.getAction() == InventoryAction.COLLECT_TO_CURSOR
+                ? GuiItems.ALL_STONE_BITS
+                : 1 << GuiItems.STONE_INDEX[event.getRawSlot()];
+        markStonesStale(holder, bits);
     }
 
     /**
      * 강화 버튼 클릭 처리 (중요: 버그 수정)
      */
-    private void handleEnhanceButtonClick(InventoryClickEvent event, Player player, GuiSession session) {
+    private void handleEnhanceButtonClick(Player player, ProcessHolder holder) {
+        GuiSession session = holder.session;
         // 기존 validateAndRefreshSession(player) 호출 부분을 삭제하고 직접 체크
         if (session == null || !session.isValid()) {
             player.sendMessage(ChatColor.RED + "세션이 만료되었습니다. 다시 /enhance를 실행해주세요!");
@@ -393,22 +517,23 @@ public class EnhanceGUI implements Listener {
         }
 
         try {
-            if (session.selectedEnchantment == null) {
+            Enchantment enchantment = session.enchantment();
+            if (enchantment == null) {
                 player.sendMessage(ChatColor.RED + "인챈트가 선택되지 않았습니다!");
                 return;
             }
 
             // 원본 슬롯에 대상 아이템이 여전히 있는지 확인
             ItemStack originalItem = player.getInventory().getItem(session.originalSlot);
-            if (originalItem == null || !isSimilarItem(originalItem, session.targetItem)) {
+            if (!isTarget(originalItem, session)) {
                 player.sendMessage(ChatColor.RED + "강화 대상 아이템을 찾을 수 없습니다! 아이템이 이동되었거나 변경되었습니다.");
                 player.closeInventory();
                 return;
             }
 
             // 현재 GUI의 강화석 개수 확인
-            int stoneCount = countEnhanceStones(event.getInventory());
-            int nextLevel = session.targetItem.getEnchantmentLevel(session.selectedEnchantment) + 1;
+            int stoneCount = countEnhanceStones(holder);
+            int nextLevel = session.currentLevel + 1;
             int minRequired = stoneManager.getMinRequiredStones(nextLevel);
 
             if (stoneCount < minRequired) {
@@ -416,15 +541,22 @@ public class EnhanceGUI implements Listener {
                 return;
             }
 
+            // 이미 최대 레벨이면 강화석을 건드리지 않고 중단
+            int absoluteMaxLevel = stoneManager.getAbsoluteMaxLevel(enchantment.getMaxLevel());
+            if (nextLevel > absoluteMaxLevel) {
+                player.sendMessage(ChatColor.RED + "더 이상 강화할 수 없습니다! 최대 레벨: " + absoluteMaxLevel);
+                return;
+            }
+
             // 강화석 먼저 소모
-            if (!consumeEnhanceStones(event.getInventory(), stoneCount)) {
+            if (!consumeEnhanceStones(holder, stoneCount)) {
                 player.sendMessage(ChatColor.RED + "강화석 처리 중 오류가 발생했습니다!");
                 return;
             }
 
-            // 원본 슬롯의 실제 아이템으로 강화 진행
+            // 원본 슬롯의 실제 아이템으로 강화 진행 (세션 토큰은 떼어 냄)
             EnhanceManager.EnhanceResult result = enhanceManager.performEnhance(
-                    originalItem.clone(), session.selectedEnchantment, stoneCount, stoneManager);
+                    player, unstamp(originalItem.clone()), enchantment, stoneCount, stoneManager);
 
             // GUI 닫기
             player.closeInventory();
@@ -446,6 +578,10 @@ public class EnhanceGUI implements Listener {
             } else if (result.getType() == EnhanceManager.EnhanceResult.Type.FAILED) {
                 // 실패: 원본 아이템 유지 (변경 없음)
                 player.sendMessage(ChatColor.YELLOW + "다음에 다시 도전해보세요!");
+
+            } else if (!result.getType().consumesStones()) {
+                // 최대 레벨 / 재료 부족 / 내부 오류: 판정 전에 중단되었으므로 먼저 소모한 강화석을 돌려줌
+                giveEnhanceStones(player, stoneCount);
             }
 
         } finally {
@@ -455,50 +591,100 @@ public class EnhanceGUI implements Listener {
     }
 
     /**
-     * 강화석 소모 (수정된 버전)
+     * 강화석 소모 - 장부에서 차감한 뒤 인벤토리에 한 번에 반영
      */
-    private boolean consumeEnhanceStones(Inventory gui, int amount) {
-        int[] stoneSlots = {12, 13, 14, 21, 22, 23, 30, 31, 32};
+    private boolean consumeEnhanceStones(ProcessHolder holder, int amount) {
+        StoneConsumeEvent trace = new StoneConsumeEvent();
+        trace.begin();
+
+        if (countEnhanceStones(holder) < amount) {
+            trace.finish(holder.session.playerId, StoneConsumeEvent.SOURCE_GUI, amount, 0);
+            return false; // 부족한 경우 소모하지 않음
+        }
+
+        int[] stoneSlots = GuiItems.STONE_SLOTS;
+        ItemStack[] contents = holder.inventory.getContents();
         int remaining = amount;
-        List<ItemStack> toConsume = new ArrayList<>();
-
-        // 먼저 소모할 아이템들을 수집
-        for (int slot : stoneSlots) {
-            if (remaining <= 0) break;
-
-            ItemStack item = gui.getItem(slot);
-            if (item != null && stoneManager.isEnhanceStone(item)) {
-                int itemAmount = item.getAmount();
-                if (itemAmount <= remaining) {
-                    toConsume.add(new ItemStack(Material.AIR)); // 전체 소모
-                    remaining -= itemAmount;
-                } else {
-                    ItemStack newItem = item.clone();
-                    newItem.setAmount(itemAmount - remaining);
-                    toConsume.add(newItem); // 일부 소모
-                    remaining = 0;
-                }
+
+        for (int i = 0; i < stoneSlots.length && remaining > 0; i++) {
+            int have = holder.stones[i];
+            if (have == 0) continue;
+
+            int take = Math.min(have, remaining);
+            remaining -= take;
+            holder.stones[i] = have - take;
+
+            if (have == take) {
+                contents[stoneSlots[i]] = null; // 전체 소모
             } else {
-                toConsume.add(item); // 변경 없음
+                ItemStack rest = contents[stoneSlots[i]].clone();
+                rest.setAmount(have - take);
+                contents[stoneSlots[i]] = rest; // 일부 소모
             }
         }
 
-        // 검증: 모든 강화석이 소모되었는지 확인
-        if (remaining > 0) {
-            return false; // 부족한 경우 소모하지 않음
+        holder.inventory.setContents(contents);
+        trace.finish(holder.session.playerId, StoneConsumeEvent.SOURCE_GUI, amount, amount);
+        return true;
+    }
+
+    /**
+     * 인벤토리 드래그 처리
+     * 강화 진행 GUI에서는 강화석을 강화석 슬롯에만 나눠 놓을 수 있습니다.
+     */
+    @EventHandler
+    public void onInventoryDrag(InventoryDragEvent event) {
+        InventoryHolder holder = event.getInventory().getHolder();
+        if (!(holder instanceof GuiHolder)) return;
+
+        ((GuiHolder) holder).session.updateLastAccess();
+
+        long started = System.nanoTime();
+        GuiClickEvent trace = new GuiClickEvent();
+        trace.begin();
+        try {
+            handleDrag(event, holder);
+        } finally {
+            plugin.getMetrics().clickHandled(System.nanoTime() - started);
+            trace.finish(((GuiHolder) holder).session.playerId, screenOf(holder), "DRAG", -1, event.isCancelled());
         }
+    }
 
-        // 실제로 소모 적용
-        for (int i = 0; i < stoneSlots.length && i < toConsume.size(); i++) {
-            ItemStack newItem = toConsume.get(i);
-            if (newItem != null && newItem.getType() == Material.AIR) {
-                gui.setItem(stoneSlots[i], null);
-            } else {
-                gui.setItem(stoneSlots[i], newItem);
+    private static String screenOf(InventoryHolder holder) {
+        return holder instanceof SelectHolder ? GuiRenderEvent.SCREEN_SELECT : GuiRenderEvent.SCREEN_PROCESS;
+    }
+
+    private void handleDrag(InventoryDragEvent event, InventoryHolder holder) {
+        if (holder instanceof SelectHolder) {
+            event.setCancelled(true);
+            return;
+        }
+
+        boolean touchesGui = false;
+        for (int slot : event.getRawSlots()) {
+            if (slot >= GuiItems.PROCESS_SIZE) continue;
+
+            touchesGui = true;
+            if (GuiItems.PROCESS_ACTIONS[slot] != GuiItems.ACTION_STONE) {
+                event.setCancelled(true);
+                return;
             }
         }
 
-        return true;
+        if (!touchesGui) return;
+
+        if (!stoneManager.isEnhanceStone(event.getOldCursor())) {
+            event.setCancelled(true);
+            return;
+        }
+
+        int bits = 0;
+        for (int slot : event.getRawSlots()) {
+            if (slot < GuiItems.PROCESS_SIZE) {
+                bits |= 1 << GuiItems.STONE_INDEX[slot];
+            }
+        }
+        markStonesStale((ProcessHolder) holder, bits);
     }
 
     /**
@@ -508,169 +694,465 @@ public class EnhanceGUI implements Listener {
     public void onInventoryClose(InventoryCloseEvent event) {
         if (!(event.getPlayer() instanceof Player)) return;
 
+        InventoryHolder holder = event.getInventory().getHolder();
+        if (!(holder instanceof GuiHolder)) return;
+
         Player player = (Player) event.getPlayer();
-        String title = event.getView().getTitle();
+        GuiSession session = ((GuiHolder) holder).session;
+
+        if (holder instanceof ProcessHolder) {
+            dirtyHolders.remove(holder);
 
-        if (title.equals(ChatColor.DARK_GREEN + "도구 강화")) {
             // 강화 GUI 닫을 때 강화석 반환 (처리 중이 아닐 때만)
             if (!processingPlayers.contains(player.getUniqueId())) {
-                returnEnhanceStones(event.getInventory(), player);
+                returnEnhanceStones((ProcessHolder) holder, player);
             }
         }
 
-        // 세션 정리 (10초 후 - 시간 증가)
-        //Bukkit.getScheduler().runTaskLater(plugin, () -> {
-        //    sessions.remove(player.getUniqueId());
-        //    processingPlayers.remove(player.getUniqueId()); // 안전장치
-        //}, 200L);
+        // 선택 화면 -> 진행 화면 전환 중이면 세션 유지
+        if (session.transitioning) return;
+
+        releaseSession(session);
     }
 
     /**
-     * 강화석 반환
+     * 접속 시 남아 있는 세션 토큰 제거 (서버가 비정상 종료된 경우 등)와 예전 방식 강화석 교체
      */
-    private void returnEnhanceStones(Inventory gui, Player player) {
-        int[] stoneSlots = {12, 13, 14, 21, 22, 23, 30, 31, 32};
-
-        for (int slot : stoneSlots) {
-            ItemStack item = gui.getItem(slot);
-            if (item != null && stoneManager.isEnhanceStone(item)) {
-                // 플레이어 인벤토리에 반환
-                HashMap<Integer, ItemStack> leftOver = player.getInventory().addItem(item);
+    @EventHandler
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        clearStamps(player);
+
+        // 예전 방식 강화석은 접속할 때 정식 강화석으로 교체 (/enhance auto 등 GUI 밖에서도 인식되도록)
+        PlayerInventory inventory = player.getInventory();
+        ItemStack[] contents = inventory.getContents();
+        if (stoneManager.migrateLegacyStones(contents) > 0) {
+            inventory.setContents(contents);
+        }
+    }
 
-                // 인벤토리가 가득 찬 경우 땅에 드롭
-                if (!leftOver.isEmpty()) {
-                    for (ItemStack drop : leftOver.values()) {
-                        player.getWorld().dropItem(player.getLocation(), drop);
-                    }
-                }
+    /**
+     * 접속 중인 플레이어의 남은 세션 토큰 제거 (플러그인 활성화 시)
+     */
+    public void recoverStamps() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            int cleared = clearStamps(player);
+            if (cleared > 0) {
+                plugin.debug("남은 강화 세션 표식 제거: " + player.getName() + " (" + cleared + "개)");
             }
         }
     }
 
     /**
-     * 유틸리티: 유리판 생성
+     * 접속 종료 시 세션 해제
+     */
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        closeAndRelease(event.getPlayer());
+    }
+
+    /**
+     * 월드 이동 시 열려 있는 강화 창을 닫고 세션 해제
+     */
+    @EventHandler
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+        closeAndRelease(event.getPlayer());
+    }
+
+    /**
+     * 플러그인 비활성화 시 모든 강화 창을 닫고 세션 해제 (강화석은 닫기 이벤트에서 반환)
+     */
+    public void shutdown() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            closeAndRelease(player);
+        }
+        for (GuiSession session : new ArrayList<>(sessions.values())) {
+            releaseSession(session);
+        }
+        processingPlayers.clear();
+        dirtyHolders.clear();
+    }
+
+    /**
+     * 플러그인 강화 창이 열려 있으면 닫고 (강화석 반환) 남은 세션 해제
+     */
+    private void closeAndRelease(Player player) {
+        InventoryHolder holder = player.getOpenInventory().getTopInventory().getHolder();
+        if (holder instanceof GuiHolder) {
+            player.closeInventory();
+        }
+
+        GuiSession session = sessions.get(player.getUniqueId());
+        if (session != null) {
+            releaseSession(session);
+        }
+    }
+
+    /**
+     * 세션 해제 - 만료 예약을 취소하고 목록에서 제거 (여러 번 호출해도 안전)
      */
-    private ItemStack createGlassPane(String name) {
-        return createColoredGlass(Material.GRAY_STAINED_GLASS_PANE, name);
+    private void releaseSession(GuiSession session) {
+        session.expiry.cancel();
+
+        if (session.stamped) {
+            session.stamped = false;
+            Player player = Bukkit.getPlayer(session.playerId);
+            if (player != null) {
+                removeStamp(player, session);
+            }
+            // 이미 나간 플레이어는 다음 접속 때 제거
+        }
+
+        if (sessions.remove(session.playerId, session)) {
+            processingPlayers.remove(session.playerId);
+        }
     }
 
     /**
-     * 유틸리티: 색상 유리 생성
+     * 대상 아이템에 세션 토큰 기록 (사본 반환)
      */
-    private ItemStack createColoredGlass(Material material, String name) {
-        ItemStack glass = new ItemStack(material);
-        ItemMeta meta = glass.getItemMeta();
-        if (meta != null) {
-            meta.setDisplayName(name);
-            glass.setItemMeta(meta);
+    private ItemStack stamp(ItemStack item, GuiSession session) {
+        ItemStack stamped = item.clone();
+        ItemMeta meta = stamped.getItemMeta();
+        if (meta == null) {
+            return item;
         }
-        return glass;
+        meta.getPersistentDataContainer().set(sessionKey, PersistentDataType.LONG, session.token);
+        stamped.setItemMeta(meta);
+        session.stamped = true;
+        return stamped;
     }
 
-    //유틸리티: 정보 아이템 생성
-    private ItemStack createInfoItem(Material material, String name, List<String> lore) {
-        ItemStack item = new ItemStack(material);
+    /**
+     * 세션 토큰 제거 (전달된 아이템을 직접 수정)
+     */
+    private ItemStack unstamp(ItemStack item) {
         ItemMeta meta = item.getItemMeta();
-        if (meta != null) {
-            meta.setDisplayName(name);
-            meta.setLore(lore);
+        if (meta != null && meta.getPersistentDataContainer().has(sessionKey, PersistentDataType.LONG)) {
+            meta.getPersistentDataContainer().remove(sessionKey);
             item.setItemMeta(meta);
         }
         return item;
     }
 
+    private boolean hasStamp(ItemStack item) {
+        if (item == null || !item.hasItemMeta()) {
+            return false;
+        }
+        ItemMeta meta = item.getItemMeta();
+        return meta != null && meta.getPersistentDataContainer().has(sessionKey, PersistentDataType.LONG);
+    }
+
+    /**
+     * 세션이 찍어 둔 토큰 제거 - 원래 슬롯에 없으면 인벤토리 전체에서 찾음
+     */
+    private void removeStamp(Player player, GuiSession session) {
+        PlayerInventory inventory = player.getInventory();
+        ItemStack item = inventory.getItem(session.originalSlot);
+        if (isTarget(item, session)) {
+            inventory.setItem(session.originalSlot, unstamp(item));
+            return;
+        }
+        clearStamps(player);
+    }
+
+    /**
+     * 인벤토리와 커서의 모든 세션 토큰 제거
+     *
+     * @return 제거한 아이템 수
+     */
+    private int clearStamps(Player player) {
+        int cleared = 0;
+
+        PlayerInventory inventory = player.getInventory();
+        ItemStack[] contents = inventory.getContents();
+        for (int i = 0; i < contents.length; i++) {
+            if (hasStamp(contents[i])) {
+                contents[i] = unstamp(contents[i].clone());
+                cleared++;
+            }
+        }
+        if (cleared > 0) {
+            inventory.setContents(contents);
+        }
+
+        ItemStack cursor = player.getItemOnCursor();
+        if (hasStamp(cursor)) {
+            player.setItemOnCursor(unstamp(cursor.clone()));
+            cleared++;
+        }
+
+        return cleared;
+    }
+
+    /**
+     * 강화석 반환 - 장부 합계를 최대 묶음 단위로 합쳐 한 번에 지급
+     */
+    private void returnEnhanceStones(ProcessHolder holder, Player player) {
+        int total = countEnhanceStones(holder);
+        if (total <= 0) return;
+
+        // GUI 쪽 강화석 비우기 (두 번 반환되지 않도록)
+        int[] stoneSlots = GuiItems.STONE_SLOTS;
+        ItemStack[] contents = holder.inventory.getContents();
+        for (int i = 0; i < stoneSlots.length; i++) {
+            if (holder.stones[i] > 0) {
+                contents[stoneSlots[i]] = null;
+                holder.stones[i] = 0;
+            }
+        }
+        holder.inventory.setContents(contents);
+
+        giveEnhanceStones(player, total);
+    }
+
+    /**
+     * 강화석 지급 - 최대 묶음 단위로 합쳐 인벤토리에 넣고, 가득 찬 경우 땅에 드롭
+     */
+    private void giveEnhanceStones(Player player, int total) {
+        ItemStack stone = stoneManager.createEnhanceStone(1);
+        int maxStack = stone.getMaxStackSize();
+        ItemStack[] stacks = new ItemStack[(total + maxStack - 1) / maxStack];
+        for (int i = 0; i < stacks.length; i++) {
+            ItemStack stack = stone.clone();
+            stack.setAmount(Math.min(maxStack, total - i * maxStack));
+            stacks[i] = stack;
+        }
+
+        HashMap<Integer, ItemStack> leftOver = player.getInventory().addItem(stacks);
+        for (ItemStack drop : leftOver.values()) {
+            player.getWorld().dropItem(player.getLocation(), drop);
+        }
+    }
+
+    /**
+     * 플러그인 GUI 공통 홀더 - 화면마다 세션을 함께 들고 다님
+     */
+    private abstract static class GuiHolder implements InventoryHolder {
+        final GuiSession session;
+        Inventory inventory;
+
+        GuiHolder(GuiSession session) {
+            this.session = session;
+        }
+
+        @Override
+        public Inventory getInventory() {
+            return inventory;
+        }
+    }
+
+    /**
+     * 1단계: 인챈트 선택 화면 (슬롯 -> 인챈트)
+     */
+    private static final class SelectHolder extends GuiHolder {
+        final Enchantment[] enchantments;
+
+        SelectHolder(GuiSession session, int size) {
+            super(session);
+            this.enchantments = new Enchantment[size];
+        }
+    }
+
+    /**
+     * 2단계: 강화 진행 화면 (슬롯 동작은 GuiItems.PROCESS_ACTIONS)
+     */
+    private static final class ProcessHolder extends GuiHolder {
+        // 강화석 슬롯별 개수 (GuiItems.STONE_SLOTS 순서)와 다시 읽어야 할 슬롯 비트
+        final int[] stones = new int[GuiItems.STONE_SLOTS.length];
+        int staleStones;
+
+        // 마지막으로 그린 값 (바뀐 슬롯만 다시 쓰기 위함)
+        int renderedStones = -1;
+        RateTable renderedRates;
+        Boolean renderedButton;
+
+        ProcessHolder(GuiSession session) {
+            super(session);
+        }
+    }
+
     // EnhanceGUI.java의 세션 관리 부분 수정
 
 
-    //GUI 세션 클래스
-    private static class GuiSession {
-        final UUID playerId;
-        final ItemStack targetItem;
-        final int originalSlot; // 추가: 원래 아이템이 있던 슬롯 번호
-        Enchantment selectedEnchantment;
-        private long lastAccess;
-        private static final long SESSION_TIMEOUT = 300_000; // 5분
+    /**
+     * GUI 세션 - 대상 아이템 사본 대신 슬롯 번호, 지문, 인챈트 키만 보관
+     * 대상 아이템이 필요할 때는 원본 슬롯에서 꺼내 지문으로 확인합니다.
+     */
+    private static final class GuiSession {
+        static final long SESSION_TIMEOUT_SECONDS = 300; // 5분
 
-        GuiSession(UUID playerId, ItemStack targetItem, int originalSlot) {
+        // 세션 하나가 붙잡는 대략적인 크기 (세션 객체 + UUID + 세션 맵 항목, 압축 포인터 기준)
+        // 만료 노드는 해제 후에도 휠에 남으므로 따로 셈, 인챈트 키는 레지스트리 객체를 공유하므로 제외
+        static final int ESTIMATED_BYTES = 56 + 32 + 32;
+
+        final UUID playerId;
+        final int originalSlot; // 원래 아이템이 있던 슬롯 번호
+        final long fingerprint; // 대상 아이템 지문 (토큰을 찍기 전 확인용)
+        final Material targetType;
+        final long token = ThreadLocalRandom.current().nextLong(); // 대상 아이템에 찍는 세션 토큰
+        boolean stamped;
+        NamespacedKey enchantmentKey; // 선택한 인챈트 (선택 전에는 null)
+        int currentLevel; // 선택 당시 인챈트 레벨
+        boolean transitioning; // 선택 화면 -> 진행 화면 전환 중
+        ExpiryWheel.Node<GuiSession> expiry;
+
+        GuiSession(UUID playerId, int originalSlot, ItemStack targetItem) {
             this.playerId = playerId;
-            this.targetItem = targetItem;
-            this.originalSlot = originalSlot; // 슬롯 번호 저장
-            this.lastAccess = System.currentTimeMillis();
+            this.originalSlot = originalSlot;
+            this.fingerprint = fingerprint(targetItem);
+            this.targetType = targetItem.getType();
         }
 
+        Enchantment enchantment() {
+            return enchantmentKey == null ? null : Registry.ENCHANTMENT.get(enchantmentKey);
+        }
+
+        /**
+         * 만료 기한 연장 (GUI 조작 시마다 호출)
+         */
         void updateLastAccess() {
-            this.lastAccess = System.currentTimeMillis();
+            expiry.touch(nowSeconds() + SESSION_TIMEOUT_SECONDS);
         }
 
         boolean isValid() {
-            return (System.currentTimeMillis() - lastAccess) < SESSION_TIMEOUT;
+            return !expiry.isCancelled();
         }
     }
 
+    /**
+     * 만료 기한이 지난 세션 처리 (1초마다 호출)
+     */
     public void cleanupExpiredSessions() {
-        int removed = 0;
-        Iterator<Map.Entry<UUID, GuiSession>> iterator = sessions.entrySet().iterator();
+        expiryWheel.advance(nowSeconds());
+    }
 
-        while (iterator.hasNext()) {
-            Map.Entry<UUID, GuiSession> entry = iterator.next();
-            if (!entry.getValue().isValid()) {
-                iterator.remove();
-                processingPlayers.remove(entry.getKey());
-                removed++;
-            }
+    /**
+     * 세션 만료 시 정리 - 열려 있는 GUI를 닫아 강화석을 돌려주고 세션을 해제
+     */
+    private void onSessionExpired(GuiSession session) {
+        if (sessions.get(session.playerId) != session) {
+            return;
         }
 
-        if (removed > 0) {
-            plugin.getLogger().info("만료된 세션 " + removed + "개를 정리했습니다.");
+        SessionExpireEvent trace = new SessionExpireEvent();
+        trace.begin();
+
+        boolean closed = false;
+        Player player = Bukkit.getPlayer(session.playerId);
+        if (player != null) {
+            InventoryHolder holder = player.getOpenInventory().getTopInventory().getHolder();
+            if (holder instanceof GuiHolder && ((GuiHolder) holder).session == session) {
+                // 닫기 이벤트에서 강화석 반환
+                player.closeInventory();
+                player.sendMessage(ChatColor.RED + "오랫동안 조작이 없어 강화 창을 닫았습니다.");
+                closed = true;
+            }
         }
+        releaseSession(session);
+        trace.finish(session.playerId, session.enchantmentKey != null ? session.enchantmentKey.toString() : null,
+                player != null, closed);
+
+        plugin.debug("강화 세션 만료: " + session.playerId);
     }
 
-    private boolean isSimilarItem(ItemStack item1, ItemStack item2) {
-        if (item1 == null || item2 == null) {
-            return false;
-        }
+    private static long nowSeconds() {
+        return System.currentTimeMillis() / 1000L;
+    }
 
-        // 타입이 다르면 다른 아이템
-        if (item1.getType() != item2.getType()) {
+    /**
+     * 현재 세션 수
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * 강화 처리 중인 플레이어 수
+     */
+    public int getProcessingCount() {
+        return processingPlayers.size();
+    }
+
+    /**
+     * 만료 휠에 남아 있는 노드 수 (해제된 세션의 빈 노드 포함)
+     */
+    public int getPendingExpiryCount() {
+        return expiryWheel.size();
+    }
+
+    /**
+     * 활성 세션들이 붙잡고 있는 메모리 추정치 (바이트, 만료 노드 제외)
+     */
+    public long getRetainedSessionBytes() {
+        return (long) sessions.size() * GuiSession.ESTIMATED_BYTES;
+    }
+
+    /**
+     * 만료 휠에 남은 노드들이 붙잡고 있는 메모리 추정치 (바이트, 해제된 세션의 빈 노드 포함)
+     */
+    public long getRetainedExpiryBytes() {
+        return expiryWheel.retainedBytes();
+    }
+
+    /**
+     * 이 세션의 토큰이 찍힌 대상 아이템인지 확인 (종류가 다르면 메타를 읽지 않음)
+     */
+    private boolean isTarget(ItemStack item, GuiSession session) {
+        return hasToken(item, session.targetType, sessionKey, session.token);
+    }
+
+    static boolean hasToken(ItemStack item, Material type, NamespacedKey key, long token) {
+        if (item == null || item.getType() != type || !item.hasItemMeta()) {
             return false;
         }
-
-        // 인챈트 비교 (강화 대상 식별의 핵심)
-        if (!item1.getEnchantments().equals(item2.getEnchantments())) {
+        ItemMeta meta = item.getItemMeta();
+        if (meta == null) {
             return false;
         }
+        Long stamped = meta.getPersistentDataContainer().get(key, PersistentDataType.LONG);
+        return stamped != null && stamped == token;
+    }
 
-        // 내구도가 있는 아이템의 경우 내구도 비교
-        if (item1.getType().getMaxDurability() > 0 &&
-                item1.hasItemMeta() && item2.hasItemMeta()) {
+    /**
+     * 강화 대상 식별용 지문 - 종류, 인챈트, 내구도, 이름이 같으면 같은 값
+     * (0 은 빈 슬롯 전용)
+     */
+    static long fingerprint(ItemStack item) {
+        if (item == null || item.getType().isAir()) {
+            return 0L;
+        }
 
-            org.bukkit.inventory.meta.Damageable meta1 =
-                    (org.bukkit.inventory.meta.Damageable) item1.getItemMeta();
-            org.bukkit.inventory.meta.Damageable meta2 =
-                    (org.bukkit.inventory.meta.Damageable) item2.getItemMeta();
+        long h = item.getType().ordinal() + 1;
 
-            if (meta1.getDamage() != meta2.getDamage()) {
-                return false;
-            }
+        // 인챈트 (순서와 무관하게 합산)
+        long enchants = 0;
+        for (Map.Entry<Enchantment, Integer> entry : item.getEnchantments().entrySet()) {
+            enchants += mix(entry.getKey().getKey().hashCode() * 31L + entry.getValue());
         }
+        h = h * 31 + enchants;
 
-        // 커스텀 이름이 있는 경우 비교
-        if (item1.hasItemMeta() && item2.hasItemMeta()) {
-            ItemMeta meta1 = item1.getItemMeta();
-            ItemMeta meta2 = item2.getItemMeta();
+        if (item.hasItemMeta()) {
+            ItemMeta meta = item.getItemMeta();
 
-            boolean hasName1 = meta1.hasDisplayName();
-            boolean hasName2 = meta2.hasDisplayName();
-
-            if (hasName1 != hasName2) {
-                return false;
+            // 내구도
+            if (item.getType().getMaxDurability() > 0 && meta instanceof Damageable) {
+                h = h * 31 + ((Damageable) meta).getDamage();
             }
 
-            if (hasName1 && !meta1.getDisplayName().equals(meta2.getDisplayName())) {
-                return false;
+            // 커스텀 이름
+            if (meta.hasDisplayName()) {
+                h = h * 31 + meta.getDisplayName().hashCode();
             }
         }
 
-        return true;
+        h = mix(h);
+        return h == 0 ? 1 : h;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,176 @@
+package com.krangpq.toolenhancer.gui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 계층형 타이밍 휠 (1초 단위 만료 처리)
+ *
+ * <p>0단계는 1초 칸 64개, 1단계는 64초 칸 64개(약 68분)이며, 그보다 먼 기한은 넘침 목록에 둡니다.
+ * 1초가 지날 때마다 0단계 칸 하나만 처리하고, 0단계가 한 바퀴 돌 때 1단계 칸 하나를 아래로 내립니다.</p>
+ *
+ * <p>기한 연장({@link Node#touch})은 값만 바꾸고 칸을 옮기지 않습니다.
+ * 칸이 처리될 때 기한이 아직 남았으면 그때 새 위치로 다시 넣습니다.</p>
+ *
+ * <p>메인 스레드 전용입니다.</p>
+ */
+final class ExpiryWheel<T> {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+
+    // 노드 하나가 붙잡는 대략적인 크기 (노드 객체 + 칸 목록의 참조 한 개, 압축 포인터 기준)
+    static final int NODE_BYTES = 32 + 4;
+
+    private final List<List<Node<T>>> level0 = createLevel();
+    private final List<List<Node<T>>> level1 = createLevel();
+    private final List<Node<T>> overflow = new ArrayList<>();
+
+    private final Consumer<T> onExpire;
+    private long current; // 마지막으로 처리한 초
+    private int size;
+
+    ExpiryWheel(long nowSeconds, Consumer<T> onExpire) {
+        this.current = nowSeconds;
+        this.onExpire = onExpire;
+    }
+
+    /**
+     * 만료 예약
+     *
+     * @param value 만료 시 전달할 값
+     * @param deadlineSeconds 만료 시각 (초)
+     * @return 기한 연장 / 취소용 노드
+     */
+    Node<T> schedule(T value, long deadlineSeconds) {
+        Node<T> node = new Node<>(value, deadlineSeconds);
+        place(node);
+        size++;
+        return node;
+    }
+
+    /**
+     * 현재 시각까지 지난 칸 처리 (1초마다 호출, 밀린 초가 있으면 한꺼번에 처리)
+     */
+    void advance(long nowSeconds) {
+        while (current < nowSeconds) {
+            current++;
+            int index = (int) (current & MASK);
+
+            // 0단계가 한 바퀴 돌면 1단계 칸 하나를 내림
+            if (index == 0) {
+                int upper = (int) ((current >>> BITS) & MASK);
+                if (upper == 0) {
+                    cascade(overflow);
+                }
+                cascade(level1.get(upper));
+            }
+
+            List<Node<T>> bucket = level0.get(index);
+            if (bucket.isEmpty()) continue;
+
+            List<Node<T>> due = new ArrayList<>(bucket);
+            bucket.clear();
+            for (Node<T> node : due) {
+                if (node.cancelled) {
+                    size--;
+                } else if (node.deadline > current) {
+                    // 기한이 연장된 노드
+                    place(node);
+                } else {
+                    T value = node.value;
+                    node.cancel();
+                    size--;
+                    onExpire.accept(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * 휠에 남아 있는 노드 수 (취소되었지만 아직 칸이 처리되지 않은 노드 포함)
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * 남아 있는 노드들이 붙잡는 메모리 추정치 (바이트, 칸 목록 자체는 제외)
+     */
+    long retainedBytes() {
+        return (long) size * NODE_BYTES;
+    }
+
+    private void cascade(List<Node<T>> bucket) {
+        if (bucket.isEmpty()) return;
+
+        List<Node<T>> moving = new ArrayList<>(bucket);
+        bucket.clear();
+        for (Node<T> node : moving) {
+            if (node.cancelled) {
+                size--;
+            } else {
+                place(node);
+            }
+        }
+    }
+
+    private void place(Node<T> node) {
+        // 이미 지난 기한은 다음 초에 처리
+        long deadline = Math.max(node.deadline, current + 1);
+        long delta = deadline - current;
+
+        if (delta < SLOTS) {
+            level0.get((int) (deadline & MASK)).add(node);
+        } else if (delta < (long) SLOTS * SLOTS) {
+            level1.get((int) ((deadline >>> BITS) & MASK)).add(node);
+        } else {
+            overflow.add(node);
+        }
+    }
+
+    private static <T> List<List<Node<T>>> createLevel() {
+        List<List<Node<T>>> level = new ArrayList<>(SLOTS);
+        for (int i = 0; i < SLOTS; i++) {
+            level.add(new ArrayList<>());
+        }
+        return level;
+    }
+
+    /**
+     * 예약된 만료 항목
+     */
+    static final class Node<T> {
+        private T value;
+        private long deadline;
+        private boolean cancelled;
+
+        private Node(T value, long deadline) {
+            this.value = value;
+            this.deadline = deadline;
+        }
+
+        /**
+         * 기한 연장 (칸 이동 없이 값만 변경)
+         */
+        void touch(long deadlineSeconds) {
+            if (deadlineSeconds > deadline) {
+                deadline = deadlineSeconds;
+            }
+        }
+
+        /**
+         * 만료 취소 (노드는 다음에 칸이 처리될 때 제거되지만 값은 바로 놓아줌)
+         */
+        void cancel() {
+            cancelled = true;
+            value = null;
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.krangpq.toolenhancer.gui;
+
+import com.krangpq.toolenhancer.managers.EnhanceManager;
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * GUI 장식/조작용 아이템 원본 모음 (불변)
+ *
+ * <p>설정을 불러올 때 한 번 만들어 두고, GUI 를 열 때는 미리 배치해 둔 템플릿 배열을
+ * {@code setContents} 로 한 번에 복사합니다. 인벤토리에 넣을 때 서버가 아이템을 복사하므로
+ * 여기 있는 원본은 변경되지 않습니다. 원본을 직접 수정하면 안 됩니다.</p>
+ */
+final class GuiItems {
+
+    static final int PROCESS_SIZE = 54;
+
+    // 강화 진행 GUI 슬롯
+    static final int SLOT_TARGET = 10;
+    static final int SLOT_TARGET_LABEL = 19;
+    static final int SLOT_INFO = 16;
+    static final int SLOT_BUTTON = 25;
+    static final int SLOT_STONE_GUIDE = 39;
+    static final int SLOT_EXIT = 53;
+    static final int[] STONE_SLOTS = {12, 13, 14, 21, 22, 23, 30, 31, 32};
+    static final int ALL_STONE_BITS = (1 << STONE_SLOTS.length) - 1;
+
+    // 슬롯 -> STONE_SLOTS 순번 (강화석 슬롯이 아니면 -1)
+    static final byte[] STONE_INDEX = buildStoneIndex();
+
+    // 강화 진행 GUI 슬롯별 동작
+    static final byte ACTION_NONE = 0;    // 클릭 금지
+    static final byte ACTION_STONE = 1;   // 강화석 투입
+    static final byte ACTION_ENHANCE = 2; // 강화 버튼
+    static final byte ACTION_EXIT = 3;    // 나가기
+    static final byte[] PROCESS_ACTIONS = buildProcessActions();
+
+    private final ItemStack backgroundGlass;
+    private final ItemStack borderGlass;
+    private final ItemStack stoneSlot;
+    private final ItemStack targetLabel;
+    private final ItemStack stoneGuide;
+    private final ItemStack exitButton;
+    private final ItemStack enhanceButtonReady;
+    private final ItemStack enhanceButtonBlocked;
+
+    // 강화 진행 GUI 기본 배치 (대상 아이템, 정보, 버튼 슬롯은 비어 있음)
+    private final ItemStack[] processTemplate;
+
+    GuiItems(EnhanceManager enhanceManager) {
+        this.backgroundGlass = createItem(Material.GRAY_STAINED_GLASS_PANE, ChatColor.GRAY + " ", null);
+        this.borderGlass = createItem(Material.BLACK_STAINED_GLASS_PANE, ChatColor.DARK_GRAY + " ", null);
+        this.stoneSlot = createItem(Material.LIGHT_GRAY_STAINED_GLASS_PANE, ChatColor.WHITE + "강화석 투입 슬롯",
+                Arrays.asList(
+                        ChatColor.GRAY + "여기에 강화석을 놓으세요",
+                        ChatColor.YELLOW + "강화석이 많을수록 성공률 증가!"
+                ));
+        this.targetLabel = createItem(Material.ARROW, ChatColor.YELLOW + "강화 대상",
+                Arrays.asList(ChatColor.GRAY + "위에 있는 도구가", ChatColor.GRAY + "강화됩니다."));
+        this.stoneGuide = createItem(Material.NETHER_STAR, ChatColor.LIGHT_PURPLE + "강화석 투입 구역",
+                Arrays.asList(
+                        ChatColor.GRAY + "강화석을 위 슬롯들에",
+                        ChatColor.GRAY + "넣어주세요.",
+                        "",
+                        ChatColor.YELLOW + "더 많이 넣을수록",
+                        ChatColor.YELLOW + "성공 확률이 높아집니다!"
+                ));
+        this.exitButton = createItem(Material.BARRIER, ChatColor.RED + "나가기",
+                Arrays.asList(ChatColor.GRAY + "강화를 취소하고 나갑니다."));
+        this.enhanceButtonReady = enhanceManager.createEnhanceButton(true);
+        this.enhanceButtonBlocked = enhanceManager.createEnhanceButton(false);
+
+        this.processTemplate = buildProcessTemplate();
+    }
+
+    private static byte[] buildStoneIndex() {
+        byte[] index = new byte[PROCESS_SIZE];
+        Arrays.fill(index, (byte) -1);
+        for (int i = 0; i < STONE_SLOTS.length; i++) {
+            index[STONE_SLOTS[i]] = (byte) i;
+        }
+        return index;
+    }
+
+    private static byte[] buildProcessActions() {
+        byte[] actions = new byte[PROCESS_SIZE];
+        for (int slot : STONE_SLOTS) {
+            actions[slot] = ACTION_STONE;
+        }
+        actions[SLOT_BUTTON] = ACTION_ENHANCE;
+        actions[SLOT_EXIT] = ACTION_EXIT;
+        return actions;
+    }
+
+    private ItemStack[] buildProcessTemplate() {
+        ItemStack[] layout = new ItemStack[PROCESS_SIZE];
+
+        // 테두리
+        for (int i = 0; i < 9; i++) layout[i] = borderGlass; // 상단
+        for (int i = 45; i < 54; i++) layout[i] = borderGlass; // 하단
+        for (int i = 9; i < 45; i += 9) layout[i] = borderGlass; // 좌측
+        for (int i = 17; i < 45; i += 9) layout[i] = borderGlass; // 우측
+
+        // 중앙 영역 배경
+        for (int row = 1; row < 5; row++) {
+            for (int col = 1; col < 8; col++) {
+                layout[row * 9 + col] = backgroundGlass;
+            }
+        }
+
+        layout[SLOT_TARGET_LABEL] = targetLabel;
+        for (int slot : STONE_SLOTS) {
+            layout[slot] = stoneSlot;
+        }
+        layout[SLOT_STONE_GUIDE] = stoneGuide;
+        layout[SLOT_EXIT] = exitButton;
+
+        // 채워질 자리
+        layout[SLOT_TARGET] = null;
+        layout[SLOT_INFO] = null;
+        layout[SLOT_BUTTON] = null;
+        return layout;
+    }
+
+    /**
+     * 강화 진행 GUI 기본 배치 (호출할 때마다 새 배열, 아이템은 공유)
+     */
+    ItemStack[] processLayout() {
+        return processTemplate.clone();
+    }
+
+    /**
+     * 인챈트 선택 GUI 빈칸 채우기용 유리판
+     */
+    ItemStack filler() {
+        return backgroundGlass;
+    }
+
+    ItemStack enhanceButton(boolean canEnhance) {
+        return canEnhance ? enhanceButtonReady : enhanceButtonBlocked;
+    }
+
+    private static ItemStack createItem(Material material, String name, List<String> lore) {
+        ItemStack item = new ItemStack(material);
+        ItemMeta meta = item.getItemMeta();
+        if (meta != null) {
+            meta.setDisplayName(name);
+            if (lore != null) {
+                meta.setLore(lore);
+            }
+            item.setItemMeta(meta);
+        }
+        return item;
+    }
+}
@@ -0,0 +1,63 @@
+package com.krangpq.toolenhancer.history;
+
+import com.krangpq.toolenhancer.managers.EnhanceManager;
+
+import java.util.UUID;
+
+/**
+ * 저널에서 읽어온 강화 기록 1건
+ */
+public final class HistoryEntry {
+
+    private final long recordNumber;
+    private final long timestamp;
+    private final UUID playerId;
+    private final String playerName;
+    private final String itemType;
+    private final String enchantment;
+    private final int fromLevel;
+    private final int toLevel;
+    private final int stones;
+    private final long attemptId;
+    private final double successRate;
+    private final double destroyRate;
+    private final double roll;
+    private final EnhanceManager.EnhanceResult.Type outcome;
+
+    HistoryEntry(long recordNumber, long timestamp, UUID playerId, String playerName, String itemType,
+                 String enchantment, int fromLevel, int toLevel, int stones, long attemptId, double successRate,
+                 double destroyRate, double roll, EnhanceManager.EnhanceResult.Type outcome) {
+        this.recordNumber = recordNumber;
+        this.timestamp = timestamp;
+        this.playerId = playerId;
+        this.playerName = playerName;
+        this.itemType = itemType;
+        this.enchantment = enchantment;
+        this.fromLevel = fromLevel;
+        this.toLevel = toLevel;
+        this.stones = stones;
+        this.attemptId = attemptId;
+        this.successRate = successRate;
+        this.destroyRate = destroyRate;
+        this.roll = roll;
+        this.outcome = outcome;
+    }
+
+    public long getRecordNumber() { return recordNumber; }
+    public long getTimestamp() { return timestamp; }
+    public UUID getPlayerId() { return playerId; }
+    public String getPlayerName() { return playerName; }
+    public String getItemType() { return itemType; }
+    public String getEnchantment() { return enchantment; }
+    public int getFromLevel() { return fromLevel; }
+    public int getToLevel() { return toLevel; }
+    public int getStones() { return stones; }
+
+    /** 강화 시도 번호 (판정하지 않은 기록은 0) */
+    public long getAttemptId() { return attemptId; }
+
+    public double getSuccessRate() { return successRate; }
+    public double getDestroyRate() { return destroyRate; }
+    public double getRoll() { return roll; }
+    public EnhanceManager.EnhanceResult.Type getOutcome() { return outcome; }
+}
@@ -0,0 +1,613 @@
+package com.krangpq.toolenhancer.history;
+
+import com.krangpq.toolenhancer.audit.AttemptListener;
+import com.krangpq.toolenhancer.audit.AuditRecord;
+import com.krangpq.toolenhancer.managers.EnhanceManager;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 강화 히스토리 저널 (추가 전용, 메모리 매핑 파일)
+ *
+ * <p>모든 강화 결과를 128바이트 고정 길이 레코드로 plugins/ToolEnhancer/history/journal-NNNNNN.dat 에 기록합니다.
+ * 세그먼트가 가득 차면 다음 번호 파일로 넘어가며, 다음 파일은 미리 비동기로 만들어 두므로
+ * 메인 스레드에서는 버퍼 쓰기만 일어납니다.
+ * 플레이어별로 최근 레코드 번호만 메모리에 인덱싱해 두므로, 조회 시에는 해당 레코드만 바로 읽습니다.</p>
+ *
+ * <p>레코드 번호 = (세그먼트 번호 &lt;&lt; 32) | 세그먼트 내 위치</p>
+ */
+public class HistoryJournal implements AttemptListener {
+
+    static final int RECORD_SIZE = 128;
+
+    private static final byte MAGIC = 0x7E;
+    private static final byte VERSION = 1;
+
+    // 레코드 레이아웃 (바이트 오프셋)
+    // 확률과 roll 은 double 그대로 저장 - 기록된 값으로 판정을 다시 계산하면 당시 결과와 정확히 같음
+    // 목표 레벨은 항상 시작 레벨 + 1 이므로 저장하지 않음
+    private static final int OFF_MAGIC = 0;
+    private static final int OFF_VERSION = 1;
+    private static final int OFF_OUTCOME = 2;
+    private static final int OFF_FROM = 4;   // short
+    private static final int OFF_STONES = 6; // 부호 없는 short
+    private static final int OFF_TIMESTAMP = 8;
+    private static final int OFF_UUID_MSB = 16;
+    private static final int OFF_UUID_LSB = 24;
+    private static final int OFF_SUCCESS = 32;
+    private static final int OFF_DESTROY = 40;
+    private static final int OFF_ROLL = 48;
+    private static final int OFF_NAME = 56;
+    private static final int LEN_NAME = 16;
+    private static final int OFF_ITEM = 72;
+    private static final int LEN_ITEM = 24;
+    private static final int OFF_ENCHANT = 96;
+    private static final int LEN_ENCHANT = 24;
+    private static final int OFF_ATTEMPT = 120;
+
+    private static final String MINECRAFT_PREFIX = "minecraft:";
+
+    private static final int MAX_CACHED_SEGMENTS = 8;
+
+    private final Plugin plugin;
+    private final File directory;
+    private final int recordsPerSegment;
+    private final int indexPerPlayer;
+    private final boolean enabled;
+
+    private final Object lock = new Object();
+
+    // 쓰기 상태 (lock 보호)
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int segmentNumber;
+    private int segmentCapacity;
+    private int slot;
+
+    // 미리 매핑해 둔 다음 세그먼트 (lock 보호) - 교체할 때 메인 스레드에서 파일을 만들거나 매핑하지 않도록
+    // 현재 세그먼트가 3/4 이상 차면 비동기로 준비함
+    private FileChannel nextChannel;
+    private MappedByteBuffer nextSegment;
+    private boolean preparingNext;
+    private boolean closed;
+
+    // 인덱스 (lock 보호)
+    private Map<UUID, PlayerIndex> index = new HashMap<>();
+    private Map<String, UUID> names = new HashMap<>();
+    private volatile boolean indexReady;
+
+    // 이전 세그먼트 읽기용 매핑 캐시 (lock 보호)
+    private final Map<Integer, ByteBuffer> readSegments = new LinkedHashMap<Integer, ByteBuffer>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, ByteBuffer> eldest) {
+            return size() > MAX_CACHED_SEGMENTS;
+        }
+    };
+
+    public HistoryJournal(Plugin plugin) {
+        this.plugin = plugin;
+        this.enabled = plugin.getConfig().getBoolean("history.enabled", true);
+        long segmentBytes = Math.max(1, plugin.getConfig().getLong("history.segment_size_mb", 8)) * 1024L * 1024L;
+        this.recordsPerSegment = (int) Math.min(Integer.MAX_VALUE / RECORD_SIZE, segmentBytes / RECORD_SIZE);
+        this.indexPerPlayer = Math.max(1, plugin.getConfig().getInt("history.index_per_player", 256));
+        this.directory = new File(plugin.getDataFolder(), "history");
+    }
+
+    /**
+     * 마지막 세그먼트를 열고, 기존 기록의 인덱스는 비동기로 구축
+     */
+    public void open() throws IOException {
+        if (!enabled) {
+            plugin.getLogger().info("강화 히스토리 비활성화됨 (history.enabled: false)");
+            return;
+        }
+
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("히스토리 폴더를 만들 수 없습니다: " + directory.getPath());
+        }
+
+        int[] existing = listSegments();
+        int startSegment;
+        int startSlot;
+
+        synchronized (lock) {
+            if (existing.length == 0) {
+                mapSegment(0);
+            } else {
+                mapSegment(existing[existing.length - 1]);
+                slot = findFirstEmptySlot(segment, segmentCapacity);
+                if (slot >= segmentCapacity) {
+                    rollover();
+                }
+            }
+            prepareNextIfNeeded();
+            startSegment = segmentNumber;
+            startSlot = slot;
+        }
+
+        plugin.getLogger().info("강화 히스토리 저널 열림 (세그먼트 " + startSegment + ", 위치 " + startSlot + ")");
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> buildIndex(existing, startSegment, startSlot));
+    }
+
+    /**
+     * 저널 닫기 (onDisable)
+     */
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            if (nextChannel != null) {
+                closeQuietly(nextChannel);
+                nextChannel = null;
+                nextSegment = null;
+            }
+            if (segment != null) {
+                segment.force();
+                segment = null;
+            }
+            closeChannel();
+            readSegments.clear();
+        }
+    }
+
+    @Override
+    public void onAttempt(AuditRecord record) {
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (lock) {
+            if (segment == null) {
+                return;
+            }
+
+            try {
+                if (slot >= segmentCapacity) {
+                    rollover();
+                }
+            } catch (IOException e) {
+                plugin.getLogger().severe("히스토리 세그먼트 교체 실패: " + e.getMessage());
+                return;
+            }
+
+            int base = slot * RECORD_SIZE;
+            ByteBuffer buf = segment;
+
+            UUID playerId = record.getPlayerId();
+            buf.put(base + OFF_VERSION, VERSION);
+            buf.put(base + OFF_OUTCOME, (byte) record.getOutcome().ordinal());
+            buf.putChar(base + OFF_STONES, (char) Math.min(record.getStones(), Character.MAX_VALUE));
+            buf.putLong(base + OFF_TIMESTAMP, record.getTimestamp());
+            buf.putLong(base + OFF_UUID_MSB, playerId != null ? playerId.getMostSignificantBits() : 0L);
+            buf.putLong(base + OFF_UUID_LSB, playerId != null ? playerId.getLeastSignificantBits() : 0L);
+            buf.putShort(base + OFF_FROM, (short) record.getFromLevel());
+            buf.putDouble(base + OFF_SUCCESS, record.getSuccessRate());
+            buf.putDouble(base + OFF_DESTROY, record.getDestroyRate());
+            buf.putDouble(base + OFF_ROLL, record.getRoll());
+            putAscii(buf, base + OFF_NAME, LEN_NAME, record.getPlayerName());
+            putAscii(buf, base + OFF_ITEM, LEN_ITEM, record.getItemType());
+            putAscii(buf, base + OFF_ENCHANT, LEN_ENCHANT, stripNamespace(record.getEnchantment()));
+            buf.putLong(base + OFF_ATTEMPT, record.getAttemptId());
+            // 매직 바이트는 마지막에 - 중간에 끊긴 레코드는 빈 칸으로 취급됨
+            buf.put(base + OFF_MAGIC, MAGIC);
+
+            if (playerId != null) {
+                addToIndex(index, names, playerId, record.getPlayerName(), recordNumber(segmentNumber, slot));
+            }
+            slot++;
+            prepareNextIfNeeded();
+        }
+    }
+
+    /**
+     * 플레이어의 최근 강화 기록 조회 (최신순)
+     *
+     * @param playerId 플레이어 UUID
+     * @param limit 최대 개수
+     * @return 기록 목록 (없으면 빈 목록)
+     */
+    public List<HistoryEntry> getRecent(UUID playerId, int limit) {
+        List<HistoryEntry> result = new ArrayList<>();
+        if (!enabled || playerId == null || limit <= 0) {
+            return result;
+        }
+
+        synchronized (lock) {
+            PlayerIndex playerIndex = index.get(playerId);
+            if (playerIndex == null) {
+                return result;
+            }
+
+            long[] numbers = playerIndex.newest(limit);
+            for (long number : numbers) {
+                try {
+                    HistoryEntry entry = read(number);
+                    if (entry != null) {
+                        result.add(entry);
+                    }
+                } catch (IOException e) {
+                    plugin.getLogger().warning("히스토리 레코드 읽기 실패 (#" + number + "): " + e.getMessage());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 저널에 기록된 이름으로 플레이어 UUID 찾기 (오프라인 플레이어 조회용)
+     */
+    public UUID findPlayerId(String name) {
+        if (name == null) {
+            return null;
+        }
+        synchronized (lock) {
+            return names.get(name.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    public boolean isIndexReady() {
+        return indexReady;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // ============================================
+    // 세그먼트 관리
+    // ============================================
+
+    private void mapSegment(int number) throws IOException {
+        closeChannel();
+
+        channel = openChannel(number);
+        segment = mapWritable(channel, number);
+        segmentNumber = number;
+        segmentCapacity = segment.capacity() / RECORD_SIZE;
+        slot = 0;
+    }
+
+    private FileChannel openChannel(int number) throws IOException {
+        return FileChannel.open(segmentFile(number).toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private MappedByteBuffer mapWritable(FileChannel fileChannel, int number) throws IOException {
+        long existingBytes = segmentFile(number).length();
+        // 기존 파일은 원래 크기를 유지 (설정이 바뀌어도 레코드 위치가 변하지 않도록)
+        long bytes = existingBytes > 0 ? existingBytes - (existingBytes % RECORD_SIZE)
+                : (long) recordsPerSegment * RECORD_SIZE;
+        return fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+    }
+
+    /**
+     * 다음 세그먼트로 교체
+     * 이전 세그먼트는 force 하지 않음 - 매핑된 내용은 운영체제가 디스크에 기록하며, 닫을 때만 force 함
+     */
+    private void rollover() throws IOException {
+        readSegments.remove(segmentNumber);
+
+        if (nextSegment != null) {
+            closeChannel();
+            channel = nextChannel;
+            segment = nextSegment;
+            segmentNumber++;
+            segmentCapacity = segment.capacity() / RECORD_SIZE;
+            slot = 0;
+            nextChannel = null;
+            nextSegment = null;
+        } else {
+            // 준비가 끝나기 전에 가득 찬 경우 (기록이 몰렸거나 시작 직후) 직접 매핑
+            mapSegment(segmentNumber + 1);
+        }
+        plugin.getLogger().info("강화 히스토리 새 세그먼트 시작: " + segmentFile(segmentNumber).getName());
+    }
+
+    /**
+     * 현재 세그먼트가 3/4 이상 찼으면 다음 세그먼트를 비동기로 만들어 매핑해 둠 (lock 안에서 호출)
+     */
+    private void prepareNextIfNeeded() {
+        if (preparingNext || nextSegment != null || closed
+                || slot < segmentCapacity - segmentCapacity / 4) {
+            return;
+        }
+
+        preparingNext = true;
+        int number = segmentNumber + 1;
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            FileChannel prepared = null;
+            MappedByteBuffer mapped = null;
+            try {
+                prepared = openChannel(number);
+                mapped = mapWritable(prepared, number);
+            } catch (IOException e) {
+                plugin.getLogger().warning("다음 히스토리 세그먼트 준비 실패 (교체 시 다시 시도): " + e.getMessage());
+            }
+
+            synchronized (lock) {
+                preparingNext = false;
+                // 그 사이에 직접 교체했거나 닫혔으면 버림
+                if (mapped != null && !closed && segmentNumber + 1 == number) {
+                    nextChannel = prepared;
+                    nextSegment = mapped;
+                } else if (prepared != null) {
+                    closeQuietly(prepared);
+                }
+            }
+        });
+    }
+
+    private void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+        closeQuietly(channel);
+        channel = null;
+    }
+
+    private void closeQuietly(FileChannel fileChannel) {
+        try {
+            fileChannel.close();
+        } catch (IOException e) {
+            plugin.getLogger().warning("히스토리 파일 닫기 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 레코드는 앞에서부터 채워지므로 첫 빈 칸은 이진 탐색으로 찾음
+     */
+    private static int findFirstEmptySlot(ByteBuffer buf, int capacity) {
+        int low = 0;
+        int high = capacity;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (buf.get(mid * RECORD_SIZE + OFF_MAGIC) == MAGIC) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private File segmentFile(int number) {
+        return new File(directory, String.format("journal-%06d.dat", number));
+    }
+
+    private int[] listSegments() {
+        File[] files = directory.listFiles((dir, name) -> name.startsWith("journal-") && name.endsWith(".dat"));
+        if (files == null) {
+            return new int[0];
+        }
+
+        int[] numbers = new int[files.length];
+        int count = 0;
+        for (File file : files) {
+            String name = file.getName();
+            try {
+                numbers[count] = Integer.parseInt(name.substring("journal-".length(), name.length() - ".dat".length()));
+                count++;
+            } catch (NumberFormatException ignored) {
+                // 다른 파일
+            }
+        }
+        numbers = Arrays.copyOf(numbers, count);
+        Arrays.sort(numbers);
+        return numbers;
+    }
+
+    private ByteBuffer segmentForRead(int number) throws IOException {
+        if (number == segmentNumber && segment != null) {
+            return segment;
+        }
+
+        ByteBuffer cached = readSegments.get(number);
+        if (cached != null) {
+            return cached;
+        }
+
+        ByteBuffer mapped = mapReadOnly(segmentFile(number));
+        readSegments.put(number, mapped);
+        return mapped;
+    }
+
+    private static ByteBuffer mapReadOnly(File file) throws IOException {
+        try (FileChannel readChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long bytes = readChannel.size() - (readChannel.size() % RECORD_SIZE);
+            return readChannel.map(FileChannel.MapMode.READ_ONLY, 0, bytes);
+        }
+    }
+
+    // ============================================
+    // 레코드 읽기 / 인덱스
+    // ============================================
+
+    private HistoryEntry read(long number) throws IOException {
+        int segmentNo = (int) (number >>> 32);
+        int recordSlot = (int) number;
+
+        ByteBuffer buf = segmentForRead(segmentNo);
+        int base = recordSlot * RECORD_SIZE;
+        if (base + RECORD_SIZE > buf.capacity() || buf.get(base + OFF_MAGIC) != MAGIC
+                || buf.get(base + OFF_VERSION) != VERSION) {
+            return null;
+        }
+
+        EnhanceManager.EnhanceResult.Type[] types = EnhanceManager.EnhanceResult.Type.values();
+        int outcome = buf.get(base + OFF_OUTCOME);
+        int fromLevel = buf.getShort(base + OFF_FROM);
+
+        return new HistoryEntry(number,
+                buf.getLong(base + OFF_TIMESTAMP),
+                new UUID(buf.getLong(base + OFF_UUID_MSB), buf.getLong(base + OFF_UUID_LSB)),
+                getAscii(buf, base + OFF_NAME, LEN_NAME),
+                getAscii(buf, base + OFF_ITEM, LEN_ITEM),
+                restoreNamespace(getAscii(buf, base + OFF_ENCHANT, LEN_ENCHANT)),
+                fromLevel,
+                fromLevel + 1,
+                buf.getChar(base + OFF_STONES),
+                buf.getLong(base + OFF_ATTEMPT),
+                buf.getDouble(base + OFF_SUCCESS),
+                buf.getDouble(base + OFF_DESTROY),
+                buf.getDouble(base + OFF_ROLL),
+                outcome >= 0 && outcome < types.length ? types[outcome] : EnhanceManager.EnhanceResult.Type.FAILED);
+    }
+
+    /**
+     * 서버 시작 전에 기록된 레코드로 인덱스 구축 (비동기)
+     * 구축 중 새로 기록된 레코드는 구축 결과 뒤에 이어 붙입니다.
+     */
+    private void buildIndex(int[] segments, int stopSegment, int stopSlot) {
+        long started = System.currentTimeMillis();
+        Map<UUID, PlayerIndex> scanned = new HashMap<>();
+        Map<String, UUID> scannedNames = new HashMap<>();
+        long total = 0;
+
+        for (int number : segments) {
+            if (number > stopSegment) {
+                break;
+            }
+            try {
+                ByteBuffer buf = mapReadOnly(segmentFile(number));
+                int capacity = buf.capacity() / RECORD_SIZE;
+                int limit = number == stopSegment ? Math.min(stopSlot, capacity) : capacity;
+
+                for (int i = 0; i < limit; i++) {
+                    int base = i * RECORD_SIZE;
+                    if (buf.get(base + OFF_MAGIC) != MAGIC) {
+                        break;
+                    }
+                    long msb = buf.getLong(base + OFF_UUID_MSB);
+                    long lsb = buf.getLong(base + OFF_UUID_LSB);
+                    if (msb == 0L && lsb == 0L) {
+                        continue;
+                    }
+                    addToIndex(scanned, scannedNames, new UUID(msb, lsb),
+                            getAscii(buf, base + OFF_NAME, LEN_NAME), recordNumber(number, i));
+                    total++;
+                }
+            } catch (IOException e) {
+                plugin.getLogger().warning("히스토리 세그먼트 읽기 실패 (" + number + "): " + e.getMessage());
+            }
+        }
+
+        synchronized (lock) {
+            // 구축 중에 추가된 기록이 더 최신이므로 뒤에 붙임
+            for (Map.Entry<UUID, PlayerIndex> entry : index.entrySet()) {
+                PlayerIndex target = scanned.computeIfAbsent(entry.getKey(), id -> new PlayerIndex(indexPerPlayer));
+                for (long number : entry.getValue().oldestFirst()) {
+                    target.add(number);
+                }
+            }
+            scannedNames.putAll(names);
+            index = scanned;
+            names = scannedNames;
+            indexReady = true;
+        }
+
+        plugin.getLogger().info("강화 히스토리 인덱스 구축 완료: " + total + "건, 플레이어 " + scanned.size() + "명 ("
+                + (System.currentTimeMillis() - started) + "ms)");
+    }
+
+    private void addToIndex(Map<UUID, PlayerIndex> target, Map<String, UUID> targetNames,
+                            UUID playerId, String name, long number) {
+        target.computeIfAbsent(playerId, id -> new PlayerIndex(indexPerPlayer)).add(number);
+        if (name != null && !name.isEmpty()) {
+            targetNames.put(name.toLowerCase(Locale.ROOT), playerId);
+        }
+    }
+
+    private static long recordNumber(int segmentNo, int recordSlot) {
+        return ((long) segmentNo << 32) | (recordSlot & 0xFFFFFFFFL);
+    }
+
+    // 바닐라 인챈트는 접두사 없이 저장 (가장 긴 바닐라 키도 24바이트에 들어감)
+    private static String stripNamespace(String key) {
+        return key != null && key.startsWith(MINECRAFT_PREFIX) ? key.substring(MINECRAFT_PREFIX.length()) : key;
+    }
+
+    private static String restoreNamespace(String key) {
+        return key.isEmpty() || key.indexOf(':') >= 0 ? key : MINECRAFT_PREFIX + key;
+    }
+
+    private static void putAscii(ByteBuffer buf, int offset, int length, String value) {
+        int written = 0;
+        if (value != null) {
+            byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+            written = Math.min(bytes.length, length);
+            for (int i = 0; i < written; i++) {
+                buf.put(offset + i, bytes[i]);
+            }
+        }
+        for (int i = written; i < length; i++) {
+            buf.put(offset + i, (byte) 0);
+        }
+    }
+
+    private static String getAscii(ByteBuffer buf, int offset, int length) {
+        byte[] bytes = new byte[length];
+        int size = 0;
+        while (size < length) {
+            byte b = buf.get(offset + size);
+            if (b == 0) {
+                break;
+            }
+            bytes[size++] = b;
+        }
+        return new String(bytes, 0, size, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * 플레이어별 최근 레코드 번호 (고정 크기 원형 배열)
+     */
+    private static final class PlayerIndex {
+        private final long[] numbers;
+        private int head; // 다음에 쓸 위치
+        private int size;
+
+        PlayerIndex(int capacity) {
+            this.numbers = new long[capacity];
+        }
+
+        void add(long number) {
+            numbers[head] = number;
+            head = (head + 1) % numbers.length;
+            if (size < numbers.length) {
+                size++;
+            }
+        }
+
+        long[] newest(int limit) {
+            int count = Math.min(limit, size);
+            long[] result = new long[count];
+            for (int i = 0; i < count; i++) {
+                result[i] = numbers[Math.floorMod(head - 1 - i, numbers.length)];
+            }
+            return result;
+        }
+
+        long[] oldestFirst() {
+            long[] result = new long[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = numbers[Math.floorMod(head - size + i, numbers.length)];
+            }
+            return result;
+        }
+    }
+}
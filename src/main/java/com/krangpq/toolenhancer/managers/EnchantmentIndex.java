@@ -0,0 +1,90 @@
+package com.krangpq.toolenhancer.managers;
+
+import org.bukkit.Material;
+import org.bukkit.Registry;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.ServerLoadEvent;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 아이템 종류별 적용 가능한 인챈트 색인
+ *
+ * <p>종류마다 처음 조회될 때 {@link Registry#ENCHANTMENT} 를 한 번 훑어 만들고,
+ * 이후에는 같은 배열을 그대로 돌려줍니다. 배열 순서는 레지스트리 순서를 따릅니다.</p>
+ *
+ * <p>색인은 서버 로드 이벤트(서버 시작, Bukkit /reload)와 /enhance reload 에서만 비웁니다.
+ * /minecraft:reload 로 데이터팩을 다시 불러오면 인챈트가 적용되는 아이템 태그가 바뀔 수 있지만
+ * Bukkit 에는 이를 알리는 이벤트가 없고, 인챈트 레지스트리 자체는 그대로라 크기 비교로도 알 수 없습니다.
+ * 따라서 데이터팩을 다시 불러온 뒤에는 /enhance reload 를 실행해야 합니다.</p>
+ */
+public class EnchantmentIndex implements Listener {
+
+    private static final Enchantment[] EMPTY = new Enchantment[0];
+
+    private final Map<Material, Enchantment[]> index = new ConcurrentHashMap<>();
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder builds = new LongAdder();
+
+    /**
+     * 해당 종류에 적용 가능한 인챈트 (반환된 배열은 수정하면 안 됨)
+     */
+    public Enchantment[] get(Material type) {
+        if (type == null || type.isAir()) {
+            return EMPTY;
+        }
+        lookups.increment();
+        return index.computeIfAbsent(type, key -> {
+            builds.increment();
+            return build(key);
+        });
+    }
+
+    /**
+     * 색인 비우기 (다음 조회 시 다시 생성)
+     */
+    public void invalidate() {
+        index.clear();
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /** 누적 조회 수 */
+    public long getLookups() {
+        return lookups.sum();
+    }
+
+    /** 누적 생성 수 (캐시 실패) */
+    public long getBuilds() {
+        return builds.sum();
+    }
+
+    @EventHandler
+    public void onServerLoad(ServerLoadEvent event) {
+        invalidate();
+        EnhanceableMaterials.clearTagCache();
+    }
+
+    private static Enchantment[] build(Material type) {
+        ItemStack probe = new ItemStack(type);
+        List<Enchantment> applicable = new ArrayList<>();
+
+        for (Enchantment enchantment : Registry.ENCHANTMENT) {
+            if (enchantment.canEnchantItem(probe)) {
+                applicable.add(enchantment);
+            }
+        }
+
+        return applicable.isEmpty() ? EMPTY : applicable.toArray(EMPTY);
+    }
+}
@@ -0,0 +1,200 @@
+package com.krangpq.toolenhancer.managers;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 기대 강화석 소모량 계산기 (정확한 값, 동적 계획법)
+ *
+ * <p>강화는 레벨 위의 마르코프 연쇄로 볼 수 있습니다. 성공하면 한 단계 오르고, 실패하면 그대로이며,
+ * 파괴되면 시작 레벨의 새 아이템으로 처음부터 다시 올립니다. 레벨 i 에서 강화석 s 개를 넣을 때
+ * 성공 확률 p, 파괴 확률 d 라면</p>
+ *
+ * <pre>
+ * E(i) = (s + p * E(i+1) + d * E(시작)) / (p + d),   E(목표) = 0
+ * </pre>
+ *
+ * <p>E(시작)이 식 안에 다시 나오므로, 레벨마다 최선의 s 를 고르는 정책 개선과
+ * 그 정책의 정확한 기대값 계산을 번갈아 반복합니다 (보통 몇 번 안에 정책이 더 바뀌지 않음).
+ * 강화석은 최소 필요 개수부터 보너스가 모두 포화되는 {@link RateTable#STONE_SATURATION} 개까지만 봅니다.</p>
+ *
+ * <p>결과는 확률표(설정 스냅샷)별로 캐시되며, 표가 교체되면 다음 조회 때 비워집니다.</p>
+ */
+public final class EnhanceCostSolver {
+
+    private static final int MAX_ITERATIONS = 64;
+
+    private volatile Snapshot snapshot;
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder computes = new LongAdder();
+
+    /**
+     * 시작 레벨에서 목표 레벨까지의 최적 계획 (캐시)
+     *
+     * @param rates 확률표
+     * @param vanillaMaxLevel 인챈트의 바닐라 최대 레벨
+     * @param fromLevel 시작 레벨 (파괴 시 돌아가는 레벨)
+     * @param toLevel 목표 레벨
+     * @return 계획, 인자가 잘못되었거나 최대 레벨을 넘으면 null
+     */
+    public Plan solve(RateTable rates, int vanillaMaxLevel, int fromLevel, int toLevel) {
+        if (rates == null || fromLevel < 0 || toLevel <= fromLevel
+                || toLevel > rates.getAbsoluteMaxLevel(vanillaMaxLevel)) {
+            return null;
+        }
+
+        Snapshot current = snapshot;
+        if (current == null || current.rates != rates) {
+            current = new Snapshot(rates);
+            snapshot = current;
+        }
+
+        long key = ((long) vanillaMaxLevel << 40) | ((long) fromLevel << 20) | toLevel;
+        lookups.increment();
+        return current.plans.computeIfAbsent(key, k -> {
+            computes.increment();
+            return compute(rates, vanillaMaxLevel, fromLevel, toLevel);
+        });
+    }
+
+    /**
+     * 캐시된 계획 수 (현재 확률표 기준)
+     */
+    public int size() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.plans.size();
+    }
+
+    /** 누적 조회 수 */
+    public long getLookups() {
+        return lookups.sum();
+    }
+
+    /** 누적 계산 수 (캐시 실패) */
+    public long getComputes() {
+        return computes.sum();
+    }
+
+    private static Plan compute(RateTable rates, int vanillaMaxLevel, int fromLevel, int toLevel) {
+        int span = toLevel - fromLevel;
+        int[] policy = new int[span];
+        double restart = 0.0; // E(시작) 추정치
+
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            // 정책 개선 - E(시작)을 고정하고 목표에서부터 거꾸로 레벨마다 최선의 개수 선택
+            boolean changed = false;
+            double next = 0.0;
+            for (int i = span - 1; i >= 0; i--) {
+                int level = fromLevel + i;
+                int minStones = rates.getMinRequiredStones(level + 1);
+                int maxStones = Math.max(minStones, RateTable.STONE_SATURATION);
+
+                double best = Double.POSITIVE_INFINITY;
+                int bestStones = minStones;
+                for (int stones = minStones; stones <= maxStones; stones++) {
+                    double p = rates.getSuccessRate(level, vanillaMaxLevel, stones);
+                    double d = rates.getDestroyRate(level, vanillaMaxLevel, stones);
+                    if (p <= 0.0) continue;
+
+                    double expected = (stones + p * next + d * restart) / (p + d);
+                    if (expected < best - 1e-12) {
+                        best = expected;
+                        bestStones = stones;
+                    }
+                }
+
+                if (Double.isInfinite(best)) {
+                    // 이 레벨은 어떤 개수로도 성공할 수 없음
+                    return Plan.unreachable(fromLevel, toLevel, rates);
+                }
+                if (policy[i] != bestStones) {
+                    policy[i] = bestStones;
+                    changed = true;
+                }
+                next = best;
+            }
+
+            // 정책 평가 - E(i) = a(i) + b(i) * E(시작) 꼴로 거꾸로 누적한 뒤 E(시작)을 풀어냄
+            double a = 0.0;
+            double b = 0.0;
+            for (int i = span - 1; i >= 0; i--) {
+                int level = fromLevel + i;
+                double p = rates.getSuccessRate(level, vanillaMaxLevel, policy[i]);
+                double d = rates.getDestroyRate(level, vanillaMaxLevel, policy[i]);
+                a = (policy[i] + p * a) / (p + d);
+                b = (p * b + d) / (p + d);
+            }
+            if (b >= 1.0 - 1e-15) {
+                return Plan.unreachable(fromLevel, toLevel, rates);
+            }
+            restart = a / (1.0 - b);
+
+            if (!changed && iteration > 0) {
+                break;
+            }
+        }
+
+        return new Plan(fromLevel, toLevel, restart, policy);
+    }
+
+    /**
+     * 확률표 하나에 대한 캐시
+     */
+    private static final class Snapshot {
+        private final RateTable rates;
+        private final Map<Long, Plan> plans = new ConcurrentHashMap<>();
+
+        Snapshot(RateTable rates) {
+            this.rates = rates;
+        }
+    }
+
+    /**
+     * 최적 계획 - 레벨별 추천 강화석 개수와 그때의 기대 소모량 (불변)
+     */
+    public static final class Plan {
+        private final int fromLevel;
+        private final int toLevel;
+        private final double expectedStones;
+        private final int[] stonesPerLevel;
+
+        Plan(int fromLevel, int toLevel, double expectedStones, int[] stonesPerLevel) {
+            this.fromLevel = fromLevel;
+            this.toLevel = toLevel;
+            this.expectedStones = expectedStones;
+            this.stonesPerLevel = stonesPerLevel;
+        }
+
+        static Plan unreachable(int fromLevel, int toLevel, RateTable rates) {
+            int[] stones = new int[toLevel - fromLevel];
+            for (int i = 0; i < stones.length; i++) {
+                stones[i] = rates.getMinRequiredStones(fromLevel + i + 1);
+            }
+            return new Plan(fromLevel, toLevel, Double.POSITIVE_INFINITY, stones);
+        }
+
+        public int getFromLevel() { return fromLevel; }
+        public int getToLevel() { return toLevel; }
+
+        /** 시작 레벨에서 목표 레벨까지 기대 강화석 소모량 (도달할 수 없으면 무한대) */
+        public double getExpectedStones() { return expectedStones; }
+
+        public boolean isReachable() { return !Double.isInfinite(expectedStones); }
+
+        /**
+         * 해당 레벨에서 다음 레벨로 시도할 때 넣을 추천 강화석 개수
+         *
+         * @param level 현재 레벨 (fromLevel 이상, toLevel 미만)
+         * @return 추천 개수, 범위를 벗어나면 -1
+         */
+        public int getStonesAt(int level) {
+            int index = level - fromLevel;
+            if (index < 0 || index >= stonesPerLevel.length) {
+                return -1;
+            }
+            return stonesPerLevel[index];
+        }
+    }
+}
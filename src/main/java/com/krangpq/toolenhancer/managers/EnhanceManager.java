@@ -1,31 +1,62 @@
 package com.krangpq.toolenhancer.managers;
 
+import com.krangpq.toolenhancer.audit.AttemptListener;
+import com.krangpq.toolenhancer.audit.AuditRecord;
+import com.krangpq.toolenhancer.config.EnhanceSettings;
+import com.krangpq.toolenhancer.managers.roll.RollSource;
+import com.krangpq.toolenhancer.managers.roll.RollSources;
+import com.krangpq.toolenhancer.metrics.jfr.EnhanceAttemptEvent;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.EnchantmentStorageMeta;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.plugin.Plugin;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class EnhanceManager {
 
     private final Plugin plugin;
-    private final Random random;
+    private final EnhanceStoneManager stoneManager;
+    private final EnchantmentIndex enchantmentIndex = new EnchantmentIndex();
+    private final RenderCache renderCache;
+    private final EnhanceCostSolver costSolver = new EnhanceCostSolver();
+    private final RollSource rollSource;
 
-    public EnhanceManager(Plugin plugin) {
+    // 강화 시도 기록 대상 (감사 로그, 히스토리 저널)
+    private final List<AttemptListener> attemptListeners = new CopyOnWriteArrayList<>();
+
+    public EnhanceManager(Plugin plugin, EnhanceStoneManager stoneManager) {
         if (plugin == null) {
             throw new IllegalArgumentException("plugin은 null일 수 없습니다!");
         }
+        if (stoneManager == null) {
+            throw new IllegalArgumentException("stoneManager는 null일 수 없습니다!");
+        }
 
         this.plugin = plugin;
-        this.random = new Random();
+        this.stoneManager = stoneManager;
+        this.renderCache = new RenderCache(plugin.getConfig().getInt("gui.render_cache_size", 512));
+        this.rollSource = RollSources.fromConfig(plugin.getConfig().getConfigurationSection("random"),
+                plugin.getDataFolder(), plugin.getLogger());
+        plugin.getLogger().info("- 강화 판정 난수: " + rollSource.getName());
 
         plugin.getLogger().info("EnhanceManager 초기화 완료");
     }
 
+    /**
+     * 강화 시도 기록 대상 등록
+     */
+    public void addAttemptListener(AttemptListener listener) {
+        if (listener != null) {
+            attemptListeners.add(listener);
+        }
+    }
+
     /**
      * 아이템이 강화 가능한지 확인
      *
@@ -37,35 +68,14 @@ public class EnhanceManager {
             return false;
         }
 
-        return isEnhantableItem(item.getType());
-    }
-
-    /**
-     * 인챈트 가능한 아이템인지 확인
-     */
-    private boolean isEnhantableItem(Material type) {
-        return type.toString().contains("SWORD") ||
-                type.toString().contains("AXE") ||
-                type.toString().contains("PICKAXE") ||
-                type.toString().contains("SHOVEL") ||
-                type.toString().contains("HOE") ||
-                type.toString().contains("HELMET") ||
-                type.toString().contains("CHESTPLATE") ||
-                type.toString().contains("LEGGINGS") ||
-                type.toString().contains("BOOTS") ||
-                type == Material.BOW ||
-                type == Material.CROSSBOW ||
-                type == Material.TRIDENT ||
-                type == Material.FISHING_ROD ||
-                type == Material.SHEARS ||
-                type == Material.FLINT_AND_STEEL;
+        return stoneManager.getSettings().getEnhanceableMaterials().contains(item.getType());
     }
 
     /**
      * 아이템에 적용할 수 있는 인챈트 목록 가져오기
      *
      * @param item 대상 아이템
-     * @return 적용 가능한 인챈트 Set
+     * @return 적용 가능한 인챈트 Set (레지스트리 순서)
      */
     public Set<Enchantment> getApplicableEnchantments(ItemStack item) {
         if (item == null) {
@@ -73,27 +83,21 @@ public class EnhanceManager {
             return new HashSet<>();
         }
 
-        Set<Enchantment> applicable = new HashSet<>();
-
         try {
-            for (Enchantment enchantment : Enchantment.values()) {
-                if (enchantment.canEnchantItem(item)) {
-                    applicable.add(enchantment);
-                }
-            }
+            return new LinkedHashSet<>(Arrays.asList(enchantmentIndex.get(item.getType())));
         } catch (Exception e) {
             plugin.getLogger().severe("적용 가능한 인챈트 조회 중 오류: " + e.getMessage());
             e.printStackTrace();
+            return new HashSet<>();
         }
-
-        return applicable;
     }
 
     /**
      * 아이템의 현재 인챈트와 적용 가능한 인챈트를 모두 가져오기
+     * 적용 가능한 인챈트 순서대로, 그 뒤에 적용 불가능하지만 이미 붙어 있는 인챈트가 옵니다.
      *
      * @param item 대상 아이템
-     * @return 인챈트와 레벨 Map
+     * @return 인챈트와 레벨 Map (없는 인챈트는 0)
      */
     public Map<Enchantment, Integer> getAllPossibleEnchantments(ItemStack item) {
         if (item == null) {
@@ -101,16 +105,24 @@ public class EnhanceManager {
             return new HashMap<>();
         }
 
-        Map<Enchantment, Integer> enchantments = new HashMap<>();
+        Map<Enchantment, Integer> enchantments = new LinkedHashMap<>();
 
         try {
-            if (item.hasItemMeta()) {
-                enchantments.putAll(item.getItemMeta().getEnchants());
+            Map<Enchantment, Integer> current = item.getEnchantments();
+            int matched = 0;
+
+            for (Enchantment ench : enchantmentIndex.get(item.getType())) {
+                Integer level = current.get(ench);
+                if (level != null) {
+                    matched++;
+                }
+                enchantments.put(ench, level != null ? level : 0);
             }
 
-            for (Enchantment ench : getApplicableEnchantments(item)) {
-                if (!enchantments.containsKey(ench)) {
-                    enchantments.put(ench, 0);
+            // 다른 플러그인 등이 붙인, 원래는 적용할 수 없는 인챈트
+            if (matched < current.size()) {
+                for (Map.Entry<Enchantment, Integer> entry : current.entrySet()) {
+                    enchantments.putIfAbsent(entry.getKey(), entry.getValue());
                 }
             }
         } catch (Exception e) {
@@ -121,6 +133,13 @@ public class EnhanceManager {
         return enchantments;
     }
 
+    /**
+     * 아이템 종류별 인챈트 색인 (데이터팩 리로드 시 비우기용)
+     */
+    public EnchantmentIndex getEnchantmentIndex() {
+        return enchantmentIndex;
+    }
+
     /**
      * 인챈트북 생성 (GUI용)
      *
@@ -136,37 +155,43 @@ public class EnhanceManager {
         }
 
         try {
-            ItemStack book = new ItemStack(Material.ENCHANTED_BOOK);
-            EnchantmentStorageMeta meta = (EnchantmentStorageMeta) book.getItemMeta();
+            RenderCache.Key key = new RenderCache.Key(RenderCache.KIND_BOOK, enchantment, currentLevel, nextLevel, 0);
+            return renderCache.get(key, stoneManager.getRateTable(),
+                    () -> renderEnchantmentBook(enchantment, currentLevel, nextLevel));
 
-            String enchantName = getKoreanEnchantName(enchantment);
-            meta.setDisplayName(ChatColor.AQUA + enchantName);
+        } catch (Exception e) {
+            plugin.getLogger().severe("인챈트북 생성 중 오류: " + e.getMessage());
+            e.printStackTrace();
+            return new ItemStack(Material.ENCHANTED_BOOK);
+        }
+    }
 
-            List<String> lore = new ArrayList<>();
-            lore.add(ChatColor.GRAY + "━━━━━━━━━━━━━━━━━━━━");
+    private ItemStack renderEnchantmentBook(Enchantment enchantment, int currentLevel, int nextLevel) {
+        ItemStack book = new ItemStack(Material.ENCHANTED_BOOK);
+        EnchantmentStorageMeta meta = (EnchantmentStorageMeta) book.getItemMeta();
 
-            if (currentLevel > 0) {
-                lore.add(ChatColor.WHITE + "현재 레벨: " + ChatColor.GREEN + getRomanNumeral(currentLevel));
-            } else {
-                lore.add(ChatColor.WHITE + "현재 레벨: " + ChatColor.RED + "없음");
-            }
-            lore.add(ChatColor.WHITE + "강화 후: " + ChatColor.GOLD + getRomanNumeral(nextLevel));
+        String enchantName = getKoreanEnchantName(enchantment);
+        meta.setDisplayName(ChatColor.AQUA + enchantName);
 
-            lore.add("");
-            lore.add(ChatColor.YELLOW + "클릭하여 이 인챈트를 선택");
-            lore.add(ChatColor.GRAY + "━━━━━━━━━━━━━━━━━━━━");
+        List<String> lore = new ArrayList<>();
+        lore.add(ChatColor.GRAY + "━━━━━━━━━━━━━━━━━━━━");
 
-            meta.setLore(lore);
-            meta.addStoredEnchant(enchantment, Math.max(1, currentLevel), true);
+        if (currentLevel > 0) {
+            lore.add(ChatColor.WHITE + "현재 레벨: " + ChatColor.GREEN + getRomanNumeral(currentLevel));
+        } else {
+            lore.add(ChatColor.WHITE + "현재 레벨: " + ChatColor.RED + "없음");
+        }
+        lore.add(ChatColor.WHITE + "강화 후: " + ChatColor.GOLD + getRomanNumeral(nextLevel));
 
-            book.setItemMeta(meta);
-            return book;
+        lore.add("");
+        lore.add(ChatColor.YELLOW + "클릭하여 이 인챈트를 선택");
+        lore.add(ChatColor.GRAY + "━━━━━━━━━━━━━━━━━━━━");
 
-        } catch (Exception e) {
-            plugin.getLogger().severe("인챈트북 생성 중 오류: " + e.getMessage());
-            e.printStackTrace();
-            return new ItemStack(Material.ENCHANTED_BOOK);
-        }
+        meta.setLore(lore);
+        meta.addStoredEnchant(enchantment, Math.max(1, currentLevel), true);
+
+        book.setItemMeta(meta);
+        return book;
     }
 
     /**
@@ -180,61 +205,93 @@ public class EnhanceManager {
         }
 
         try {
-            ItemStack paper = new ItemStack(Material.PAPER);
-            ItemMeta meta = paper.getItemMeta();
+            RateTable rates = stoneManager.getRateTable();
+            RenderCache.Key key = new RenderCache.Key(RenderCache.KIND_INFO_PAPER, enchantment,
+                    currentLevel, nextLevel, stoneCount);
+            return renderCache.get(key, rates,
+                    () -> renderEnhanceInfoPaper(enchantment, currentLevel, nextLevel, stoneCount, rates));
 
-            meta.setDisplayName(ChatColor.GOLD + "강화 정보");
+        } catch (Exception e) {
+            plugin.getLogger().severe("강화 정보 생성 중 오류: " + e.getMessage());
+            e.printStackTrace();
+            return new ItemStack(Material.PAPER);
+        }
+    }
 
-            List<String> lore = new ArrayList<>();
-            lore.add(ChatColor.GRAY + "━━━━━━━━━━━━━━━━━━━━");
-            lore.add(ChatColor.AQUA + "인챈트: " + getKoreanEnchantName(enchantment));
-            lore.add(ChatColor.WHITE + "현재 레벨: " + ChatColor.GREEN + getRomanNumeral(currentLevel));
-            lore.add(ChatColor.WHITE + "강화 후: " + ChatColor.GOLD + getRomanNumeral(nextLevel));
-            lore.add("");
+    private ItemStack renderEnhanceInfoPaper(Enchantment enchantment, int currentLevel, int nextLevel,
+                                             int stoneCount, RateTable rates) {
+        ItemStack paper = new ItemStack(Material.PAPER);
+        ItemMeta meta = paper.getItemMeta();
 
-            int vanillaMaxLevel = enchantment.getMaxLevel();
-            if (nextLevel > vanillaMaxLevel) {
-                lore.add(ChatColor.RED + "⚠ 바닐라 최대 레벨(" + vanillaMaxLevel + ")을 초과합니다!");
-                lore.add("");
-            }
+        meta.setDisplayName(ChatColor.GOLD + "강화 정보");
+
+        List<String> lore = new ArrayList<>();
+        lore.add(ChatColor.GRAY + "━━━━━━━━━━━━━━━━━━━━");
+        lore.add(ChatColor.AQUA + "인챈트: " + getKoreanEnchantName(enchantment));
+        lore.add(ChatColor.WHITE + "현재 레벨: " + ChatColor.GREEN + getRomanNumeral(currentLevel));
+        lore.add(ChatColor.WHITE + "강화 후: " + ChatColor.GOLD + getRomanNumeral(nextLevel));
+        lore.add("");
 
-            int minStones = stoneManager.getMinRequiredStones(nextLevel);
-            lore.add(ChatColor.YELLOW + "최소 강화석: " + minStones + "개");
-            lore.add(ChatColor.WHITE + "현재 강화석: " + stoneCount + "개");
+        int vanillaMaxLevel = enchantment.getMaxLevel();
+        if (nextLevel > vanillaMaxLevel) {
+            lore.add(ChatColor.RED + "⚠ 바닐라 최대 레벨(" + vanillaMaxLevel + ")을 초과합니다!");
             lore.add("");
+        }
 
-            if (stoneCount >= minStones) {
-                double baseRate = stoneManager.getBaseSuccessRate(currentLevel, vanillaMaxLevel);
-                double successRate = stoneManager.calculateSuccessRate(stoneCount, baseRate);
-                double destroyRate = stoneManager.calculateDestroyRate(stoneCount, nextLevel);
-
-                successRate = Math.max(0.0, Math.min(1.0, successRate));
-                destroyRate = Math.max(0.0, Math.min(1.0, destroyRate));
-                double failRate = Math.max(0.0, 1.0 - successRate - destroyRate);
-
-                lore.add(ChatColor.GREEN + "✓ 성공: " + String.format("%.1f%%", successRate * 100));
-                lore.add(ChatColor.YELLOW + "▼ 실패: " + String.format("%.1f%%", failRate * 100));
-                if (destroyRate > 0) {
-                    lore.add(ChatColor.RED + "✗ 파괴: " + String.format("%.1f%%", destroyRate * 100));
-                } else {
-                    lore.add(ChatColor.GRAY + "✗ 파괴 없음 (안전 구간)");
-                }
+        int minStones = rates.getMinRequiredStones(nextLevel);
+        lore.add(ChatColor.YELLOW + "최소 강화석: " + minStones + "개");
+
+        // 파괴 시 0레벨부터 다시 올리는 비용까지 포함한 기대 소모량이 가장 적은 개수
+        EnhanceCostSolver.Plan plan = costSolver.solve(rates, vanillaMaxLevel, 0, nextLevel);
+        if (plan != null && plan.isReachable()) {
+            lore.add(ChatColor.AQUA + "추천: " + plan.getStonesAt(currentLevel) + "개");
+        }
+        lore.add(ChatColor.WHITE + "현재 강화석: " + stoneCount + "개");
+        lore.add("");
+
+        if (stoneCount >= minStones) {
+            double successRate = rates.getSuccessRate(currentLevel, vanillaMaxLevel, stoneCount);
+            double destroyRate = rates.getDestroyRate(currentLevel, vanillaMaxLevel, stoneCount);
+            double failRate = rates.getFailRate(currentLevel, vanillaMaxLevel, stoneCount);
+
+            lore.add(ChatColor.GREEN + "✓ 성공: " + String.format("%.1f%%", successRate * 100));
+            lore.add(ChatColor.YELLOW + "▼ 실패: " + String.format("%.1f%%", failRate * 100));
+            if (destroyRate > 0) {
+                lore.add(ChatColor.RED + "✗ 파괴: " + String.format("%.1f%%", destroyRate * 100));
             } else {
-                lore.add(ChatColor.RED + "강화석이 부족합니다!");
-                lore.add(ChatColor.RED + "" + (minStones - stoneCount) + "개 더 필요");
+                lore.add(ChatColor.GRAY + "✗ 파괴 없음 (안전 구간)");
             }
+        } else {
+            lore.add(ChatColor.RED + "강화석이 부족합니다!");
+            lore.add(ChatColor.RED + "" + (minStones - stoneCount) + "개 더 필요");
+        }
 
-            lore.add(ChatColor.GRAY + "━━━━━━━━━━━━━━━━━━━━");
+        lore.add(ChatColor.GRAY + "━━━━━━━━━━━━━━━━━━━━");
 
-            meta.setLore(lore);
-            paper.setItemMeta(meta);
-            return paper;
+        meta.setLore(lore);
+        paper.setItemMeta(meta);
+        return paper;
+    }
 
-        } catch (Exception e) {
-            plugin.getLogger().severe("강화 정보 생성 중 오류: " + e.getMessage());
-            e.printStackTrace();
-            return new ItemStack(Material.PAPER);
-        }
+    /**
+     * 기대 강화석 소모량 계산기 (확률표별 캐시)
+     */
+    public EnhanceCostSolver getCostSolver() {
+        return costSolver;
+    }
+
+    /**
+     * 강화 판정 난수 공급원 (random 섹션, 서버 재시작 시 적용)
+     */
+    public RollSource getRollSource() {
+        return rollSource;
+    }
+
+    /**
+     * 인챈트북 / 강화 정보 렌더링 캐시 (적중률 확인용)
+     */
+    public RenderCache getRenderCache() {
+        return renderCache;
     }
 
     /**
@@ -281,67 +338,87 @@ public class EnhanceManager {
      */
     public EnhanceResult performEnhance(ItemStack item, Enchantment enchantment, int stoneCount,
                                         EnhanceStoneManager stoneManager) {
+        return performEnhance(null, item, enchantment, stoneCount, stoneManager);
+    }
+
+    /**
+     * 실제 강화 진행 (감사 로그에 플레이어 기록)
+     *
+     * @param player 강화하는 플레이어 (없으면 null)
+     * @param item 강화할 아이템
+     * @param enchantment 강화할 인챈트
+     * @param stoneCount 사용한 강화석 개수
+     * @param stoneManager 강화석 매니저
+     * @return 강화 결과
+     */
+    public EnhanceResult performEnhance(Player player, ItemStack item, Enchantment enchantment, int stoneCount,
+                                        EnhanceStoneManager stoneManager) {
+        // JFR 녹화가 꺼져 있으면 begin/end 는 아무 일도 하지 않음
+        EnhanceAttemptEvent event = new EnhanceAttemptEvent();
+        event.begin();
+
         // 파라미터 검증
         if (item == null) {
             plugin.getLogger().severe("performEnhance() 호출 오류: item이 null입니다!");
-            return new EnhanceResult(EnhanceResult.Type.FAILED,
+            finishError(event, player, null, enchantment, stoneCount);
+            return new EnhanceResult(EnhanceResult.Type.ERROR,
                     ChatColor.RED + "내부 오류가 발생했습니다.", null);
         }
 
         if (enchantment == null) {
             plugin.getLogger().severe("performEnhance() 호출 오류: enchantment가 null입니다!");
-            return new EnhanceResult(EnhanceResult.Type.FAILED,
+            finishError(event, player, item, null, stoneCount);
+            return new EnhanceResult(EnhanceResult.Type.ERROR,
                     ChatColor.RED + "내부 오류가 발생했습니다.", null);
         }
 
         if (stoneManager == null) {
             plugin.getLogger().severe("performEnhance() 호출 오류: stoneManager가 null입니다!");
-            return new EnhanceResult(EnhanceResult.Type.FAILED,
+            finishError(event, player, item, enchantment, stoneCount);
+            return new EnhanceResult(EnhanceResult.Type.ERROR,
                     ChatColor.RED + "내부 오류가 발생했습니다.", null);
         }
 
-        plugin.getLogger().info("강화 시작: " + getKoreanEnchantName(enchantment));
-
         try {
             int currentLevel = item.getEnchantmentLevel(enchantment);
             int nextLevel = currentLevel + 1;
 
             int vanillaMaxLevel = enchantment.getMaxLevel();
-            int absoluteMaxLevel = stoneManager.getAbsoluteMaxLevel(vanillaMaxLevel);
+            // 설정은 한 번만 가져옴 - 도중에 리로드되어도 이 강화는 같은 스냅샷으로 끝까지 진행
+            EnhanceSettings settings = stoneManager.getSettings();
+            RateTable rates = settings.getRateTable();
+            int absoluteMaxLevel = rates.getAbsoluteMaxLevel(vanillaMaxLevel);
 
             if (nextLevel > absoluteMaxLevel) {
-                plugin.getLogger().info("강화 실패: 최대 레벨 도달 (" + nextLevel + " > " + absoluteMaxLevel + ")");
+                audit(settings, player, item, enchantment, currentLevel, stoneCount, 0L, 0.0, 0.0, -1.0,
+                        EnhanceResult.Type.MAX_LEVEL, event);
                 return new EnhanceResult(EnhanceResult.Type.MAX_LEVEL,
                         ChatColor.RED + "더 이상 강화할 수 없습니다! 최대 레벨: " + absoluteMaxLevel, item);
             }
 
-            int minStones = stoneManager.getMinRequiredStones(nextLevel);
+            int minStones = rates.getMinRequiredStones(nextLevel);
             if (stoneCount < minStones) {
-                plugin.getLogger().info("강화 실패: 강화석 부족 (" + stoneCount + "/" + minStones + ")");
+                audit(settings, player, item, enchantment, currentLevel, stoneCount, 0L, 0.0, 0.0, -1.0,
+                        EnhanceResult.Type.INSUFFICIENT_MATERIALS, event);
                 return new EnhanceResult(EnhanceResult.Type.INSUFFICIENT_MATERIALS,
                         ChatColor.RED + "강화석이 부족합니다! (" + stoneCount + "/" + minStones + ")", item);
             }
 
-            double baseRate = stoneManager.getBaseSuccessRate(currentLevel, vanillaMaxLevel);
-            double successRate = stoneManager.calculateSuccessRate(stoneCount, baseRate);
-            double destroyRate = stoneManager.calculateDestroyRate(stoneCount, nextLevel);
-
-            successRate = Math.max(0.0, Math.min(1.0, successRate));
-            destroyRate = Math.max(0.0, Math.min(1.0, destroyRate));
+            double successRate = rates.getSuccessRate(currentLevel, vanillaMaxLevel, stoneCount);
+            double destroyRate = rates.getDestroyRate(currentLevel, vanillaMaxLevel, stoneCount);
 
-            plugin.getLogger().info(String.format("강화 시도 - %s 레벨: %d->%d, 성공률: %.1f%%, 파괴율: %.1f%%, 강화석: %d개",
-                    getKoreanEnchantName(enchantment), currentLevel, nextLevel,
-                    successRate * 100, destroyRate * 100, stoneCount));
-
-            double roll = random.nextDouble();
+            long attemptId = rollSource.nextAttemptId();
+            double roll = rollSource.roll(attemptId);
 
             if (roll < destroyRate) {
-                plugin.getLogger().info("강화 결과: 파괴 (roll: " + String.format("%.4f", roll) + " < " + String.format("%.4f", destroyRate) + ")");
+                audit(settings, player, item, enchantment, currentLevel, stoneCount, attemptId, successRate, destroyRate,
+                        roll, EnhanceResult.Type.DESTROYED, event);
                 return new EnhanceResult(EnhanceResult.Type.DESTROYED,
                         ChatColor.DARK_RED + "강화 실패로 아이템이 파괴되었습니다!", null);
 
             } else if (roll < destroyRate + successRate) {
-                plugin.getLogger().info("강화 결과: 성공 (roll: " + String.format("%.4f", roll) + ")");
+                audit(settings, player, item, enchantment, currentLevel, stoneCount, attemptId, successRate, destroyRate,
+                        roll, EnhanceResult.Type.SUCCESS, event);
                 ItemStack result = item.clone();
                 result.addUnsafeEnchantment(enchantment, nextLevel);
                 return new EnhanceResult(EnhanceResult.Type.SUCCESS,
@@ -349,7 +426,8 @@ public class EnhanceManager {
                                 getRomanNumeral(nextLevel) + " 획득!", result);
 
             } else {
-                plugin.getLogger().info("강화 결과: 실패 (roll: " + String.format("%.4f", roll) + ")");
+                audit(settings, player, item, enchantment, currentLevel, stoneCount, attemptId, successRate, destroyRate,
+                        roll, EnhanceResult.Type.FAILED, event);
                 return new EnhanceResult(EnhanceResult.Type.FAILED,
                         ChatColor.YELLOW + "강화에 실패했습니다. 아이템은 유지됩니다.", item);
             }
@@ -363,15 +441,147 @@ public class EnhanceManager {
             plugin.getLogger().severe("=========================================");
             e.printStackTrace();
 
-            return new EnhanceResult(EnhanceResult.Type.FAILED,
+            finishError(event, player, item, enchantment, stoneCount);
+            return new EnhanceResult(EnhanceResult.Type.ERROR,
                     ChatColor.RED + "강화 처리 중 오류가 발생했습니다.", item);
         }
     }
 
+    /**
+     * 자동 강화 - 목표 레벨에 도달하거나 멈춤 조건에 걸릴 때까지 같은 아이템으로 반복 시도
+     * 시도마다 {@link EnhanceCostSolver} 가 고른 추천 개수를 넣고, 남은 강화석이 그보다 적으면
+     * 최소 필요 개수 이상인 한 남은 만큼만 넣습니다. 각 시도는 일반 강화와 똑같이 기록되며,
+     * 인벤토리는 건드리지 않으므로 결과 아이템과 사용한 강화석은 호출한 쪽에서 한 번에 반영합니다.
+     *
+     * @param player 강화하는 플레이어 (없으면 null)
+     * @param item 강화할 아이템 (복사본을 넘길 것)
+     * @param enchantment 강화할 인챈트
+     * @param targetLevel 목표 레벨
+     * @param stoneBudget 사용할 수 있는 강화석 총 개수
+     * @param maxDestroyRate 다음 시도의 파괴 확률이 이 값보다 높으면 멈춤 (0.0 ~ 1.0)
+     * @param stoneManager 강화석 매니저
+     * @return 자동 강화 결과
+     */
+    public AutoEnhanceResult performAutoEnhance(Player player, ItemStack item, Enchantment enchantment,
+                                                int targetLevel, int stoneBudget, double maxDestroyRate,
+                                                EnhanceStoneManager stoneManager) {
+        int startLevel = item.getEnchantmentLevel(enchantment);
+        int vanillaMaxLevel = enchantment.getMaxLevel();
+        EnhanceCostSolver.Plan plan = costSolver.solve(stoneManager.getRateTable(), vanillaMaxLevel,
+                startLevel, Math.min(targetLevel, stoneManager.getRateTable().getAbsoluteMaxLevel(vanillaMaxLevel)));
+
+        ItemStack current = item;
+        int level = startLevel;
+        int attempts = 0;
+        int successes = 0;
+        int stonesUsed = 0;
+        double nextDestroyRate = 0.0;
+        AutoEnhanceResult.StopReason reason;
+
+        while (true) {
+            if (level >= targetLevel) {
+                reason = AutoEnhanceResult.StopReason.TARGET_REACHED;
+                break;
+            }
+
+            RateTable rates = stoneManager.getRateTable();
+            if (level + 1 > rates.getAbsoluteMaxLevel(vanillaMaxLevel)) {
+                reason = AutoEnhanceResult.StopReason.MAX_LEVEL;
+                break;
+            }
+
+            int minStones = rates.getMinRequiredStones(level + 1);
+            int recommended = plan != null && plan.isReachable() ? plan.getStonesAt(level) : minStones;
+            int stones = Math.min(Math.max(minStones, recommended), stoneBudget - stonesUsed);
+            if (stones < minStones) {
+                reason = AutoEnhanceResult.StopReason.OUT_OF_STONES;
+                break;
+            }
+
+            nextDestroyRate = rates.getDestroyRate(level, vanillaMaxLevel, stones);
+            if (nextDestroyRate > maxDestroyRate) {
+                reason = AutoEnhanceResult.StopReason.DESTROY_RISK;
+                break;
+            }
+
+            EnhanceResult result = performEnhance(player, current, enchantment, stones, stoneManager);
+            if (result.getType() == EnhanceResult.Type.ERROR) {
+                // 판정 전에 실패 - 이번 시도는 세지 않고 강화석도 차감하지 않음
+                reason = AutoEnhanceResult.StopReason.ERROR;
+                break;
+            }
+            attempts++;
+
+            if (result.getType() == EnhanceResult.Type.SUCCESS) {
+                stonesUsed += stones;
+                successes++;
+                current = result.getResultItem();
+                level++;
+            } else if (result.getType() == EnhanceResult.Type.FAILED) {
+                stonesUsed += stones;
+                current = result.getResultItem();
+            } else if (result.getType() == EnhanceResult.Type.DESTROYED) {
+                stonesUsed += stones;
+                current = null;
+                reason = AutoEnhanceResult.StopReason.DESTROYED;
+                break;
+            } else {
+                // 최대 레벨 / 재료 부족 판정 (강화석은 소모되지 않음)
+                attempts--;
+                reason = result.getType() == EnhanceResult.Type.MAX_LEVEL
+                        ? AutoEnhanceResult.StopReason.MAX_LEVEL
+                        : AutoEnhanceResult.StopReason.OUT_OF_STONES;
+                break;
+            }
+        }
+
+        return new AutoEnhanceResult(reason, current, startLevel, level, attempts, successes, stonesUsed,
+                nextDestroyRate);
+    }
+
+    /**
+     * 강화 시도 기록 - 등록된 기록 대상(감사 로그 등)에 전달하고, logging.console 이 켜져 있으면 콘솔에도 한 줄 출력
+     * 마지막으로 JFR 이벤트를 닫음 (녹화 중일 때만 커밋)
+     */
+    private void audit(EnhanceSettings settings, Player player, ItemStack item, Enchantment enchantment,
+                       int currentLevel, int stoneCount, long attemptId, double successRate, double destroyRate,
+                       double roll, EnhanceResult.Type outcome, EnhanceAttemptEvent event) {
+        AuditRecord record = new AuditRecord(System.currentTimeMillis(),
+                player != null ? player.getUniqueId() : null,
+                player != null ? player.getName() : null,
+                item.getType().name(), enchantment.getKey().toString(),
+                currentLevel, currentLevel + 1, stoneCount, attemptId, successRate, destroyRate, roll, outcome);
+
+        for (AttemptListener listener : attemptListeners) {
+            try {
+                listener.onAttempt(record);
+            } catch (Exception e) {
+                plugin.getLogger().warning("강화 기록 처리 중 오류: " + e.getMessage());
+            }
+        }
+
+        if (settings.isConsoleLogging()) {
+            plugin.getLogger().info(record.toConsoleLine());
+        }
+
+        event.finish(record);
+    }
+
+    /**
+     * 감사 기록 없이 끝난 시도의 JFR 이벤트 마무리 (내부 오류)
+     */
+    private void finishError(EnhanceAttemptEvent event, Player player, ItemStack item, Enchantment enchantment,
+                             int stoneCount) {
+        event.finishError(player != null ? player.getName() : null,
+                item != null ? item.getType().name() : null,
+                enchantment != null ? enchantment.getKey().toString() : null,
+                stoneCount);
+    }
+
     /**
      * 인챈트명 한글화
      */
-    private String getKoreanEnchantName(Enchantment enchantment) {
+    public String getKoreanEnchantName(Enchantment enchantment) {
         if (enchantment == null) return "알 수 없음";
 
         switch (enchantment.getKey().getKey()) {
@@ -413,8 +623,20 @@ public class EnhanceManager {
      * 강화 결과 클래스
      */
     public static class EnhanceResult {
+        /**
+         * 결과 종류 - SUCCESS / FAILED / DESTROYED 만 판정까지 진행된 결과이며 강화석이 소모됨
+         * MAX_LEVEL, INSUFFICIENT_MATERIALS, ERROR(예외나 잘못된 인자) 는 판정 전에 중단된 경우이므로
+         * 강화석을 소모하면 안 되고, 먼저 차감했다면 돌려줘야 함
+         */
         public enum Type {
-            SUCCESS, FAILED, DESTROYED, MAX_LEVEL, INSUFFICIENT_MATERIALS
+            SUCCESS, FAILED, DESTROYED, MAX_LEVEL, INSUFFICIENT_MATERIALS, ERROR;
+
+            /**
+             * 판정까지 진행되어 강화석이 소모되는 결과인지 확인
+             */
+            public boolean consumesStones() {
+                return this == SUCCESS || this == FAILED || this == DESTROYED;
+            }
         }
 
         private final Type type;
@@ -432,4 +654,45 @@ public class EnhanceManager {
         public ItemStack getResultItem() { return resultItem; }
         public boolean isSuccess() { return type == Type.SUCCESS; }
     }
-}
\ No newline at end of file
+
+    /**
+     * 자동 강화 결과 클래스
+     */
+    public static class AutoEnhanceResult {
+        public enum StopReason {
+            TARGET_REACHED, DESTROYED, OUT_OF_STONES, DESTROY_RISK, MAX_LEVEL, ERROR
+        }
+
+        private final StopReason stopReason;
+        private final ItemStack resultItem;
+        private final int startLevel;
+        private final int finalLevel;
+        private final int attempts;
+        private final int successes;
+        private final int stonesUsed;
+        private final double nextDestroyRate;
+
+        public AutoEnhanceResult(StopReason stopReason, ItemStack resultItem, int startLevel, int finalLevel,
+                                 int attempts, int successes, int stonesUsed, double nextDestroyRate) {
+            this.stopReason = stopReason;
+            this.resultItem = resultItem;
+            this.startLevel = startLevel;
+            this.finalLevel = finalLevel;
+            this.attempts = attempts;
+            this.successes = successes;
+            this.stonesUsed = stonesUsed;
+            this.nextDestroyRate = nextDestroyRate;
+        }
+
+        public StopReason getStopReason() { return stopReason; }
+        /** 최종 아이템 (파괴되었으면 null) */
+        public ItemStack getResultItem() { return resultItem; }
+        public int getStartLevel() { return startLevel; }
+        public int getFinalLevel() { return finalLevel; }
+        public int getAttempts() { return attempts; }
+        public int getSuccesses() { return successes; }
+        public int getStonesUsed() { return stonesUsed; }
+        /** 멈춘 시점에 다음 시도의 파괴 확률 (DESTROY_RISK 일 때 의미 있음) */
+        public double getNextDestroyRate() { return nextDestroyRate; }
+    }
+}
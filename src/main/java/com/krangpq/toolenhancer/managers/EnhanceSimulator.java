@@ -0,0 +1,358 @@
+package com.krangpq.toolenhancer.managers;
+
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 강화 몬테카를로 시뮬레이터
+ *
+ * <p>지정한 레벨 구간을 강화석 개수를 고정해 수많은 번 반복 시행하고, 목표 도달(또는 파괴)까지
+ * 쓴 강화석 개수의 분포를 구합니다. 시행은 전용 ForkJoinPool 에서 나눠 돌리며, 작업마다
+ * {@link SplittableRandom} 을 나눠 가지므로 스레드 간 공유 상태가 없습니다.</p>
+ *
+ * <p>확률은 시작 시점의 {@link RateTable} 스냅샷을 사용합니다 (실제 강화와 같은 표).
+ * 플러그인이 꺼지면 진행 중인 시뮬레이션은 취소됩니다.</p>
+ */
+public class EnhanceSimulator {
+
+    public static final int DEFAULT_TRIALS = 100_000;
+    public static final int MAX_TRIALS = 5_000_000;
+
+    // 동시에 돌릴 수 있는 시뮬레이션 수
+    private static final int MAX_RUNNING = 2;
+
+    // 시뮬레이션 전용 스레드 수 (서버 스레드와 다른 플러그인 몫의 코어를 남겨 둠)
+    private static final int MAX_PARALLELISM = 2;
+
+    // 작업 하나가 맡는 최대 시행 수 (이보다 크면 반으로 나눔)
+    private static final int SPLIT_THRESHOLD = 20_000;
+
+    // 취소 여부 확인 주기 (시행 수)
+    private static final int CANCEL_CHECK_MASK = 4095;
+
+    // 시행 하나의 최대 시도 횟수 (성공 확률이 0에 가까운 설정에서 끝나지 않는 것 방지)
+    private static final int MAX_ATTEMPTS_PER_TRIAL = 100_000;
+
+    private final Plugin plugin;
+    private final EnhanceStoneManager stoneManager;
+    private final ForkJoinPool pool;
+    private final AtomicInteger running = new AtomicInteger();
+    // 아직 끝나지 않은 결과 (종료 시 대기열에서 버려진 작업의 결과도 취소로 완료하기 위함)
+    private final Set<CompletableFuture<Result>> inFlight = ConcurrentHashMap.newKeySet();
+    private volatile boolean shutdown;
+
+    public EnhanceSimulator(Plugin plugin, EnhanceStoneManager stoneManager) {
+        this.plugin = plugin;
+        this.stoneManager = stoneManager;
+
+        int parallelism = Math.max(1, Math.min(MAX_PARALLELISM, Runtime.getRuntime().availableProcessors() - 1));
+        this.pool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("ToolEnhancer-Simulator-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * 시뮬레이션 시작 (비동기)
+     *
+     * @param enchantment 강화할 인챈트 (바닐라 최대 레벨 확인용)
+     * @param fromLevel 시작 레벨
+     * @param toLevel 목표 레벨
+     * @param stonesPerTry 시도마다 넣을 강화석 개수
+     * @param trials 시행 횟수
+     * @return 결과 (잘못된 인자는 IllegalArgumentException, 동시 실행 초과는 IllegalStateException,
+     *         종료 시에는 CancellationException 으로 실패)
+     */
+    public CompletableFuture<Result> simulate(Enchantment enchantment, int fromLevel, int toLevel,
+                                              int stonesPerTry, int trials) {
+        CompletableFuture<Result> future = new CompletableFuture<>();
+
+        RateTable rates = stoneManager.getRateTable();
+        String error = validate(rates, enchantment, fromLevel, toLevel, stonesPerTry, trials);
+        if (error != null) {
+            future.completeExceptionally(new IllegalArgumentException(error));
+            return future;
+        }
+
+        if (shutdown) {
+            future.completeExceptionally(new CancellationException("플러그인이 종료되었습니다."));
+            return future;
+        }
+
+        if (running.incrementAndGet() > MAX_RUNNING) {
+            running.decrementAndGet();
+            future.completeExceptionally(new IllegalStateException("이미 진행 중인 시뮬레이션이 많습니다. 잠시 후 다시 시도해주세요."));
+            return future;
+        }
+
+        // 레벨별 확률을 미리 뽑아 둠 (시행 중에는 배열만 읽음)
+        int span = toLevel - fromLevel;
+        int vanillaMaxLevel = enchantment.getMaxLevel();
+        double[] destroy = new double[span];
+        double[] successEnd = new double[span];
+        for (int i = 0; i < span; i++) {
+            int level = fromLevel + i;
+            destroy[i] = rates.getDestroyRate(level, vanillaMaxLevel, stonesPerTry);
+            successEnd[i] = destroy[i] + rates.getSuccessRate(level, vanillaMaxLevel, stonesPerTry);
+        }
+
+        inFlight.add(future);
+        future.whenComplete((result, t) -> inFlight.remove(future));
+
+        long startNanos = System.nanoTime();
+        SimulationTask task = new SimulationTask(destroy, successEnd, 0, trials, new SplittableRandom());
+
+        try {
+            pool.execute(() -> {
+                try {
+                    Tally tally = task.invoke();
+                    if (shutdown) {
+                        future.completeExceptionally(new CancellationException("플러그인이 종료되었습니다."));
+                    } else {
+                        future.complete(tally.toResult(fromLevel, toLevel, stonesPerTry,
+                                (System.nanoTime() - startNanos) / 1_000_000L));
+                    }
+                } catch (Throwable t) {
+                    plugin.getLogger().warning("시뮬레이션 중 오류: " + t.getMessage());
+                    future.completeExceptionally(t);
+                } finally {
+                    running.decrementAndGet();
+                }
+            });
+        } catch (Exception e) {
+            running.decrementAndGet();
+            future.completeExceptionally(new CancellationException("플러그인이 종료되었습니다."));
+        }
+
+        return future;
+    }
+
+    /**
+     * 인자 검증 - 실제 강화에서 거부되는 조합이면 이유를 돌려줌
+     */
+    private String validate(RateTable rates, Enchantment enchantment, int fromLevel, int toLevel,
+                            int stonesPerTry, int trials) {
+        if (enchantment == null) {
+            return "인챈트가 지정되지 않았습니다.";
+        }
+        if (fromLevel < 0 || toLevel <= fromLevel) {
+            return "목표 레벨은 시작 레벨보다 커야 합니다.";
+        }
+        if (trials < 1 || trials > MAX_TRIALS) {
+            return "시행 횟수는 1 ~ " + MAX_TRIALS + " 사이여야 합니다.";
+        }
+
+        int maxLevel = rates.getAbsoluteMaxLevel(enchantment.getMaxLevel());
+        if (toLevel > maxLevel) {
+            return "목표 레벨이 최대 레벨(" + maxLevel + ")을 넘습니다.";
+        }
+
+        int minRequired = rates.getMinRequiredStones(toLevel);
+        if (stonesPerTry < minRequired) {
+            // 최소 필요 개수는 레벨이 오를수록 커지므로 목표 레벨 기준으로 확인
+            return "강화석이 부족합니다. " + toLevel + "레벨 시도에는 최소 " + minRequired + "개가 필요합니다.";
+        }
+        return null;
+    }
+
+    /**
+     * 진행 중인 시뮬레이션 취소 및 스레드 정리 (플러그인 비활성화 시)
+     * 시작되지 못하고 대기열에서 버려진 작업의 결과도 CancellationException 으로 완료합니다.
+     */
+    public void shutdown() {
+        shutdown = true;
+        pool.shutdownNow();
+
+        for (CompletableFuture<Result> future : inFlight) {
+            future.completeExceptionally(new CancellationException("플러그인이 종료되었습니다."));
+        }
+    }
+
+    /**
+     * 시행 구간 하나 - 크면 반으로 나누고, 작으면 직접 돌림
+     */
+    private final class SimulationTask extends RecursiveTask<Tally> {
+        private final double[] destroy;
+        private final double[] successEnd;
+        private final int from;
+        private final int to;
+        private final SplittableRandom random;
+
+        SimulationTask(double[] destroy, double[] successEnd, int from, int to, SplittableRandom random) {
+            this.destroy = destroy;
+            this.successEnd = successEnd;
+            this.from = from;
+            this.to = to;
+            this.random = random;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from > SPLIT_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                SimulationTask left = new SimulationTask(destroy, successEnd, from, mid, random.split());
+                SimulationTask right = new SimulationTask(destroy, successEnd, mid, to, random.split());
+                left.fork();
+                Tally result = right.compute();
+                result.merge(left.join());
+                return result;
+            }
+            return run();
+        }
+
+        private Tally run() {
+            Tally tally = new Tally();
+            int span = destroy.length;
+
+            for (int trial = from; trial < to; trial++) {
+                if ((trial & CANCEL_CHECK_MASK) == 0 && shutdown) {
+                    break;
+                }
+
+                int step = 0;
+                int attempts = 0;
+                boolean destroyed = false;
+
+                while (step < span && attempts < MAX_ATTEMPTS_PER_TRIAL) {
+                    attempts++;
+                    double roll = random.nextDouble();
+                    if (roll < destroy[step]) {
+                        destroyed = true;
+                        break;
+                    } else if (roll < successEnd[step]) {
+                        step++;
+                    }
+                }
+
+                tally.add(attempts, destroyed, !destroyed && step < span);
+            }
+            return tally;
+        }
+    }
+
+    /**
+     * 작업별 집계 (합치기 전까지는 한 스레드만 사용)
+     * 시도 횟수별 히스토그램을 두고, 강화석 비용은 결과를 만들 때 곱해서 구함
+     */
+    private static final class Tally {
+        private long[] histogram = new long[64];
+        private long trials;
+        private long destroyed;
+        private long unfinished;
+        private long totalAttempts;
+        private int maxAttempts;
+
+        void add(int attempts, boolean wasDestroyed, boolean wasUnfinished) {
+            if (attempts >= histogram.length) {
+                histogram = Arrays.copyOf(histogram, Math.max(histogram.length * 2, attempts + 1));
+            }
+            histogram[attempts]++;
+            trials++;
+            totalAttempts += attempts;
+            maxAttempts = Math.max(maxAttempts, attempts);
+            if (wasDestroyed) destroyed++;
+            if (wasUnfinished) unfinished++;
+        }
+
+        void merge(Tally other) {
+            if (other.histogram.length > histogram.length) {
+                histogram = Arrays.copyOf(histogram, other.histogram.length);
+            }
+            for (int i = 0; i < other.histogram.length; i++) {
+                histogram[i] += other.histogram[i];
+            }
+            trials += other.trials;
+            destroyed += other.destroyed;
+            unfinished += other.unfinished;
+            totalAttempts += other.totalAttempts;
+            maxAttempts = Math.max(maxAttempts, other.maxAttempts);
+        }
+
+        int percentile(double p) {
+            long rank = Math.max(1, (long) Math.ceil(p * trials));
+            long seen = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                seen += histogram[i];
+                if (seen >= rank) {
+                    return i;
+                }
+            }
+            return maxAttempts;
+        }
+
+        Result toResult(int fromLevel, int toLevel, int stonesPerTry, long elapsedMillis) {
+            if (trials == 0) {
+                return new Result(fromLevel, toLevel, stonesPerTry, 0, 0.0, 0, 0, 0, 0, 0.0, 0.0, elapsedMillis);
+            }
+            long perTry = stonesPerTry;
+            return new Result(fromLevel, toLevel, stonesPerTry, trials,
+                    (double) totalAttempts * perTry / trials,
+                    percentile(0.50) * perTry, percentile(0.90) * perTry, percentile(0.99) * perTry,
+                    maxAttempts * perTry,
+                    (double) destroyed / trials, (double) unfinished / trials, elapsedMillis);
+        }
+    }
+
+    /**
+     * 시뮬레이션 결과 (강화석 비용은 목표 도달 또는 파괴까지 사용한 개수)
+     */
+    public static final class Result {
+        private final int fromLevel;
+        private final int toLevel;
+        private final int stonesPerTry;
+        private final long trials;
+        private final double meanStones;
+        private final long p50Stones;
+        private final long p90Stones;
+        private final long p99Stones;
+        private final long maxStones;
+        private final double destroyProbability;
+        private final double unfinishedProbability;
+        private final long elapsedMillis;
+
+        Result(int fromLevel, int toLevel, int stonesPerTry, long trials, double meanStones,
+               long p50Stones, long p90Stones, long p99Stones, long maxStones,
+               double destroyProbability, double unfinishedProbability, long elapsedMillis) {
+            this.fromLevel = fromLevel;
+            this.toLevel = toLevel;
+            this.stonesPerTry = stonesPerTry;
+            this.trials = trials;
+            this.meanStones = meanStones;
+            this.p50Stones = p50Stones;
+            this.p90Stones = p90Stones;
+            this.p99Stones = p99Stones;
+            this.maxStones = maxStones;
+            this.destroyProbability = destroyProbability;
+            this.unfinishedProbability = unfinishedProbability;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public int getFromLevel() { return fromLevel; }
+        public int getToLevel() { return toLevel; }
+        public int getStonesPerTry() { return stonesPerTry; }
+        public long getTrials() { return trials; }
+        public double getMeanStones() { return meanStones; }
+        public long getP50Stones() { return p50Stones; }
+        public long getP90Stones() { return p90Stones; }
+        public long getP99Stones() { return p99Stones; }
+        public long getMaxStones() { return maxStones; }
+        /** 목표에 도달하기 전에 파괴될 확률 */
+        public double getDestroyProbability() { return destroyProbability; }
+        /** 시도 횟수 한도에 걸려 끝나지 않은 비율 (보통 0) */
+        public double getUnfinishedProbability() { return unfinishedProbability; }
+        public long getElapsedMillis() { return elapsedMillis; }
+    }
+}
@@ -1,11 +1,13 @@
 package com.krangpq.toolenhancer.managers;
 
+import com.krangpq.toolenhancer.config.EnhanceSettings;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.ShapedRecipe;
 import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.plugin.Plugin;
 
 import java.util.Arrays;
@@ -16,30 +18,28 @@ public class EnhanceStoneManager {
     private final Plugin plugin;
     public static final String ENHANCE_STONE_KEY = "ENHANCE_STONE";
 
-    // config.yml에서 로드할 설정값들
-    private final boolean allowBeyondMax;
-    private final double maxLevelMultiplier;
-    private final int absoluteMaxLevel;
-    private final double severityScale;
-    private final double globalMinimumRate;
+    // 예전 버전 강화석 판별용 (이름 / API 숨김 태그)
+    private static final String LEGACY_DISPLAY_NAME = ChatColor.LIGHT_PURPLE + "강화석";
+    private static final String LEGACY_LORE_TAG = "§8§l[ENHANCEMENT_STONE]";
+
+    // 강화석 식별 키 (PersistentDataContainer)
+    private final NamespacedKey stoneKey;
+
+    // 정식 강화석 원본 - 생성 시에는 복제만 함
+    private final ItemStack prototype;
+
+    // 설정 스냅샷 - 리로드 시 volatile 쓰기 한 번으로 통째로 교체
+    private volatile EnhanceSettings settings;
 
     public EnhanceStoneManager(Plugin plugin) {
         this.plugin = plugin;
+        this.stoneKey = new NamespacedKey(plugin, "enhance_stone");
+        this.prototype = buildPrototype();
 
         try {
             // config.yml에서 설정 로드
-            this.allowBeyondMax = plugin.getConfig().getBoolean("success_rates.beyond_vanilla.allow_beyond_max", true);
-            this.maxLevelMultiplier = plugin.getConfig().getDouble("success_rates.beyond_vanilla.max_level_limit.max_multiplier", 2.0);
-            this.absoluteMaxLevel = plugin.getConfig().getInt("success_rates.beyond_vanilla.max_level_limit.absolute_max_level", 30);
-            this.severityScale = plugin.getConfig().getDouble("success_rates.beyond_vanilla.severity_scale", 1.0);
-            this.globalMinimumRate = plugin.getConfig().getDouble("success_rates.beyond_vanilla.global_minimum_rate", 0.01);
-
-            plugin.getLogger().info("강화 시스템 설정 로드 완료:");
-            plugin.getLogger().info("- 바닐라 최대 레벨 초과 허용: " + allowBeyondMax);
-            plugin.getLogger().info("- 최대 레벨 배수: " + maxLevelMultiplier);
-            plugin.getLogger().info("- 절대 최대 레벨: " + absoluteMaxLevel);
-            plugin.getLogger().info("- 난이도 배율: " + severityScale);
-            plugin.getLogger().info("- 전역 최소 성공률: " + (globalMinimumRate * 100) + "%");
+            this.settings = EnhanceSettings.load(plugin.getConfig(), plugin.getLogger());
+            settings.log(plugin.getLogger());
 
         } catch (Exception e) {
             plugin.getLogger().severe("=========================================");
@@ -51,6 +51,29 @@ public class EnhanceStoneManager {
         }
     }
 
+    /**
+     * 현재 설정 스냅샷 반환
+     * 한 작업 안에서 여러 값을 읽을 때는 이 스냅샷을 한 번만 가져와 사용해야 합니다.
+     *
+     * @return 현재 설정 스냅샷
+     */
+    public EnhanceSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * 새 설정 스냅샷 적용 (/enhance reload)
+     * 진행 중인 강화는 시작할 때 가져간 스냅샷을 끝까지 사용합니다.
+     *
+     * @param newSettings 검증이 끝난 새 스냅샷
+     */
+    public void applySettings(EnhanceSettings newSettings) {
+        if (newSettings == null) {
+            throw new IllegalArgumentException("newSettings는 null일 수 없습니다!");
+        }
+        this.settings = newSettings;
+    }
+
     /**
      * 강화석 아이템 생성
      *
@@ -63,11 +86,123 @@ public class EnhanceStoneManager {
             amount = 1;
         }
 
+        ItemStack stone = prototype.clone();
+        stone.setAmount(amount);
+        return stone;
+    }
+
+    /**
+     * 아이템이 강화석인지 확인
+     * 종류(NETHER_STAR)를 먼저 보고, 메타는 한 번만 읽어 PDC 키로 판별합니다.
+     *
+     * @param item 확인할 아이템
+     * @return 강화석이면 true
+     */
+    public boolean isEnhanceStone(ItemStack item) {
+        if (item == null || item.getType() != Material.NETHER_STAR || !item.hasItemMeta()) {
+            return false;
+        }
+
+        ItemMeta meta = item.getItemMeta();
+        return meta != null && meta.getPersistentDataContainer().has(stoneKey, PersistentDataType.BYTE);
+    }
+
+    /**
+     * 아이템 배열(인벤토리 내용물)에 들어 있는 강화석 개수
+     * 예전 방식 강화석은 배열 안에서 정식 강화석으로 바꾼 뒤 셉니다. (호출한 쪽에서 setContents 로 반영)
+     */
+    public int countEnhanceStones(ItemStack[] contents) {
+        migrateLegacyStones(contents);
+
+        int count = 0;
+        for (ItemStack item : contents) {
+            if (isEnhanceStone(item)) {
+                count += item.getAmount();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 아이템 배열에서 강화석을 앞쪽 칸부터 제거 (배열을 직접 수정)
+     * 예전 방식 강화석도 정식 강화석으로 바꾼 뒤 제거 대상에 포함합니다.
+     * 호출한 쪽에서 setContents 로 한 번에 반영합니다.
+     *
+     * @return 실제로 제거한 개수
+     */
+    public int removeEnhanceStones(ItemStack[] contents, int amount) {
+        migrateLegacyStones(contents);
+
+        int remaining = amount;
+        for (int i = 0; i < contents.length && remaining > 0; i++) {
+            ItemStack item = contents[i];
+            if (!isEnhanceStone(item)) continue;
+
+            int have = item.getAmount();
+            if (have <= remaining) {
+                contents[i] = null;
+                remaining -= have;
+            } else {
+                ItemStack rest = item.clone();
+                rest.setAmount(have - remaining);
+                contents[i] = rest;
+                remaining = 0;
+            }
+        }
+        return amount - remaining;
+    }
+
+    /**
+     * 아이템 배열 안의 예전 방식 강화석을 모두 정식 강화석으로 교체 (배열을 직접 수정)
+     *
+     * @return 교체한 칸 수
+     */
+    public int migrateLegacyStones(ItemStack[] contents) {
+        int migrated = 0;
+        for (int i = 0; i < contents.length; i++) {
+            ItemStack stone = migrateLegacyStone(contents[i]);
+            if (stone != null) {
+                contents[i] = stone;
+                migrated++;
+            }
+        }
+        return migrated;
+    }
+
+    /**
+     * 예전 방식(이름 또는 숨김 로어 태그)으로 만들어진 강화석을 정식 강화석으로 변환
+     *
+     * @param item 확인할 아이템
+     * @return 변환된 강화석 (개수 유지), 변환 대상이 아니면 null
+     */
+    public ItemStack migrateLegacyStone(ItemStack item) {
+        if (item == null || item.getType() != Material.NETHER_STAR || !item.hasItemMeta()) {
+            return null;
+        }
+
+        ItemMeta meta = item.getItemMeta();
+        if (meta == null || meta.getPersistentDataContainer().has(stoneKey, PersistentDataType.BYTE)) {
+            return null;
+        }
+
+        boolean legacy = meta.hasDisplayName() && meta.getDisplayName().equals(LEGACY_DISPLAY_NAME);
+        if (!legacy && meta.hasLore()) {
+            legacy = meta.getLore().contains(LEGACY_LORE_TAG);
+        }
+
+        return legacy ? createEnhanceStone(item.getAmount()) : null;
+    }
+
+    /**
+     * 정식 강화석 원본 생성 (한 번만 호출)
+     */
+    private ItemStack buildPrototype() {
+        ItemStack stone = new ItemStack(Material.NETHER_STAR, 1);
+
         try {
-            ItemStack stone = new ItemStack(Material.NETHER_STAR, amount);
             ItemMeta meta = stone.getItemMeta();
 
-            meta.setDisplayName(ChatColor.LIGHT_PURPLE + "강화석");
+            meta.setDisplayName(LEGACY_DISPLAY_NAME);
             List<String> lore = Arrays.asList(
                     ChatColor.GRAY + "도구와 장비를 강화할 때 사용되는",
                     ChatColor.GRAY + "신비한 돌입니다.",
@@ -79,34 +214,26 @@ public class EnhanceStoneManager {
             );
             meta.setLore(lore);
             meta.setCustomModelData(12345);
+            meta.getPersistentDataContainer().set(stoneKey, PersistentDataType.BYTE, (byte) 1);
 
             stone.setItemMeta(meta);
-            return stone;
 
         } catch (Exception e) {
             plugin.getLogger().severe("강화석 생성 중 오류: " + e.getMessage());
             e.printStackTrace();
-            return new ItemStack(Material.NETHER_STAR, amount);
         }
+
+        return stone;
     }
 
     /**
-     * 아이템이 강화석인지 확인
+     * 미리 계산된 확률표 반환
+     * 강화 진행, GUI, API의 확률 조회는 모두 이 표를 사용합니다.
      *
-     * @param item 확인할 아이템
-     * @return 강화석이면 true
+     * @return 현재 설정으로 생성된 확률표
      */
-    public boolean isEnhanceStone(ItemStack item) {
-        if (item == null || item.getType() != Material.NETHER_STAR) {
-            return false;
-        }
-
-        if (!item.hasItemMeta() || !item.getItemMeta().hasDisplayName()) {
-            return false;
-        }
-
-        String displayName = item.getItemMeta().getDisplayName();
-        return displayName.equals(ChatColor.LIGHT_PURPLE + "강화석");
+    public RateTable getRateTable() {
+        return settings.getRateTable();
     }
 
     /**
@@ -122,22 +249,7 @@ public class EnhanceStoneManager {
             return 0.0;
         }
 
-        try {
-            double safeBaseRate = Math.max(0.0, Math.min(1.0, baseRate));
-
-            // 강화석 1개당 5% 보너스, 최대 40% 보너스까지
-            double bonus = Math.min(stoneCount * 0.05, 0.40);
-
-            // 최종 성공률은 최대 95%까지
-            double finalRate = Math.min(safeBaseRate + bonus, 0.95);
-
-            return Math.max(0.0, finalRate);
-
-        } catch (Exception e) {
-            plugin.getLogger().severe("성공률 계산 중 오류: " + e.getMessage());
-            e.printStackTrace();
-            return 0.0;
-        }
+        return RateTable.computeSuccessRate(stoneCount, baseRate);
     }
 
     /**
@@ -148,32 +260,7 @@ public class EnhanceStoneManager {
      * @return 파괴 확률 (0.0~1.0)
      */
     public double calculateDestroyRate(int stoneCount, int level) {
-        if (level <= 3) {
-            return 0.0; // 안전 구간
-        }
-
-        try {
-            double baseDestroyRate;
-            if (level <= 5) {
-                baseDestroyRate = (level - 3) * 0.05;
-            } else if (level <= 7) {
-                baseDestroyRate = 0.10 + (level - 5) * 0.10;
-            } else if (level <= 10) {
-                baseDestroyRate = 0.30 + (level - 7) * 0.15;
-            } else {
-                baseDestroyRate = Math.min(0.90, 0.75 + (level - 10) * 0.05);
-            }
-
-            double reduction = Math.min(stoneCount * 0.02, 0.30);
-            double finalDestroyRate = Math.max(0.0, baseDestroyRate - reduction);
-
-            return Math.min(finalDestroyRate, 0.90);
-
-        } catch (Exception e) {
-            plugin.getLogger().severe("파괴율 계산 중 오류: " + e.getMessage());
-            e.printStackTrace();
-            return 0.0;
-        }
+        return RateTable.computeDestroyRate(stoneCount, level);
     }
 
     /**
@@ -184,41 +271,7 @@ public class EnhanceStoneManager {
      * @return 기본 성공률 (0.0~1.0)
      */
     public double getBaseSuccessRate(int currentLevel, int maxLevel) {
-        try {
-            if (currentLevel < 0) {
-                return 0.8; // 인챈트가 없는 경우
-            }
-
-            // 바닐라 최대 레벨까지는 상대적으로 쉽게
-            if (currentLevel < maxLevel) {
-                return Math.max(0.3, 0.8 - (currentLevel * 0.1));
-            }
-
-            // 바닐라 최대 레벨을 넘어가는 경우
-            int overLevel = currentLevel - maxLevel + 1;
-
-            // severityScale 적용
-            double baseReduction;
-            if (overLevel <= 3) {
-                baseReduction = overLevel * 0.05;
-            } else if (overLevel <= 6) {
-                baseReduction = 0.15 + (overLevel - 3) * 0.03;
-            } else {
-                baseReduction = 0.24;
-            }
-
-            // severityScale 적용
-            double scaledReduction = baseReduction * severityScale;
-            double rate = 0.3 - scaledReduction;
-
-            // globalMinimumRate 적용
-            return Math.max(globalMinimumRate, rate);
-
-        } catch (Exception e) {
-            plugin.getLogger().severe("기본 성공률 계산 중 오류: " + e.getMessage());
-            e.printStackTrace();
-            return 0.05; // 안전한 기본값
-        }
+        return settings.getRateTable().getBaseSuccessRate(currentLevel, maxLevel);
     }
 
     /**
@@ -228,26 +281,7 @@ public class EnhanceStoneManager {
      * @return 실제 최대 레벨
      */
     public int getAbsoluteMaxLevel(int vanillaMaxLevel) {
-        try {
-            if (!allowBeyondMax) {
-                return vanillaMaxLevel;
-            }
-
-            boolean limitEnabled = plugin.getConfig().getBoolean(
-                    "success_rates.beyond_vanilla.max_level_limit.enabled", false);
-
-            if (limitEnabled) {
-                int calculatedMax = (int) (vanillaMaxLevel * maxLevelMultiplier);
-                return Math.min(calculatedMax, absoluteMaxLevel);
-            } else {
-                return absoluteMaxLevel;
-            }
-
-        } catch (Exception e) {
-            plugin.getLogger().severe("최대 레벨 계산 중 오류: " + e.getMessage());
-            e.printStackTrace();
-            return vanillaMaxLevel * 2; // 안전한 기본값
-        }
+        return settings.getRateTable().getAbsoluteMaxLevel(vanillaMaxLevel);
     }
 
     /**
@@ -257,21 +291,7 @@ public class EnhanceStoneManager {
      * @return 최소 필요 개수
      */
     public int getMinRequiredStones(int level) {
-        if (level <= 0) {
-            return 1;
-        } else if (level <= 3) {
-            return 1;
-        } else if (level <= 6) {
-            return 2;
-        } else if (level <= 9) {
-            return 3;
-        } else if (level <= 12) {
-            return 5;
-        } else if (level <= 15) {
-            return 8;
-        } else {
-            return Math.min(15, 8 + (level - 15));
-        }
+        return settings.getRateTable().getMinRequiredStones(level);
     }
 
     /**
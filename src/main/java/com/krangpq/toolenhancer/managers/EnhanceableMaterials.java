@@ -0,0 +1,133 @@
+package com.krangpq.toolenhancer.managers;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Tag;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * 강화 가능한 아이템 종류 (불변)
+ *
+ * <p>아이템 태그(swords, head_armor 등)에 속한 종류에 config.yml 의 include 를 더하고 exclude 를 뺀 결과입니다.
+ * 설정 로드 시 한 번 만들어지며, 조회는 EnumSet 비트 검사 한 번입니다.</p>
+ *
+ * <p>태그 조회는 서버 API 이므로 {@link #build} 는 메인 스레드에서만 호출해야 합니다.
+ * 풀어낸 태그는 캐시해 두며, 캐시는 서버 로드 이벤트와 /enhance reload 에서 비웁니다.
+ * 이미 만들어진 종류 목록은 바뀌지 않으므로, 데이터팩을 다시 불러온 뒤에는 /enhance reload 를
+ * 실행해야 새 태그 내용이 반영됩니다.</p>
+ */
+public final class EnhanceableMaterials {
+
+    // 태그 이름 -> 태그에 속한 종류 (처음 조회 시 채워지고 clearTagCache 로 비움)
+    private static final Map<String, Set<Material>> TAG_CACHE = new ConcurrentHashMap<>();
+
+    private final EnumSet<Material> materials;
+    private final Set<Material> view;
+
+    private EnhanceableMaterials(EnumSet<Material> materials) {
+        this.materials = materials;
+        this.view = Collections.unmodifiableSet(materials);
+    }
+
+    /**
+     * 태그와 include / exclude 목록으로 생성 (메인 스레드 전용)
+     *
+     * @param tags 아이템 태그 이름 (minecraft 네임스페이스 생략 가능)
+     * @param include 추가할 Material 이름
+     * @param exclude 제외할 Material 이름
+     * @param logger 경고 출력용 로거
+     */
+    public static EnhanceableMaterials build(List<String> tags, List<String> include, List<String> exclude,
+                                             Logger logger) {
+        EnumSet<Material> result = EnumSet.noneOf(Material.class);
+
+        for (String tagName : tags) {
+            Set<Material> values = resolveTag(tagName);
+            if (values == null) {
+                logger.warning("알 수 없는 아이템 태그입니다: " + tagName);
+                continue;
+            }
+            result.addAll(values);
+        }
+
+        for (String name : include) {
+            Material material = Material.matchMaterial(name);
+            if (material == null || !material.isItem()) {
+                // 서버 버전에 따라 없는 아이템일 수 있음 (예: MACE)
+                logger.warning("enhanceable_items.include: 알 수 없는 아이템입니다: " + name);
+                continue;
+            }
+            result.add(material);
+        }
+
+        for (String name : exclude) {
+            Material material = Material.matchMaterial(name);
+            if (material == null) {
+                logger.warning("enhanceable_items.exclude: 알 수 없는 아이템입니다: " + name);
+                continue;
+            }
+            result.remove(material);
+        }
+
+        result.remove(Material.AIR);
+        return new EnhanceableMaterials(result);
+    }
+
+    /**
+     * 강화 가능한 종류인지 확인
+     */
+    public boolean contains(Material type) {
+        return type != null && materials.contains(type);
+    }
+
+    /**
+     * 강화 가능한 종류 전체 (수정 불가)
+     */
+    public Set<Material> asSet() {
+        return view;
+    }
+
+    public int size() {
+        return materials.size();
+    }
+
+    /**
+     * 캐시된 태그 내용 비우기 (다음 생성 시 서버에서 다시 조회)
+     */
+    public static void clearTagCache() {
+        TAG_CACHE.clear();
+    }
+
+    private static Set<Material> resolveTag(String tagName) {
+        NamespacedKey key = tagName.indexOf(':') >= 0
+                ? NamespacedKey.fromString(tagName)
+                : NamespacedKey.minecraft(tagName);
+        if (key == null) {
+            return null;
+        }
+
+        Set<Material> cached = TAG_CACHE.get(key.toString());
+        if (cached != null) {
+            return cached;
+        }
+
+        Tag<Material> tag = Bukkit.getTag(Tag.REGISTRY_ITEMS, key, Material.class);
+        if (tag == null) {
+            return null;
+        }
+
+        Set<Material> values = EnumSet.noneOf(Material.class);
+        values.addAll(tag.getValues());
+        Set<Material> resolved = Collections.unmodifiableSet(values);
+        TAG_CACHE.put(key.toString(), resolved);
+        return resolved;
+    }
+}
@@ -0,0 +1,291 @@
+package com.krangpq.toolenhancer.managers;
+
+import com.krangpq.toolenhancer.managers.curve.SuccessCurve;
+
+/**
+ * 미리 계산된 강화 확률표 (불변)
+ *
+ * <p>설정 로드 시 한 번만 생성되며, 이후 모든 확률 조회는 배열 인덱싱으로 처리됩니다.
+ * 성공/파괴/실패 확률은 (현재 레벨, 바닐라 최대 레벨, 강화석 개수) 순서의
+ * 1차원 배열에 저장됩니다.</p>
+ *
+ * <p>바닐라 최대 레벨 초과 구간의 기본 성공률은 {@link SuccessCurve}로 결정되며,
+ * 생성 시점에 레벨별로 평가되어 표에 들어갑니다.</p>
+ *
+ * <p>표 범위를 벗어나는 값(외부에서 과도하게 인챈트된 아이템 등)은
+ * 같은 공식으로 즉석 계산하므로 결과는 항상 동일합니다.</p>
+ */
+public final class RateTable {
+
+    /**
+     * 강화석 보너스가 모두 포화되는 개수
+     * (성공률 보너스는 8개에서 +40%, 파괴율 감소는 15개에서 -30%로 최대치)
+     */
+    public static final int STONE_SATURATION = 15;
+
+    private final boolean allowBeyondMax;
+    private final boolean limitEnabled;
+    private final double maxLevelMultiplier;
+    private final int absoluteMaxLevel;
+    private final double severityScale;
+    private final double globalMinimumRate;
+    private final SuccessCurve curve;
+
+    // 표 크기
+    private final int levelSpan;    // 현재 레벨 0 ~ absoluteMaxLevel
+    private final int vanillaSpan;  // 바닐라 최대 레벨 1 ~ absoluteMaxLevel + 1
+    private final int stoneSpan;    // 강화석 0 ~ STONE_SATURATION
+
+    // [현재 레벨][바닐라 최대][강화석]
+    private final double[] success;
+    private final double[] destroy;
+    private final double[] fail;
+
+    // [현재 레벨][바닐라 최대]
+    private final double[] baseSuccess;
+
+    // [목표 레벨] (0 ~ absoluteMaxLevel + 1)
+    private final int[] minStones;
+
+    // [바닐라 최대]
+    private final int[] maxLevels;
+
+    public RateTable(boolean allowBeyondMax, boolean limitEnabled, double maxLevelMultiplier,
+                     int absoluteMaxLevel, double severityScale, double globalMinimumRate,
+                     SuccessCurve curve) {
+        this.allowBeyondMax = allowBeyondMax;
+        this.limitEnabled = limitEnabled;
+        this.maxLevelMultiplier = maxLevelMultiplier;
+        this.absoluteMaxLevel = absoluteMaxLevel;
+        this.severityScale = severityScale;
+        this.globalMinimumRate = globalMinimumRate;
+        this.curve = curve;
+
+        this.levelSpan = Math.max(1, absoluteMaxLevel + 1);
+        this.vanillaSpan = levelSpan;
+        this.stoneSpan = STONE_SATURATION + 1;
+
+        this.success = new double[levelSpan * vanillaSpan * stoneSpan];
+        this.destroy = new double[success.length];
+        this.fail = new double[success.length];
+        this.baseSuccess = new double[levelSpan * vanillaSpan];
+        this.minStones = new int[levelSpan + 1];
+        this.maxLevels = new int[vanillaSpan];
+
+        for (int level = 0; level < minStones.length; level++) {
+            minStones[level] = computeMinRequiredStones(level);
+        }
+
+        for (int v = 0; v < vanillaSpan; v++) {
+            maxLevels[v] = computeAbsoluteMaxLevel(v + 1);
+        }
+
+        for (int current = 0; current < levelSpan; current++) {
+            for (int v = 0; v < vanillaSpan; v++) {
+                double base = computeBaseSuccessRate(current, v + 1);
+                baseSuccess[current * vanillaSpan + v] = base;
+
+                int row = (current * vanillaSpan + v) * stoneSpan;
+                for (int stones = 0; stones < stoneSpan; stones++) {
+                    double s = clamp(computeSuccessRate(stones, base));
+                    double d = clamp(computeDestroyRate(stones, current + 1));
+                    success[row + stones] = s;
+                    destroy[row + stones] = d;
+                    fail[row + stones] = Math.max(0.0, 1.0 - s - d);
+                }
+            }
+        }
+    }
+
+    // ============================================
+    // 조회 (핫 패스)
+    // ============================================
+
+    /**
+     * 최종 성공률 (강화석 보너스 포함, 0.0~1.0)
+     */
+    public double getSuccessRate(int currentLevel, int vanillaMaxLevel, int stoneCount) {
+        int index = index(currentLevel, vanillaMaxLevel, stoneCount);
+        if (index < 0) {
+            return clamp(computeSuccessRate(stoneCount, computeBaseSuccessRate(currentLevel, vanillaMaxLevel)));
+        }
+        return success[index];
+    }
+
+    /**
+     * 파괴 확률 (0.0~1.0)
+     */
+    public double getDestroyRate(int currentLevel, int vanillaMaxLevel, int stoneCount) {
+        int index = index(currentLevel, vanillaMaxLevel, stoneCount);
+        if (index < 0) {
+            return clamp(computeDestroyRate(stoneCount, currentLevel + 1));
+        }
+        return destroy[index];
+    }
+
+    /**
+     * 실패(아이템 유지) 확률 (0.0~1.0)
+     */
+    public double getFailRate(int currentLevel, int vanillaMaxLevel, int stoneCount) {
+        int index = index(currentLevel, vanillaMaxLevel, stoneCount);
+        if (index < 0) {
+            return Math.max(0.0, 1.0 - getSuccessRate(currentLevel, vanillaMaxLevel, stoneCount)
+                    - getDestroyRate(currentLevel, vanillaMaxLevel, stoneCount));
+        }
+        return fail[index];
+    }
+
+    /**
+     * 강화석 보너스 적용 전 기본 성공률
+     */
+    public double getBaseSuccessRate(int currentLevel, int vanillaMaxLevel) {
+        if (currentLevel < 0 || currentLevel >= levelSpan || vanillaMaxLevel < 1) {
+            return computeBaseSuccessRate(currentLevel, vanillaMaxLevel);
+        }
+        int v = Math.min(vanillaMaxLevel, vanillaSpan) - 1;
+        return baseSuccess[currentLevel * vanillaSpan + v];
+    }
+
+    /**
+     * 최소 필요 강화석 개수
+     *
+     * @param level 강화하려는 레벨 (현재 레벨 + 1)
+     */
+    public int getMinRequiredStones(int level) {
+        if (level < 0 || level >= minStones.length) {
+            return computeMinRequiredStones(level);
+        }
+        return minStones[level];
+    }
+
+    /**
+     * 실제 최대 레벨 (config.yml 설정 반영)
+     */
+    public int getAbsoluteMaxLevel(int vanillaMaxLevel) {
+        if (vanillaMaxLevel < 1 || vanillaMaxLevel > vanillaSpan) {
+            return computeAbsoluteMaxLevel(vanillaMaxLevel);
+        }
+        return maxLevels[vanillaMaxLevel - 1];
+    }
+
+    public int getConfiguredMaxLevel() {
+        return absoluteMaxLevel;
+    }
+
+    public SuccessCurve getCurve() {
+        return curve;
+    }
+
+    /**
+     * 평탄화된 배열 인덱스, 표 범위 밖이면 -1
+     *
+     * <p>강화석 개수는 포화 지점에서, 바닐라 최대 레벨은 현재 레벨 + 1 에서
+     * 결과가 더 이상 변하지 않으므로 잘라서 사용합니다.</p>
+     */
+    private int index(int currentLevel, int vanillaMaxLevel, int stoneCount) {
+        if (currentLevel < 0 || currentLevel >= levelSpan || vanillaMaxLevel < 1 || stoneCount < 0) {
+            return -1;
+        }
+        int v = Math.min(vanillaMaxLevel, vanillaSpan) - 1;
+        int stones = Math.min(stoneCount, STONE_SATURATION);
+        return (currentLevel * vanillaSpan + v) * stoneSpan + stones;
+    }
+
+    private static double clamp(double rate) {
+        return Math.max(0.0, Math.min(1.0, rate));
+    }
+
+    // ============================================
+    // 공식 (표 생성 및 범위 밖 조회용)
+    // ============================================
+
+    double computeBaseSuccessRate(int currentLevel, int maxLevel) {
+        if (currentLevel < 0) {
+            return 0.8; // 인챈트가 없는 경우
+        }
+
+        // 바닐라 최대 레벨까지는 상대적으로 쉽게
+        if (currentLevel < maxLevel) {
+            return Math.max(0.3, 0.8 - (currentLevel * 0.1));
+        }
+
+        // 바닐라 최대 레벨을 넘어가는 경우
+        int overLevel = currentLevel - maxLevel + 1;
+        double curveRate = curve.rate(overLevel, currentLevel + 1);
+
+        // severityScale 적용 (기준점으로부터의 감소폭에 곱함)
+        double scaledReduction = (SuccessCurve.ANCHOR_RATE - curveRate) * severityScale;
+        double rate = SuccessCurve.ANCHOR_RATE - scaledReduction;
+
+        // globalMinimumRate 적용
+        return Math.max(globalMinimumRate, Math.min(1.0, rate));
+    }
+
+    static double computeSuccessRate(int stoneCount, double baseRate) {
+        if (stoneCount <= 0) {
+            return 0.0;
+        }
+
+        double safeBaseRate = Math.max(0.0, Math.min(1.0, baseRate));
+
+        // 강화석 1개당 5% 보너스, 최대 40% 보너스까지
+        double bonus = Math.min(stoneCount * 0.05, 0.40);
+
+        // 최종 성공률은 최대 95%까지
+        double finalRate = Math.min(safeBaseRate + bonus, 0.95);
+
+        return Math.max(0.0, finalRate);
+    }
+
+    static double computeDestroyRate(int stoneCount, int level) {
+        if (level <= 3) {
+            return 0.0; // 안전 구간
+        }
+
+        double baseDestroyRate;
+        if (level <= 5) {
+            baseDestroyRate = (level - 3) * 0.05;
+        } else if (level <= 7) {
+            baseDestroyRate = 0.10 + (level - 5) * 0.10;
+        } else if (level <= 10) {
+            baseDestroyRate = 0.30 + (level - 7) * 0.15;
+        } else {
+            baseDestroyRate = Math.min(0.90, 0.75 + (level - 10) * 0.05);
+        }
+
+        double reduction = Math.min(Math.max(0, stoneCount) * 0.02, 0.30);
+        double finalDestroyRate = Math.max(0.0, baseDestroyRate - reduction);
+
+        return Math.min(finalDestroyRate, 0.90);
+    }
+
+    static int computeMinRequiredStones(int level) {
+        if (level <= 0) {
+            return 1;
+        } else if (level <= 3) {
+            return 1;
+        } else if (level <= 6) {
+            return 2;
+        } else if (level <= 9) {
+            return 3;
+        } else if (level <= 12) {
+            return 5;
+        } else if (level <= 15) {
+            return 8;
+        } else {
+            return Math.min(15, 8 + (level - 15));
+        }
+    }
+
+    int computeAbsoluteMaxLevel(int vanillaMaxLevel) {
+        if (!allowBeyondMax) {
+            return vanillaMaxLevel;
+        }
+
+        if (limitEnabled) {
+            int calculatedMax = (int) (vanillaMaxLevel * maxLevelMultiplier);
+            return Math.min(calculatedMax, absoluteMaxLevel);
+        }
+        return absoluteMaxLevel;
+    }
+}
@@ -0,0 +1,131 @@
+package com.krangpq.toolenhancer.managers;
+
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 인챈트북 / 강화 정보 종이 렌더링 결과 캐시 (LRU, 크기 제한)
+ *
+ * <p>같은 (인챈트, 현재 레벨, 다음 레벨, 강화석 개수) 조합은 이름 변환, 로마 숫자, 확률 문자열을
+ * 다시 만들지 않고 미리 만들어 둔 원본을 복제해서 돌려줍니다.
+ * 확률표가 교체되면(/enhance reload) 다음 조회 시 전부 비웁니다.</p>
+ */
+public final class RenderCache {
+
+    static final byte KIND_BOOK = 0;
+    static final byte KIND_INFO_PAPER = 1;
+
+    private final int capacity;
+    private final LinkedHashMap<Key, ItemStack> entries;
+
+    // 캐시를 채울 때 사용한 확률표
+    private RateTable rateTable;
+
+    private long hits;
+    private long misses;
+
+    RenderCache(int capacity) {
+        this.capacity = Math.max(16, capacity);
+        this.entries = new LinkedHashMap<Key, ItemStack>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, ItemStack> eldest) {
+                return size() > RenderCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * 캐시된 원본의 복제본 반환, 없으면 렌더링해서 저장
+     *
+     * @param rates 현재 확률표 (이전과 다르면 캐시 전체 무효화)
+     * @param render 렌더링 함수 (실패 시 null 을 돌려주면 저장하지 않음)
+     */
+    synchronized ItemStack get(Key key, RateTable rates, Supplier<ItemStack> render) {
+        if (rates != rateTable) {
+            entries.clear();
+            rateTable = rates;
+        }
+
+        ItemStack cached = entries.get(key);
+        if (cached != null) {
+            hits++;
+            return cached.clone();
+        }
+
+        misses++;
+        ItemStack rendered = render.get();
+        if (rendered == null) {
+            return null;
+        }
+        entries.put(key, rendered);
+        return rendered.clone();
+    }
+
+    /**
+     * 캐시 비우기 (통계는 유지)
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 렌더링 결과 식별 키
+     */
+    static final class Key {
+        private final byte kind;
+        private final Enchantment enchantment;
+        private final int currentLevel;
+        private final int nextLevel;
+        private final int stoneCount;
+
+        Key(byte kind, Enchantment enchantment, int currentLevel, int nextLevel, int stoneCount) {
+            this.kind = kind;
+            this.enchantment = enchantment;
+            this.currentLevel = currentLevel;
+            this.nextLevel = nextLevel;
+            this.stoneCount = stoneCount;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return kind == other.kind
+                    && currentLevel == other.currentLevel
+                    && nextLevel == other.nextLevel
+                    && stoneCount == other.stoneCount
+                    && enchantment.equals(other.enchantment);
+        }
+
+        @Override
+        public int hashCode() {
+            int h = enchantment.hashCode();
+            h = 31 * h + kind;
+            h = 31 * h + currentLevel;
+            h = 31 * h + nextLevel;
+            h = 31 * h + stoneCount;
+            return h;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.krangpq.toolenhancer.managers.curve;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * 레벨별 직접 지정 곡선
+ *
+ * <p>{@code level_N} 은 강화 후 레벨 N 의 성공률이며,
+ * 지정되지 않은 레벨은 fallback_rate 를 사용합니다.</p>
+ */
+public final class CustomCurve implements SuccessCurve {
+
+    private final double[] rates;
+    private final double fallbackRate;
+
+    public CustomCurve(Map<Integer, Double> levelRates, double fallbackRate) {
+        int maxLevel = 0;
+        for (int level : levelRates.keySet()) {
+            maxLevel = Math.max(maxLevel, level);
+        }
+
+        this.rates = new double[maxLevel + 1];
+        Arrays.fill(rates, Double.NaN);
+        for (Map.Entry<Integer, Double> entry : levelRates.entrySet()) {
+            if (entry.getKey() >= 0) {
+                rates[entry.getKey()] = entry.getValue();
+            }
+        }
+        this.fallbackRate = fallbackRate;
+    }
+
+    @Override
+    public double rate(int overLevel, int targetLevel) {
+        if (targetLevel < 0 || targetLevel >= rates.length || Double.isNaN(rates[targetLevel])) {
+            return fallbackRate;
+        }
+        return rates[targetLevel];
+    }
+
+    @Override
+    public String getName() {
+        return "custom";
+    }
+}
@@ -0,0 +1,27 @@
+package com.krangpq.toolenhancer.managers.curve;
+
+/**
+ * 지수 감소 곡선: base_rate × decay_factor^초과단계
+ */
+public final class ExponentialCurve implements SuccessCurve {
+
+    private final double baseRate;
+    private final double decayFactor;
+    private final double minimumRate;
+
+    public ExponentialCurve(double baseRate, double decayFactor, double minimumRate) {
+        this.baseRate = baseRate;
+        this.decayFactor = decayFactor;
+        this.minimumRate = minimumRate;
+    }
+
+    @Override
+    public double rate(int overLevel, int targetLevel) {
+        return Math.max(minimumRate, baseRate * Math.pow(decayFactor, Math.max(0, overLevel)));
+    }
+
+    @Override
+    public String getName() {
+        return "exponential";
+    }
+}
@@ -0,0 +1,27 @@
+package com.krangpq.toolenhancer.managers.curve;
+
+/**
+ * 선형 감소 곡선: base_rate - reduction_per_level × 초과단계
+ */
+public final class LinearCurve implements SuccessCurve {
+
+    private final double baseRate;
+    private final double reductionPerLevel;
+    private final double minimumRate;
+
+    public LinearCurve(double baseRate, double reductionPerLevel, double minimumRate) {
+        this.baseRate = baseRate;
+        this.reductionPerLevel = reductionPerLevel;
+        this.minimumRate = minimumRate;
+    }
+
+    @Override
+    public double rate(int overLevel, int targetLevel) {
+        return Math.max(minimumRate, baseRate - reductionPerLevel * Math.max(0, overLevel));
+    }
+
+    @Override
+    public String getName() {
+        return "linear";
+    }
+}
@@ -0,0 +1,75 @@
+package com.krangpq.toolenhancer.managers.curve;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 구간별 감소 곡선
+ *
+ * <p>각 구간은 시작 단계에서 base_rate 로 시작해 단계마다 reduction_per_level 씩 감소합니다.
+ * 어느 구간에도 속하지 않는 단계는 가장 가까운 구간의 값을 사용합니다.</p>
+ */
+public final class SteppedCurve implements SuccessCurve {
+
+    /**
+     * 구간 하나 (초과 단계 기준, end 가 Integer.MAX_VALUE 면 "N_plus")
+     */
+    public static final class Range {
+        final int start;
+        final int end;
+        final double baseRate;
+        final double reductionPerLevel;
+
+        public Range(int start, int end, double baseRate, double reductionPerLevel) {
+            this.start = start;
+            this.end = end;
+            this.baseRate = baseRate;
+            this.reductionPerLevel = reductionPerLevel;
+        }
+
+        double rateAt(int overLevel) {
+            int clamped = Math.max(start, Math.min(end, overLevel));
+            return baseRate - (clamped - start) * reductionPerLevel;
+        }
+    }
+
+    private final Range[] ranges;
+
+    public SteppedCurve(List<Range> ranges) {
+        if (ranges.isEmpty()) {
+            throw new IllegalArgumentException("stepped 곡선에는 최소 1개의 구간이 필요합니다!");
+        }
+        List<Range> sorted = new ArrayList<>(ranges);
+        sorted.sort(Comparator.comparingInt(r -> r.start));
+        this.ranges = sorted.toArray(new Range[0]);
+    }
+
+    /**
+     * 1.0.8 까지 코드에 하드코딩되어 있던 구간 (stepped.ranges 가 없을 때 사용)
+     */
+    public static SteppedCurve defaults() {
+        List<Range> ranges = new ArrayList<>();
+        ranges.add(new Range(1, 3, 0.25, 0.05));
+        ranges.add(new Range(4, 6, 0.12, 0.03));
+        ranges.add(new Range(7, Integer.MAX_VALUE, 0.06, 0.00));
+        return new SteppedCurve(ranges);
+    }
+
+    @Override
+    public double rate(int overLevel, int targetLevel) {
+        Range match = ranges[0];
+        for (Range range : ranges) {
+            if (overLevel < range.start) {
+                break;
+            }
+            match = range;
+        }
+        return Math.max(0.0, match.rateAt(overLevel));
+    }
+
+    @Override
+    public String getName() {
+        return "stepped";
+    }
+}
@@ -0,0 +1,31 @@
+package com.krangpq.toolenhancer.managers.curve;
+
+/**
+ * 바닐라 최대 레벨을 초과한 강화의 기본 성공률 곡선
+ *
+ * <p>config.yml 의 {@code reduction_type} 으로 선택되며, 설정 로드 시
+ * {@link com.krangpq.toolenhancer.managers.RateTable}에 레벨별로 미리 계산됩니다.
+ * 따라서 곡선 종류와 관계없이 강화 시점의 조회 비용은 동일합니다.</p>
+ */
+public interface SuccessCurve {
+
+    /**
+     * 곡선이 반환하는 성공률의 기준점 (바닐라 최대 레벨 구간의 최저 성공률)
+     * severity_scale 은 이 기준점으로부터의 감소폭에 곱해집니다.
+     */
+    double ANCHOR_RATE = 0.3;
+
+    /**
+     * 기본 성공률 계산 (severity_scale, global_minimum_rate 적용 전)
+     *
+     * @param overLevel 바닐라 최대 초과 단계 (1 = 바닐라 최대 레벨에서 한 단계 강화)
+     * @param targetLevel 강화 후 레벨
+     * @return 기본 성공률 (0.0~1.0)
+     */
+    double rate(int overLevel, int targetLevel);
+
+    /**
+     * @return config.yml 의 reduction_type 이름
+     */
+    String getName();
+}
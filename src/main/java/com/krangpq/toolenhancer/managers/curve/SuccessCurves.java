@@ -0,0 +1,157 @@
+package com.krangpq.toolenhancer.managers.curve;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * config.yml 의 success_rates.beyond_vanilla 섹션을 성공률 곡선으로 변환
+ */
+public final class SuccessCurves {
+
+    public static final String EXPONENTIAL = "exponential";
+    public static final String LINEAR = "linear";
+    public static final String STEPPED = "stepped";
+    public static final String CUSTOM = "custom";
+
+    private static final Pattern RANGE_KEY = Pattern.compile("(\\d+)_to_(\\d+)");
+    private static final Pattern PLUS_KEY = Pattern.compile("(\\d+)_plus");
+    private static final Pattern LEVEL_KEY = Pattern.compile("level_(\\d+)");
+
+    private SuccessCurves() {
+    }
+
+    /**
+     * reduction_type 이 지원되는 값인지 확인
+     */
+    public static boolean isKnownType(String type) {
+        if (type == null) {
+            return false;
+        }
+        switch (type.toLowerCase(Locale.ROOT)) {
+            case EXPONENTIAL:
+            case LINEAR:
+            case STEPPED:
+            case CUSTOM:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * reduction_type 에 해당하는 곡선 생성
+     *
+     * @param section success_rates.beyond_vanilla 섹션 (null 이면 기본 stepped 곡선)
+     * @param logger 경고 출력용 로거
+     * @return 성공률 곡선
+     */
+    public static SuccessCurve fromConfig(ConfigurationSection section, Logger logger) {
+        if (section == null) {
+            return SteppedCurve.defaults();
+        }
+
+        String type = section.getString("reduction_type", STEPPED);
+        if (!isKnownType(type)) {
+            logger.warning("경고: 알 수 없는 reduction_type '" + type + "' - stepped 를 사용합니다.");
+            type = STEPPED;
+        }
+
+        switch (type.toLowerCase(Locale.ROOT)) {
+            case EXPONENTIAL:
+                return new ExponentialCurve(
+                        section.getDouble("exponential.base_rate", 0.30),
+                        section.getDouble("exponential.decay_factor", 0.85),
+                        section.getDouble("exponential.minimum_rate", 0.01));
+
+            case LINEAR:
+                return new LinearCurve(
+                        section.getDouble("linear.base_rate", 0.30),
+                        section.getDouble("linear.reduction_per_level", 0.03),
+                        section.getDouble("linear.minimum_rate", 0.05));
+
+            case CUSTOM:
+                return parseCustom(section.getConfigurationSection("custom_rates"), logger);
+
+            default:
+                return parseStepped(section.getConfigurationSection("stepped.ranges"), logger);
+        }
+    }
+
+    private static SuccessCurve parseStepped(ConfigurationSection ranges, Logger logger) {
+        if (ranges == null) {
+            return SteppedCurve.defaults();
+        }
+
+        List<SteppedCurve.Range> parsed = new ArrayList<>();
+        for (String key : ranges.getKeys(false)) {
+            int start;
+            int end;
+
+            Matcher range = RANGE_KEY.matcher(key);
+            Matcher plus = PLUS_KEY.matcher(key);
+            try {
+                if (range.matches()) {
+                    start = Integer.parseInt(range.group(1));
+                    end = Integer.parseInt(range.group(2));
+                } else if (plus.matches()) {
+                    start = Integer.parseInt(plus.group(1));
+                    end = Integer.MAX_VALUE;
+                } else {
+                    logger.warning("경고: stepped 구간 이름 '" + key + "'을(를) 해석할 수 없습니다. (예: 1_to_3, 11_plus)");
+                    continue;
+                }
+            } catch (NumberFormatException e) {
+                // 숫자 형식은 맞지만 int 범위를 넘는 경우
+                logger.warning("경고: stepped 구간 '" + key + "'의 레벨이 너무 큽니다. 무시합니다.");
+                continue;
+            }
+
+            if (end < start) {
+                logger.warning("경고: stepped 구간 '" + key + "'의 끝이 시작보다 작습니다. 무시합니다.");
+                continue;
+            }
+
+            parsed.add(new SteppedCurve.Range(start, end,
+                    ranges.getDouble(key + ".base_rate", 0.05),
+                    ranges.getDouble(key + ".reduction_per_level", 0.0)));
+        }
+
+        if (parsed.isEmpty()) {
+            logger.warning("경고: 유효한 stepped 구간이 없습니다. 기본 구간을 사용합니다.");
+            return SteppedCurve.defaults();
+        }
+        return new SteppedCurve(parsed);
+    }
+
+    private static SuccessCurve parseCustom(ConfigurationSection rates, Logger logger) {
+        if (rates == null) {
+            logger.warning("경고: custom_rates 섹션이 없습니다. 기본 stepped 곡선을 사용합니다.");
+            return SteppedCurve.defaults();
+        }
+
+        Map<Integer, Double> levelRates = new HashMap<>();
+        for (String key : rates.getKeys(false)) {
+            Matcher level = LEVEL_KEY.matcher(key);
+            if (level.matches()) {
+                try {
+                    levelRates.put(Integer.parseInt(level.group(1)), rates.getDouble(key));
+                } catch (NumberFormatException e) {
+                    // 숫자 형식은 맞지만 int 범위를 넘는 경우
+                    logger.warning("경고: custom_rates 항목 '" + key + "'의 레벨이 너무 큽니다. 무시합니다.");
+                }
+            } else if (!key.equals("fallback_rate")) {
+                logger.warning("경고: custom_rates 항목 '" + key + "'을(를) 해석할 수 없습니다. (예: level_6)");
+            }
+        }
+
+        return new CustomCurve(levelRates, rates.getDouble("fallback_rate", 0.05));
+    }
+}
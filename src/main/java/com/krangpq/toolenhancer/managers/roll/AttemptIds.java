@@ -0,0 +1,38 @@
+package com.krangpq.toolenhancer.managers.roll;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 강화 시도 번호 발급기
+ *
+ * <p>시도 번호 = (서버 시작 시각(초) &lt;&lt; 24) + 이번 실행의 순번 입니다.
+ * 한 번 실행에서 1,677만 번을 넘게 시도하면 다음 초의 영역을 이어서 쓰므로,
+ * 서버를 그보다 빨리 재시작하지 않는 한 번호가 겹치지 않습니다.</p>
+ */
+final class AttemptIds {
+
+    static final int COUNTER_BITS = 24;
+
+    private final long base;
+    private final AtomicLong next;
+
+    AttemptIds() {
+        this.base = (System.currentTimeMillis() / 1000L) << COUNTER_BITS;
+        this.next = new AtomicLong(base);
+    }
+
+    long next() {
+        return next.getAndIncrement();
+    }
+
+    long issued() {
+        return next.get() - base;
+    }
+
+    /**
+     * 시도 번호가 발급된 서버 실행의 시작 시각 (밀리초)
+     */
+    static long startedAt(long attemptId) {
+        return (attemptId >>> COUNTER_BITS) * 1000L;
+    }
+}
@@ -0,0 +1,50 @@
+package com.krangpq.toolenhancer.managers.roll;
+
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * 기본 난수 공급원 - 스레드마다 독립된 생성기 (경합 없음, 재현 불가)
+ *
+ * <p>생성기는 스레드별로 한 번 만들어지며 시드는 각각 무작위입니다.
+ * 공유 {@link java.util.Random} 과 달리 CAS 경합이 없습니다.</p>
+ */
+public final class FastRollSource implements RollSource {
+
+    private final AttemptIds ids = new AttemptIds();
+    private final RandomGeneratorFactory<RandomGenerator> factory;
+    private final ThreadLocal<RandomGenerator> generators;
+
+    /**
+     * @param factory 생성기 팩토리 (예: L64X128MixRandom, SplittableRandom)
+     */
+    public FastRollSource(RandomGeneratorFactory<RandomGenerator> factory) {
+        this.factory = factory;
+        this.generators = ThreadLocal.withInitial(factory::create);
+    }
+
+    @Override
+    public long nextAttemptId() {
+        return ids.next();
+    }
+
+    @Override
+    public double roll(long attemptId) {
+        return generators.get().nextDouble();
+    }
+
+    @Override
+    public boolean isReplayable() {
+        return false;
+    }
+
+    @Override
+    public String getName() {
+        return RollSources.FAST + " (" + factory.name() + ")";
+    }
+
+    @Override
+    public long getIssuedCount() {
+        return ids.issued();
+    }
+}
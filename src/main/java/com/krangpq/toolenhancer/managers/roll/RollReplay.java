@@ -0,0 +1,75 @@
+package com.krangpq.toolenhancer.managers.roll;
+
+import java.time.Instant;
+
+/**
+ * audit 모드 강화 결과 오프라인 재현 도구
+ *
+ * <p>서버 없이 플러그인 jar 만으로 실행합니다.</p>
+ *
+ * <pre>
+ * java -cp ToolEnhancer.jar com.krangpq.toolenhancer.managers.roll.RollReplay &lt;시드&gt; &lt;시도번호&gt; [성공률 파괴율]
+ * </pre>
+ *
+ * <p>시드는 rng-seed.txt (또는 random.seed) 의 16진수 값, 시도 번호와 확률은 감사 로그의
+ * attempt / success / destroy 값입니다. 확률을 주면 그 roll 로 나오는 결과도 함께 출력합니다.
+ * 감사 로그와 히스토리는 확률을 double 그대로 기록하므로, 기록된 값을 넣으면 서버가 내린 판정과 똑같이 나옵니다.</p>
+ */
+public final class RollReplay {
+
+    private RollReplay() {
+    }
+
+    /**
+     * 판정 값으로 결과 계산 (EnhanceManager.performEnhance 와 같은 순서: 파괴 → 성공 → 실패)
+     */
+    public static String outcome(double roll, double successRate, double destroyRate) {
+        if (roll < destroyRate) {
+            return "DESTROYED";
+        } else if (roll < destroyRate + successRate) {
+            return "SUCCESS";
+        }
+        return "FAILED";
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 2 && args.length != 4) {
+            System.err.println("사용법: RollReplay <시드(16진수)> <시도번호> [성공률 파괴율]");
+            System.exit(2);
+            return;
+        }
+
+        Long seed = RollSources.parseSeed(args[0]);
+        if (seed == null) {
+            System.err.println("시드를 해석할 수 없습니다: " + args[0]);
+            System.exit(2);
+            return;
+        }
+
+        long attemptId;
+        try {
+            attemptId = Long.parseLong(args[1].trim());
+        } catch (NumberFormatException e) {
+            System.err.println("시도 번호를 해석할 수 없습니다: " + args[1]);
+            System.exit(2);
+            return;
+        }
+
+        double roll = SeededRollSource.roll(seed, attemptId);
+        System.out.println("시드 지문: " + SeededRollSource.fingerprint(seed));
+        System.out.println("시도 번호: " + attemptId + " (서버 시작 " + Instant.ofEpochMilli(AttemptIds.startedAt(attemptId))
+                + ", 순번 " + (attemptId & ((1L << AttemptIds.COUNTER_BITS) - 1)) + ")");
+        System.out.println("roll: " + roll + " (0x" + Long.toHexString(Double.doubleToRawLongBits(roll)) + ")");
+
+        if (args.length == 4) {
+            try {
+                double success = Double.parseDouble(args[2]);
+                double destroy = Double.parseDouble(args[3]);
+                System.out.println("결과: " + outcome(roll, success, destroy));
+            } catch (NumberFormatException e) {
+                System.err.println("확률을 해석할 수 없습니다: " + args[2] + " " + args[3]);
+                System.exit(2);
+            }
+        }
+    }
+}
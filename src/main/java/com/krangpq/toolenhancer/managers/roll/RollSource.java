@@ -0,0 +1,40 @@
+package com.krangpq.toolenhancer.managers.roll;
+
+/**
+ * 강화 판정 난수 공급원
+ *
+ * <p>강화 시도마다 먼저 {@link #nextAttemptId()} 로 시도 번호를 받고, 그 번호로 {@link #roll(long)} 을 호출합니다.
+ * 시도 번호는 감사 로그와 히스토리에 함께 기록되어, audit 모드에서는 나중에 같은 roll 을 다시 계산할 수 있습니다.</p>
+ *
+ * <p>여러 스레드에서 동시에 호출해도 안전해야 합니다.</p>
+ */
+public interface RollSource {
+
+    /**
+     * 다음 강화 시도 번호 (서버가 재시작되어도 겹치지 않음)
+     */
+    long nextAttemptId();
+
+    /**
+     * 시도 번호에 해당하는 판정 값
+     *
+     * @param attemptId {@link #nextAttemptId()} 로 받은 번호
+     * @return [0, 1) 범위의 값
+     */
+    double roll(long attemptId);
+
+    /**
+     * 같은 시도 번호로 roll 을 다시 계산할 수 있는지 (audit 모드)
+     */
+    boolean isReplayable();
+
+    /**
+     * 설정 / 디버그 출력용 이름 (예: "fast (L64X128MixRandom)")
+     */
+    String getName();
+
+    /**
+     * 이번 실행에서 발급한 시도 번호 수
+     */
+    long getIssuedCount();
+}
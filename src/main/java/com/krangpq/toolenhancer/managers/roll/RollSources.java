@@ -0,0 +1,134 @@
+package com.krangpq.toolenhancer.managers.roll;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.SecureRandom;
+import java.util.Locale;
+import java.util.logging.Logger;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * config.yml 의 random 섹션을 난수 공급원으로 변환
+ */
+public final class RollSources {
+
+    public static final String FAST = "fast";
+    public static final String AUDIT = "audit";
+
+    public static final String DEFAULT_ALGORITHM = "L64X128MixRandom";
+    private static final String FALLBACK_ALGORITHM = "SplittableRandom";
+
+    // audit 모드에서 시드를 설정하지 않았을 때 생성해서 보관하는 파일
+    static final String SEED_FILE = "rng-seed.txt";
+
+    private RollSources() {
+    }
+
+    /**
+     * mode 가 지원되는 값인지 확인
+     */
+    public static boolean isKnownMode(String mode) {
+        if (mode == null) {
+            return false;
+        }
+        String lower = mode.toLowerCase(Locale.ROOT);
+        return lower.equals(FAST) || lower.equals(AUDIT);
+    }
+
+    /**
+     * random.mode 에 해당하는 공급원 생성
+     *
+     * @param section random 섹션 (null 이면 기본 fast 모드)
+     * @param dataFolder 플러그인 데이터 폴더 (audit 모드 시드 파일 위치)
+     * @param logger 경고 출력용 로거
+     * @return 난수 공급원
+     */
+    public static RollSource fromConfig(ConfigurationSection section, File dataFolder, Logger logger) {
+        String mode = section != null ? section.getString("mode", FAST) : FAST;
+        if (!isKnownMode(mode)) {
+            logger.warning("경고: 알 수 없는 random.mode '" + mode + "' - fast 를 사용합니다.");
+            mode = FAST;
+        }
+
+        if (mode.toLowerCase(Locale.ROOT).equals(AUDIT)) {
+            String configured = section.getString("seed", "");
+            Long seed = configured == null || configured.isBlank() ? null : parseSeed(configured);
+            if (seed == null) {
+                if (configured != null && !configured.isBlank()) {
+                    logger.warning("경고: random.seed '" + configured + "'을(를) 해석할 수 없습니다. (16진수, 예: 1f2e3d4c5b6a7988)");
+                }
+                seed = loadOrCreateSeed(new File(dataFolder, SEED_FILE), logger);
+            }
+            if (seed != null) {
+                return new SeededRollSource(seed);
+            }
+            logger.warning("경고: audit 모드 시드를 준비하지 못했습니다. fast 모드를 사용합니다.");
+        }
+
+        String algorithm = section != null ? section.getString("algorithm", DEFAULT_ALGORITHM) : DEFAULT_ALGORITHM;
+        return new FastRollSource(factory(algorithm, logger));
+    }
+
+    /**
+     * 16진수 시드 해석 (0x 접두사 허용)
+     *
+     * @return 시드, 해석할 수 없으면 null
+     */
+    public static Long parseSeed(String text) {
+        if (text == null) {
+            return null;
+        }
+        String value = text.trim();
+        if (value.startsWith("0x") || value.startsWith("0X")) {
+            value = value.substring(2);
+        }
+        if (value.isEmpty() || value.length() > 16) {
+            return null;
+        }
+        try {
+            return Long.parseUnsignedLong(value, 16);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static RandomGeneratorFactory<RandomGenerator> factory(String algorithm, Logger logger) {
+        try {
+            return RandomGeneratorFactory.of(algorithm);
+        } catch (IllegalArgumentException e) {
+            logger.warning("경고: 난수 알고리즘 '" + algorithm + "'을(를) 사용할 수 없습니다. "
+                    + FALLBACK_ALGORITHM + " 를 사용합니다.");
+            return RandomGeneratorFactory.of(FALLBACK_ALGORITHM);
+        }
+    }
+
+    private static Long loadOrCreateSeed(File file, Logger logger) {
+        try {
+            if (file.exists()) {
+                Long seed = parseSeed(new String(Files.readAllBytes(file.toPath()), StandardCharsets.US_ASCII));
+                if (seed != null) {
+                    return seed;
+                }
+                logger.warning("경고: " + SEED_FILE + " 의 시드를 해석할 수 없습니다. 파일을 확인하세요.");
+                return null;
+            }
+
+            File parent = file.getParentFile();
+            if (parent != null && !parent.exists() && !parent.mkdirs()) {
+                throw new IOException("폴더를 만들 수 없습니다: " + parent.getPath());
+            }
+            long seed = new SecureRandom().nextLong();
+            Files.write(file.toPath(), String.format("%016x%n", seed).getBytes(StandardCharsets.US_ASCII));
+            logger.info("audit 모드 시드 생성: " + file.getName() + " (지문 " + SeededRollSource.fingerprint(seed) + ")");
+            return seed;
+        } catch (IOException e) {
+            logger.warning("시드 파일 처리 실패: " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.krangpq.toolenhancer.managers.roll;
+
+/**
+ * 감사용 난수 공급원 - roll = f(서버 시드, 시도 번호)
+ *
+ * <p>상태 없는 해시(SplitMix64)로 판정 값을 만들기 때문에, 시드와 시도 번호만 있으면
+ * 서버 밖에서도 같은 값을 비트 단위로 다시 계산할 수 있습니다 ({@link RollReplay}).
+ * 시드가 알려지면 앞으로의 결과도 예측할 수 있으므로 시드는 공개하지 마세요.</p>
+ *
+ * <p>이 클래스는 Bukkit 에 의존하지 않습니다. (오프라인 재현용)</p>
+ */
+public final class SeededRollSource implements RollSource {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private final AttemptIds ids = new AttemptIds();
+    private final long seed;
+
+    public SeededRollSource(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * 시드와 시도 번호로 판정 값 계산 (순수 함수)
+     *
+     * @return [0, 1) 범위의 값 (상위 53비트 사용)
+     */
+    public static double roll(long seed, long attemptId) {
+        return (mix64(seed + attemptId * GOLDEN_GAMMA) >>> 11) * DOUBLE_UNIT;
+    }
+
+    /**
+     * 시드 지문 - 시드 자체를 드러내지 않고 어떤 시드인지 구분하기 위한 값
+     */
+    public static String fingerprint(long seed) {
+        return String.format("%08x", mix64(seed ^ GOLDEN_GAMMA) >>> 32);
+    }
+
+    // SplitMix64 최종 혼합 함수
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public long nextAttemptId() {
+        return ids.next();
+    }
+
+    @Override
+    public double roll(long attemptId) {
+        return roll(seed, attemptId);
+    }
+
+    @Override
+    public boolean isReplayable() {
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return RollSources.AUDIT + " (시드 " + fingerprint(seed) + ")";
+    }
+
+    @Override
+    public long getIssuedCount() {
+        return ids.issued();
+    }
+}
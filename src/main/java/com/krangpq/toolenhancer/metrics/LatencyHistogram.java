@@ -0,0 +1,116 @@
+package com.krangpq.toolenhancer.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 지연 시간 히스토그램 (나노초, 잠금 없음)
+ *
+ * <p>HDR 히스토그램처럼 2의 거듭제곱 구간마다 8칸씩 나눈 로그-선형 버킷을 씁니다.
+ * 어느 크기에서나 상대 오차가 12.5% 이내이고, 기록은 배열 칸 하나를 원자적으로 올리는 것뿐입니다.
+ * 약 18분(2^40ns)보다 긴 값은 마지막 칸에 들어갑니다.</p>
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int MAX_EXPONENT = 40;
+    static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 2) * SUB_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * 값 기록 (어느 스레드에서든 호출 가능)
+     */
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        counts.incrementAndGet(index(value));
+        sum.add(value);
+    }
+
+    /**
+     * 현재 값 복사본 (기록과 동시에 읽으면 칸 몇 개가 합계와 조금 어긋날 수 있음)
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            total += copy[i];
+        }
+        return new Snapshot(copy, total, sum.sum());
+    }
+
+    static int index(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1);
+        return (exponent - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    // 칸의 상한 (그 칸에 들어갈 수 있는 가장 큰 값)
+    static long upperBound(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int exponent = index / SUB_COUNT + SUB_BITS - 1;
+        int sub = index % SUB_COUNT;
+        int shift = exponent - SUB_BITS;
+        return ((long) (SUB_COUNT + sub) << shift) + (1L << shift) - 1;
+    }
+
+    /**
+     * 히스토그램 복사본 (불변)
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+
+        Snapshot(long[] counts, long count, long sum) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+        }
+
+        public long getCount() { return count; }
+
+        /** 기록된 값의 합 (나노초) */
+        public long getSum() { return sum; }
+
+        public double getMeanNanos() {
+            return count == 0 ? 0.0 : (double) sum / count;
+        }
+
+        /**
+         * 분위수 (나노초, 칸 상한 기준이므로 실제 값보다 최대 12.5% 클 수 있음)
+         *
+         * @param quantile 0.0~1.0
+         * @return 분위수 값, 기록이 없으면 0
+         */
+        public long getQuantileNanos(double quantile) {
+            if (count == 0) {
+                return 0L;
+            }
+            long rank = Math.max(1L, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return upperBound(i);
+                }
+            }
+            return upperBound(counts.length - 1);
+        }
+
+        public long getMaxNanos() {
+            return getQuantileNanos(1.0);
+        }
+    }
+}
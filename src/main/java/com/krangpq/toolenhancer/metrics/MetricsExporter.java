@@ -0,0 +1,161 @@
+package com.krangpq.toolenhancer.metrics;
+
+import com.krangpq.toolenhancer.managers.EnhanceManager;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+
+/**
+ * Prometheus node-exporter textfile 내보내기
+ *
+ * <p>정해진 간격마다 메인 스레드에서 지표 복사본만 만들고, 문자열 변환과 파일 쓰기는 비동기로 처리합니다.
+ * node-exporter 가 쓰는 도중의 파일을 읽지 않도록 임시 파일에 쓴 뒤 이름을 바꿉니다.</p>
+ *
+ * <p>기본 위치: plugins/ToolEnhancer/metrics/toolenhancer.prom
+ * (node-exporter 의 --collector.textfile.directory 에 맞춰 metrics.textfile 로 바꿀 수 있음)</p>
+ */
+public class MetricsExporter {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final Plugin plugin;
+    private final PluginMetrics metrics;
+    private final boolean enabled;
+    private final long intervalTicks;
+    private final File file;
+
+    private volatile long lastWrite;
+    private volatile boolean writing;
+
+    public MetricsExporter(Plugin plugin, PluginMetrics metrics) {
+        this.plugin = plugin;
+        this.metrics = metrics;
+        this.enabled = plugin.getConfig().getBoolean("metrics.export", true);
+        this.intervalTicks = Math.max(1, plugin.getConfig().getInt("metrics.interval_seconds", 15)) * 20L;
+
+        String configured = plugin.getConfig().getString("metrics.textfile", "");
+        this.file = configured == null || configured.isBlank()
+                ? new File(new File(plugin.getDataFolder(), "metrics"), "toolenhancer.prom")
+                : new File(configured);
+    }
+
+    /**
+     * 주기적 내보내기 시작
+     */
+    public void start() {
+        if (!enabled) {
+            plugin.getLogger().info("지표 내보내기 비활성화됨 (metrics.export: false)");
+            return;
+        }
+
+        Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+            if (writing) return; // 이전 쓰기가 아직 끝나지 않음
+
+            PluginMetrics.Snapshot snapshot = metrics.snapshot();
+            writing = true;
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+                try {
+                    write(snapshot);
+                } finally {
+                    writing = false;
+                }
+            });
+        }, intervalTicks, intervalTicks);
+
+        plugin.getLogger().info("지표 내보내기 시작 (" + (intervalTicks / 20) + "초마다, " + file.getPath() + ")");
+    }
+
+    /**
+     * 지표 파일 쓰기 (비동기 스레드에서 호출)
+     */
+    void write(PluginMetrics.Snapshot snapshot) {
+        try {
+            File directory = file.getAbsoluteFile().getParentFile();
+            if (directory != null && !directory.exists() && !directory.mkdirs()) {
+                throw new IOException("폴더를 만들 수 없습니다: " + directory.getPath());
+            }
+
+            Path target = file.toPath();
+            Path temp = target.resolveSibling(file.getName() + ".tmp");
+            Files.write(temp, format(snapshot).getBytes(StandardCharsets.UTF_8));
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            lastWrite = snapshot.getTakenAt();
+        } catch (IOException e) {
+            plugin.getLogger().warning("지표 파일 쓰기 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Prometheus 텍스트 형식으로 변환
+     */
+    static String format(PluginMetrics.Snapshot snapshot) {
+        StringBuilder sb = new StringBuilder(4096);
+
+        header(sb, "toolenhancer_attempts_total", "counter", "강화 시도 수 (결과별)");
+        for (EnhanceManager.EnhanceResult.Type outcome : EnhanceManager.EnhanceResult.Type.values()) {
+            sb.append("toolenhancer_attempts_total{outcome=\"").append(outcome.name().toLowerCase(Locale.ROOT))
+                    .append("\"} ").append(snapshot.getAttempts(outcome)).append('\n');
+        }
+
+        header(sb, "toolenhancer_stones_consumed_total", "counter", "강화에 소모된 강화석 수");
+        sb.append("toolenhancer_stones_consumed_total ").append(snapshot.getStonesConsumed()).append('\n');
+
+        header(sb, "toolenhancer_gui_opens_total", "counter", "강화 GUI 열린 횟수 (화면별)");
+        sb.append("toolenhancer_gui_opens_total{screen=\"select\"} ").append(snapshot.getSelectOpens()).append('\n');
+        sb.append("toolenhancer_gui_opens_total{screen=\"process\"} ").append(snapshot.getProcessOpens()).append('\n');
+
+        LatencyHistogram.Snapshot clicks = snapshot.getClicks();
+        header(sb, "toolenhancer_click_seconds", "summary", "강화 GUI 클릭/드래그 처리 시간");
+        for (double quantile : QUANTILES) {
+            sb.append("toolenhancer_click_seconds{quantile=\"").append(quantile).append("\"} ")
+                    .append(seconds(clicks.getQuantileNanos(quantile))).append('\n');
+        }
+        sb.append("toolenhancer_click_seconds_sum ").append(seconds(clicks.getSum())).append('\n');
+        sb.append("toolenhancer_click_seconds_count ").append(clicks.getCount()).append('\n');
+
+        for (PluginMetrics.Value value : snapshot.getValues()) {
+            header(sb, value.getName(), value.getType(), value.getHelp());
+            sb.append(value.getName()).append(' ').append(value.getValue()).append('\n');
+        }
+
+        header(sb, "toolenhancer_start_time_seconds", "gauge", "플러그인 활성화 시각 (유닉스 시간)");
+        sb.append("toolenhancer_start_time_seconds ").append(snapshot.getStartedAt() / 1000).append('\n');
+        return sb.toString();
+    }
+
+    private static void header(StringBuilder sb, String name, String type, String help) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static String seconds(long nanos) {
+        return Double.toString(nanos / 1e9);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * 마지막으로 파일을 쓴 시각 (밀리초, 아직 없으면 0)
+     */
+    public long getLastWrite() {
+        return lastWrite;
+    }
+}
@@ -0,0 +1,199 @@
+package com.krangpq.toolenhancer.metrics;
+
+import com.krangpq.toolenhancer.audit.AttemptListener;
+import com.krangpq.toolenhancer.audit.AuditRecord;
+import com.krangpq.toolenhancer.managers.EnhanceManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 플러그인 지표 모음
+ *
+ * <p>카운터는 {@link LongAdder}, 지연 시간은 {@link LatencyHistogram} 이라 기록할 때 잠금이 없습니다.
+ * 다른 구성 요소가 이미 세고 있는 값(세션 수, 캐시 적중 등)은 {@link #register} 로 읽는 함수만 등록해 두고,
+ * 메인 스레드에서 {@link #snapshot()} 을 만들 때 한 번에 읽습니다.</p>
+ *
+ * <p>강화 결과는 {@link AttemptListener} 로 받아 셉니다.</p>
+ */
+public final class PluginMetrics implements AttemptListener {
+
+    private static final EnhanceManager.EnhanceResult.Type[] OUTCOMES = EnhanceManager.EnhanceResult.Type.values();
+
+    private final LongAdder[] attempts = new LongAdder[OUTCOMES.length];
+    private final LongAdder stonesConsumed = new LongAdder();
+    private final LongAdder selectOpens = new LongAdder();
+    private final LongAdder processOpens = new LongAdder();
+    private final LatencyHistogram clickNanos = new LatencyHistogram();
+
+    private final List<Registered> registered = new CopyOnWriteArrayList<>();
+    private final long startedAt = System.currentTimeMillis();
+
+    public PluginMetrics() {
+        for (int i = 0; i < attempts.length; i++) {
+            attempts[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void onAttempt(AuditRecord record) {
+        EnhanceManager.EnhanceResult.Type outcome = record.getOutcome();
+        attempts[outcome.ordinal()].increment();
+
+        // 판정까지 간 시도만 강화석이 소모됨
+        if (outcome.consumesStones()) {
+            stonesConsumed.add(record.getStones());
+        }
+    }
+
+    /** 인챈트 선택 화면 열림 */
+    public void selectOpened() {
+        selectOpens.increment();
+    }
+
+    /** 강화 진행 화면 열림 */
+    public void processOpened() {
+        processOpens.increment();
+    }
+
+    /** 강화 GUI 클릭/드래그 처리 시간 */
+    public void clickHandled(long nanos) {
+        clickNanos.record(nanos);
+    }
+
+    /**
+     * 다른 구성 요소가 세고 있는 값 등록
+     *
+     * @param name Prometheus 지표 이름 (toolenhancer_ 로 시작)
+     * @param type "counter" 또는 "gauge"
+     * @param help 설명
+     * @param reader 값을 읽는 함수 (메인 스레드에서 호출됨)
+     */
+    public void register(String name, String type, String help, LongSupplier reader) {
+        registered.add(new Registered(name, type, help, reader));
+    }
+
+    /**
+     * 현재 값 복사 (메인 스레드에서 호출 - 등록된 함수가 메인 스레드 전용 구조를 읽을 수 있음)
+     */
+    public Snapshot snapshot() {
+        long[] attemptCounts = new long[attempts.length];
+        for (int i = 0; i < attempts.length; i++) {
+            attemptCounts[i] = attempts[i].sum();
+        }
+
+        List<Value> values = new ArrayList<>(registered.size());
+        for (Registered metric : registered) {
+            long value;
+            try {
+                value = metric.reader.getAsLong();
+            } catch (RuntimeException e) {
+                continue;
+            }
+            values.add(new Value(metric.name, metric.type, metric.help, value));
+        }
+
+        return new Snapshot(System.currentTimeMillis(), startedAt, attemptCounts, stonesConsumed.sum(),
+                selectOpens.sum(), processOpens.sum(), clickNanos.snapshot(), values);
+    }
+
+    private static final class Registered {
+        final String name;
+        final String type;
+        final String help;
+        final LongSupplier reader;
+
+        Registered(String name, String type, String help, LongSupplier reader) {
+            this.name = name;
+            this.type = type;
+            this.help = help;
+            this.reader = reader;
+        }
+    }
+
+    /**
+     * 등록된 지표의 값 하나
+     */
+    public static final class Value {
+        private final String name;
+        private final String type;
+        private final String help;
+        private final long value;
+
+        Value(String name, String type, String help, long value) {
+            this.name = name;
+            this.type = type;
+            this.help = help;
+            this.value = value;
+        }
+
+        public String getName() { return name; }
+        public String getType() { return type; }
+        public String getHelp() { return help; }
+        public long getValue() { return value; }
+    }
+
+    /**
+     * 지표 복사본 (불변, 어느 스레드에서든 읽기 가능)
+     */
+    public static final class Snapshot {
+        private final long takenAt;
+        private final long startedAt;
+        private final long[] attempts;
+        private final long stonesConsumed;
+        private final long selectOpens;
+        private final long processOpens;
+        private final LatencyHistogram.Snapshot clicks;
+        private final List<Value> values;
+
+        Snapshot(long takenAt, long startedAt, long[] attempts, long stonesConsumed, long selectOpens,
+                 long processOpens, LatencyHistogram.Snapshot clicks, List<Value> values) {
+            this.takenAt = takenAt;
+            this.startedAt = startedAt;
+            this.attempts = attempts;
+            this.stonesConsumed = stonesConsumed;
+            this.selectOpens = selectOpens;
+            this.processOpens = processOpens;
+            this.clicks = clicks;
+            this.values = values;
+        }
+
+        public long getTakenAt() { return takenAt; }
+        public long getStartedAt() { return startedAt; }
+
+        public long getAttempts(EnhanceManager.EnhanceResult.Type outcome) {
+            return attempts[outcome.ordinal()];
+        }
+
+        public long getTotalAttempts() {
+            long total = 0;
+            for (long count : attempts) {
+                total += count;
+            }
+            return total;
+        }
+
+        public long getStonesConsumed() { return stonesConsumed; }
+        public long getSelectOpens() { return selectOpens; }
+        public long getProcessOpens() { return processOpens; }
+        public LatencyHistogram.Snapshot getClicks() { return clicks; }
+        public List<Value> getValues() { return values; }
+
+        /**
+         * 등록된 지표 값 조회
+         *
+         * @return 값, 없으면 -1
+         */
+        public long getValue(String name) {
+            for (Value value : values) {
+                if (value.name.equals(name)) {
+                    return value.value;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.krangpq.toolenhancer.metrics.jfr;
+
+import com.krangpq.toolenhancer.audit.AuditRecord;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Percentage;
+import jdk.jfr.StackTrace;
+
+/**
+ * 강화 시도 한 번 - 확률 계산부터 기록 대상 전달까지의 시간
+ */
+@Name("toolenhancer.EnhanceAttempt")
+@Label("Enhance Attempt")
+@Category({"ToolEnhancer", "Enhance"})
+@Description("강화 시도 한 번 (확률 계산, 판정, 기록 대상 전달)")
+@StackTrace(false)
+public final class EnhanceAttemptEvent extends Event {
+
+    /** 내부 오류로 끝난 시도의 Outcome 값 */
+    public static final String OUTCOME_ERROR = "ERROR";
+
+    @Label("Player")
+    String player;
+
+    @Label("Item")
+    String item;
+
+    @Label("Enchantment")
+    String enchantment;
+
+    @Label("From Level")
+    int fromLevel;
+
+    @Label("Stones")
+    int stones;
+
+    @Label("Attempt Id")
+    long attemptId;
+
+    @Label("Success Rate")
+    @Percentage
+    double successRate;
+
+    @Label("Destroy Rate")
+    @Percentage
+    double destroyRate;
+
+    @Label("Roll")
+    double roll;
+
+    @Label("Outcome")
+    String outcome;
+
+    // 기록 후 예외가 나도 두 번 커밋하지 않도록 (transient 는 이벤트 필드에서 제외됨)
+    private transient boolean finished;
+
+    /**
+     * 시도 종료 - 녹화 중일 때만 기록 내용을 옮겨 담아 커밋
+     */
+    public void finish(AuditRecord record) {
+        if (finished) return;
+        finished = true;
+        end();
+        if (!shouldCommit()) return;
+
+        player = record.getPlayerName();
+        item = record.getItemType();
+        enchantment = record.getEnchantment();
+        fromLevel = record.getFromLevel();
+        stones = record.getStones();
+        attemptId = record.getAttemptId();
+        successRate = record.getSuccessRate();
+        destroyRate = record.getDestroyRate();
+        roll = record.getRoll();
+        outcome = record.getOutcome().name();
+        commit();
+    }
+
+    /**
+     * 내부 오류로 끝난 시도 - 감사 기록이 없으므로 알고 있는 값만 담아 ERROR 로 커밋
+     *
+     * @param player 플레이어 이름 (없으면 null)
+     * @param item 아이템 종류 (없으면 null)
+     * @param enchantment 인챈트 키 (없으면 null)
+     * @param stones 사용하려던 강화석 개수
+     */
+    public void finishError(String player, String item, String enchantment, int stones) {
+        if (finished) return;
+        finished = true;
+        end();
+        if (!shouldCommit()) return;
+
+        this.player = player;
+        this.item = item;
+        this.enchantment = enchantment;
+        this.stones = stones;
+        roll = -1.0;
+        outcome = OUTCOME_ERROR;
+        commit();
+    }
+}
@@ -0,0 +1,59 @@
+package com.krangpq.toolenhancer.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.UUID;
+
+/**
+ * 강화 GUI 클릭/드래그 이벤트 처리 시간
+ */
+@Name("toolenhancer.GuiClick")
+@Label("GUI Click")
+@Category({"ToolEnhancer", "GUI"})
+@Description("강화 GUI 클릭/드래그 처리")
+@StackTrace(false)
+public final class GuiClickEvent extends Event {
+
+    @Label("Player")
+    String player;
+
+    @Label("Screen")
+    String screen;
+
+    @Label("Click")
+    @Description("클릭 종류 (드래그는 DRAG)")
+    String click;
+
+    @Label("Slot")
+    @Description("클릭한 원시 슬롯 번호 (드래그는 -1)")
+    int slot;
+
+    @Label("Cancelled")
+    boolean cancelled;
+
+    /**
+     * 처리 종료
+     *
+     * @param playerId 클릭한 플레이어
+     * @param screen 화면 ({@link GuiRenderEvent#SCREEN_SELECT} 등)
+     * @param click 클릭 종류 이름
+     * @param slot 원시 슬롯 번호
+     * @param cancelled 처리 후 이벤트가 취소되었는지 여부
+     */
+    public void finish(UUID playerId, String screen, String click, int slot, boolean cancelled) {
+        end();
+        if (!shouldCommit()) return;
+
+        this.player = playerId.toString();
+        this.screen = screen;
+        this.click = click;
+        this.slot = slot;
+        this.cancelled = cancelled;
+        commit();
+    }
+}
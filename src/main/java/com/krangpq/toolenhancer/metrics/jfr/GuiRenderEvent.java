@@ -0,0 +1,58 @@
+package com.krangpq.toolenhancer.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.UUID;
+
+/**
+ * 강화 GUI 화면 그리기 (처음 열 때 전체 배치, 이후 바뀐 슬롯만 다시 쓰기)
+ */
+@Name("toolenhancer.GuiRender")
+@Label("GUI Render")
+@Category({"ToolEnhancer", "GUI"})
+@Description("강화 GUI 화면 배치 또는 갱신")
+@StackTrace(false)
+public final class GuiRenderEvent extends Event {
+
+    /** 인챈트 선택 화면 */
+    public static final String SCREEN_SELECT = "select";
+    /** 강화 진행 화면 */
+    public static final String SCREEN_PROCESS = "process";
+
+    @Label("Player")
+    String player;
+
+    @Label("Screen")
+    String screen;
+
+    @Label("Full Layout")
+    @Description("화면 전체를 새로 배치했는지 여부")
+    boolean full;
+
+    @Label("Slots Written")
+    int slots;
+
+    /**
+     * 그리기 종료
+     *
+     * @param playerId 화면을 보는 플레이어
+     * @param screen {@link #SCREEN_SELECT} 또는 {@link #SCREEN_PROCESS}
+     * @param full 전체 배치 여부
+     * @param slots 새로 쓴 슬롯 수
+     */
+    public void finish(UUID playerId, String screen, boolean full, int slots) {
+        end();
+        if (!shouldCommit()) return;
+
+        this.player = playerId.toString();
+        this.screen = screen;
+        this.full = full;
+        this.slots = slots;
+        commit();
+    }
+}
@@ -0,0 +1,54 @@
+package com.krangpq.toolenhancer.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.UUID;
+
+/**
+ * 조작이 없어 만료된 강화 세션 정리 (열린 화면 닫기와 강화석 반환 포함)
+ */
+@Name("toolenhancer.SessionExpire")
+@Label("Session Expire")
+@Category({"ToolEnhancer", "GUI"})
+@Description("오래 조작이 없어 만료된 강화 세션 정리")
+@StackTrace(false)
+public final class SessionExpireEvent extends Event {
+
+    @Label("Player")
+    String player;
+
+    @Label("Enchantment")
+    @Description("선택한 인챈트 (선택 전이면 비어 있음)")
+    String enchantment;
+
+    @Label("Online")
+    boolean online;
+
+    @Label("Closed Inventory")
+    @Description("열려 있던 강화 화면을 닫았는지 여부")
+    boolean closed;
+
+    /**
+     * 정리 종료
+     *
+     * @param playerId 세션 주인
+     * @param enchantment 선택한 인챈트 키 (없으면 null)
+     * @param online 플레이어 접속 여부
+     * @param closed 열린 화면을 닫았는지 여부
+     */
+    public void finish(UUID playerId, String enchantment, boolean online, boolean closed) {
+        end();
+        if (!shouldCommit()) return;
+
+        this.player = playerId.toString();
+        this.enchantment = enchantment;
+        this.online = online;
+        this.closed = closed;
+        commit();
+    }
+}
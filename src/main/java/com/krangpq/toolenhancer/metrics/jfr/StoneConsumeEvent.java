@@ -0,0 +1,57 @@
+package com.krangpq.toolenhancer.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.UUID;
+
+/**
+ * 강화석 소모 (GUI 강화석 슬롯 또는 자동 강화 시 인벤토리에서 차감)
+ */
+@Name("toolenhancer.StoneConsume")
+@Label("Stone Consume")
+@Category({"ToolEnhancer", "Enhance"})
+@Description("강화석 차감과 인벤토리 반영")
+@StackTrace(false)
+public final class StoneConsumeEvent extends Event {
+
+    /** 강화 진행 GUI 강화석 슬롯 */
+    public static final String SOURCE_GUI = "gui";
+    /** 자동 강화 (플레이어 인벤토리) */
+    public static final String SOURCE_AUTO = "auto";
+
+    @Label("Player")
+    String player;
+
+    @Label("Source")
+    String source;
+
+    @Label("Requested")
+    int requested;
+
+    @Label("Consumed")
+    int consumed;
+
+    /**
+     * 소모 종료
+     *
+     * @param playerId 강화석 주인
+     * @param source {@link #SOURCE_GUI} 또는 {@link #SOURCE_AUTO}
+     * @param requested 요청한 개수
+     * @param consumed 실제로 차감한 개수
+     */
+    public void finish(UUID playerId, String source, int requested, int consumed) {
+        end();
+        if (!shouldCommit()) return;
+
+        this.player = playerId.toString();
+        this.source = source;
+        this.requested = requested;
+        this.consumed = consumed;
+        commit();
+    }
+}